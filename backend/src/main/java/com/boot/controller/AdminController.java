@@ -1,8 +1,20 @@
 package com.boot.controller;
 
+import com.boot.dto.ItemSimilarityResultDto;
+import com.boot.dto.MovieVectorResultDto;
+import com.boot.dto.RatingStatsVerifyResultDto;
+import com.boot.dto.RecapGenerationResultDto;
+import com.boot.dto.ShowtimeGenerationResultDto;
 import com.boot.dto.UserAdminDto;
+import com.boot.service.ItemSimilarityService;
+import com.boot.service.MovieRatingStatsService;
+import com.boot.service.MovieVectorService;
+import com.boot.service.RecapSnapshotService;
+import com.boot.service.ShowtimeGenerationService;
 import com.boot.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +26,11 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final ShowtimeGenerationService showtimeGenerationService;
+    private final RecapSnapshotService recapSnapshotService;
+    private final ItemSimilarityService itemSimilarityService;
+    private final MovieVectorService movieVectorService;
+    private final MovieRatingStatsService movieRatingStatsService;
 
     @GetMapping("/users")
     public ResponseEntity<List<UserAdminDto>> getAllUsers() {
@@ -29,4 +46,61 @@ public class AdminController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    @Operation(summary = "시간표 일괄 생성", description = "오늘부터 days 일간 모든 상영관의 시간표를 생성합니다. 예매가 걸린 시간표는 유지됩니다.")
+    @PostMapping("/showtimes/generate")
+    public ResponseEntity<?> generateShowtimes(@RequestParam(defaultValue = "30") int days) {
+        try {
+            ShowtimeGenerationResultDto result = showtimeGenerationService.generate(days);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "연간 리캡 일괄 생성", description = "활동이 있는 모든 사용자의 year 년 리캡 스냅샷을 미리 계산합니다. 이미 최신인 스냅샷은 건너뜁니다.")
+    @PostMapping("/recaps/generate")
+    public ResponseEntity<?> generateRecaps(@RequestParam(required = false) Integer year) {
+        try {
+            RecapGenerationResultDto result = recapSnapshotService.generateAll(year);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "협업 필터링 유사도 재계산", description = "평점/찜/Watchlist/퀵매치 LIKE 전체로 영화별 유사 영화를 다시 계산합니다.")
+    @PostMapping("/recommendations/item-cf/rebuild")
+    public ResponseEntity<?> rebuildItemSimilarity() {
+        try {
+            ItemSimilarityResultDto result = itemSimilarityService.rebuild();
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "영화 콘텐츠 벡터 인덱스 재생성", description = "전체 영화의 줄거리/장르/감독/배우/제작사로 벡터와 HNSW 그래프를 다시 만듭니다.")
+    @PostMapping("/recommendations/vector/rebuild")
+    public ResponseEntity<?> rebuildMovieVectors() {
+        try {
+            MovieVectorResultDto result = movieVectorService.rebuild();
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "영화 평점 집계 검증", description = "평점/리뷰 원본으로 전체 집계를 다시 계산해 movie_rating_stats 와 비교하고, 어긋난 영화를 바로잡습니다.")
+    @PostMapping("/movies/rating-stats/verify")
+    public ResponseEntity<?> verifyRatingStats() {
+        try {
+            RatingStatsVerifyResultDto result = movieRatingStatsService.verify();
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
 }
@@ -1,9 +1,13 @@
 package com.boot.controller;
 
+import com.boot.dto.BestSeatsResponseDto;
 import com.boot.dto.BookingMovieDto;
+import com.boot.dto.BookingPageResponseDto;
 import com.boot.dto.BookingRequestDto;
 import com.boot.dto.BookingResponseDto;
+import com.boot.service.BestSeatService;
 import com.boot.service.BookingService;
+import com.boot.service.SeatMap;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,6 +22,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BestSeatService bestSeatService;
 
     @Operation(summary = "예매 가능한 영화 목록 조회", description = "지역별 실제 상영 중인 영화 목록을 조회합니다.")
     @GetMapping("/movies")
@@ -46,6 +51,18 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @Operation(summary = "사용자별 예매 내역 페이지 조회", description = "최신순으로 size 건씩 조회합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 전달합니다.")
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<BookingPageResponseDto> getUserBookingPage(@PathVariable("userId") Long userId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(bookingService.getUserBookingPage(userId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build(); // 잘못된 커서
+        }
+    }
+
     @Operation(summary = "예매 상세 조회", description = "예매 ID로 상세 정보를 조회합니다.")
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingResponseDto> getBookingDetail(@PathVariable Long bookingId) {
@@ -76,4 +93,20 @@ public class BookingController {
         List<String> bookedSeats = bookingService.getBookedSeats(showtimeId);
         return ResponseEntity.ok(bookedSeats);
     }
+
+    @Operation(summary = "최적 좌석 추천", description = "인원 수만큼 연속된 좌석 중 중앙/선호 행에 가장 가까운 자리를 추천합니다.")
+    @GetMapping("/showtime/{showtimeId}/best-seats")
+    public ResponseEntity<BestSeatsResponseDto> getBestSeats(@PathVariable Long showtimeId,
+                                                             @RequestParam(defaultValue = "2") int count) {
+        if (count < 1 || count > SeatMap.SEATS_PER_ROW) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bestSeatService.findBestSeats(showtimeId, count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build(); // 연속 좌석 없음
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.boot.controller;
+
+import com.boot.dto.HomeFeedResponse;
+import com.boot.service.HomeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/home")
+@RequiredArgsConstructor
+public class HomeFeedController {
+
+    private final HomeFeedService homeFeedService;
+
+    @Operation(summary = "개인화 홈 피드 조회", description = "찜/Watchlist/평점/퀵매치 기반 장르 취향과 인기도로 미리 계산된 추천 목록입니다. 이미 본 영화는 제외됩니다.")
+    @GetMapping("/feed")
+    public ResponseEntity<HomeFeedResponse> getFeed() {
+        try {
+            return ResponseEntity.ok(homeFeedService.getFeed());
+        } catch (IllegalStateException e) { // 로그인되지 않은 사용자
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+}
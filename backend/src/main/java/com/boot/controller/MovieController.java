@@ -6,8 +6,12 @@ import java.time.LocalDate;
 import com.boot.dto.MovieDoc;
 import com.boot.dto.MovieSearchRequest;
 import com.boot.dto.MovieSearchResponse;
-import com.boot.service.UserService;
+import com.boot.service.CurrentUserService;
+import com.boot.service.ItemSimilarityService;
 import com.boot.service.MovieSearchService;
+import com.boot.service.MovieVectorService;
+import com.boot.service.SeenMovieService;
+import com.boot.service.TrendingMovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -24,32 +28,39 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MovieController {
 
+    private static final int MAX_VECTOR_LIMIT = 50;
+
     private final MovieSearchService movieSearchService;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final ItemSimilarityService itemSimilarityService;
+    private final SeenMovieService seenMovieService;
+    private final MovieVectorService movieVectorService;
+    private final TrendingMovieService trendingMovieService;
 
     private boolean isAdult(UserDetails userDetails) {
         if(userDetails != null){
-            return userService.findByEmail(userDetails.getUsername())
-                    .map(user->user.getAge() >= 19)
-                    .orElse(false);
+            return currentUserService.isAdult();
         }
         return false;
     }
 
     // [추가] 반복되는 MovieSearchRequest 생성을 위한 헬퍼 메서드
-    private MovieSearchRequest createMovieSearchRequest(Pageable pageable, UserDetails userDetails) {
+    private MovieSearchRequest createMovieSearchRequest(Pageable pageable, UserDetails userDetails, boolean excludeSeen) {
         MovieSearchRequest request = new MovieSearchRequest();
         request.setPage(pageable.getPageNumber());
         request.setSize(pageable.getPageSize());
         request.setAdult(isAdult(userDetails));
+        request.setExcludeSeen(excludeSeen); // 이미 본 영화 제외 (로그인 사용자만)
+        seenMovieService.applyExcludeSeen(request);
         return request;
     }
 
     @Operation(summary = "인기 영화 목록 조회", description = "인기 있는 영화 목록을 페이지별로 조회합니다.")
     @GetMapping("/popular")
     public ResponseEntity<MovieSearchResponse> getPopularMovies(@PageableDefault(size = 20) Pageable pageable,
+                                                                @RequestParam(defaultValue = "false") boolean excludeSeen,
                                                                 @AuthenticationPrincipal UserDetails userDetails) {
-        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails);
+        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails, excludeSeen);
         request.setSortBy("popularity");
         request.setSortOrder("desc");
 
@@ -59,8 +70,9 @@ public class MovieController {
     @Operation(summary = "현재 상영중인 영화 목록 조회", description = "현재 상영중인 영화 목록을 페이지별로 조회합니다.")
     @GetMapping("/now-playing")
     public ResponseEntity<MovieSearchResponse> getNowPlayingMovies(@PageableDefault(size = 20) Pageable pageable,
+                                                                   @RequestParam(defaultValue = "false") boolean excludeSeen,
                                                                    @AuthenticationPrincipal UserDetails userDetails) {
-        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails);
+        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails, excludeSeen);
         request.setNowPlaying(true); // '현재 상영중' 플래그를 true로 설정
         return ResponseEntity.ok(movieSearchService.search(request));
     }
@@ -68,8 +80,9 @@ public class MovieController {
     @Operation(summary = "높은 평점 영화 목록 조회", description = "평점(vote_average)이 높은 순으로 영화 목록을 조회합니다.")
     @GetMapping("/top-rated")
     public ResponseEntity<MovieSearchResponse> getTopRatedMovies(@PageableDefault(size = 20) Pageable pageable,
+                                                                 @RequestParam(defaultValue = "false") boolean excludeSeen,
                                                                  @AuthenticationPrincipal UserDetails userDetails) {
-        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails);
+        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails, excludeSeen);
         request.setSortBy("vote_average");
         request.setSortOrder("desc");
         request.setVoteCount(300); //투표수 300미만 잡영화 안뜨게 설정
@@ -79,8 +92,9 @@ public class MovieController {
     @Operation(summary = "개봉 예정 영화 목록 조회", description = "개봉일이 미래인 영화 목록을 개봉일 순으로 조회합니다.")
     @GetMapping("/upcoming")
     public ResponseEntity<MovieSearchResponse> getUpcomingMovies(@PageableDefault(size = 20) Pageable pageable,
+                                                                 @RequestParam(defaultValue = "false") boolean excludeSeen,
                                                                  @AuthenticationPrincipal UserDetails userDetails) {
-        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails);
+        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails, excludeSeen);
         request.setReleaseDateFrom(LocalDate.now()); // 오늘부터
         request.setSortBy("release_date");
         request.setSortOrder("asc");
@@ -92,8 +106,9 @@ public class MovieController {
     // [수정] 프론트엔드에서 문자열로 넘어오는 genreId를 처리하기 위해 타입을 String으로 변경합니다.
     // [수정] @RequestParam에 "genreId" 이름을 명시하여 파라미터 매핑 오류를 해결합니다.
     public ResponseEntity<MovieSearchResponse> getMoviesByGenre(@RequestParam("genreId") String genreId, @PageableDefault(size = 20) Pageable pageable,
+                                                                @RequestParam(defaultValue = "false") boolean excludeSeen,
                                                                 @AuthenticationPrincipal UserDetails userDetails) {
-        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails);
+        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails, excludeSeen);
         request.setGenres(List.of(Integer.parseInt(genreId))); // 서비스에 전달하기 전 Integer로 변환
         return ResponseEntity.ok(movieSearchService.search(request));
     }
@@ -101,16 +116,48 @@ public class MovieController {
     @Operation(summary = "모든 영화 목록 조회", description = "모든 영화 목록을 페이지별로 조회합니다. 기본 정렬은 인기도순입니다.")
     @GetMapping("/all")
     public ResponseEntity<MovieSearchResponse> getAllMovies(@PageableDefault(size = 20) Pageable pageable,
+                                                            @RequestParam(defaultValue = "false") boolean excludeSeen,
                                                             @AuthenticationPrincipal UserDetails userDetails) {
-        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails);
+        MovieSearchRequest request = createMovieSearchRequest(pageable, userDetails, excludeSeen);
         request.setSortBy("popularity");
         request.setSortOrder("desc");
         return ResponseEntity.ok(movieSearchService.search(request));
     }
 
-    @Operation(summary = "추천 영화 목록 조회", description = "영화 상세보기 페이지 추천 영화 리스트 요청용")
+    @Operation(summary = "실시간 인기 영화 목록 조회", description = "최근 찜/Watchlist/평점/예매/퀵매치 LIKE 를 시간 가중(최근일수록 큼)으로 합산한 인기 영화입니다. 집계 전이면 빈 목록을 반환합니다.")
+    @GetMapping("/trending")
+    public ResponseEntity<List<MovieDoc>> getTrendingMovies(@RequestParam(defaultValue = "20") int limit,
+                                                            @AuthenticationPrincipal UserDetails userDetails) {
+        if (limit < 1 || limit > TrendingMovieService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(trendingMovieService.getTrending(limit, isAdult(userDetails)));
+    }
+
+    @Operation(summary = "추천 영화 목록 조회", description = "영화 상세보기 페이지 추천 영화 리스트 요청용. mode=vector 면 콘텐츠 벡터(줄거리/장르/감독/배우/제작사) 근사 최근접 이웃 검색을 사용하고, 색인 전이면 기본 방식으로 대체합니다.")
     @GetMapping("/{movieId}/recommendations")
-    public ResponseEntity<List<MovieDoc>> getRecommendations(@PathVariable("movieId") String movieId) {
+    public ResponseEntity<List<MovieDoc>> getRecommendations(@PathVariable("movieId") String movieId,
+                                                             @RequestParam(defaultValue = "mlt") String mode,
+                                                             @RequestParam(defaultValue = "10") int limit,
+                                                             @AuthenticationPrincipal UserDetails userDetails) {
+        if ("vector".equalsIgnoreCase(mode)) {
+            List<String> similarIds = movieVectorService.findSimilarMovieIds(movieId, Math.max(1, Math.min(limit, MAX_VECTOR_LIMIT)));
+            if (!similarIds.isEmpty()) {
+                return ResponseEntity.ok(movieSearchService.getMovieDocsByIds(similarIds, isAdult(userDetails)));
+            }
+        }
         return ResponseEntity.ok(movieSearchService.recommend(movieId));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "함께 선호된 영화 목록 조회", description = "평점/찜/Watchlist 를 함께 남긴 사용자 기준 유사 영화입니다. 데이터가 부족하면 콘텐츠 기반 추천으로 대체합니다.")
+    @GetMapping("/{movieId}/similar")
+    public ResponseEntity<List<MovieDoc>> getSimilarMovies(@PathVariable("movieId") String movieId,
+                                                           @RequestParam(defaultValue = "10") int limit,
+                                                           @AuthenticationPrincipal UserDetails userDetails) {
+        List<String> similarIds = itemSimilarityService.findSimilarMovieIds(movieId, Math.max(1, limit));
+        if (similarIds.isEmpty()) {
+            return ResponseEntity.ok(movieSearchService.recommend(movieId));
+        }
+        return ResponseEntity.ok(movieSearchService.getMovieDocsByIds(similarIds, isAdult(userDetails)));
+    }
+}
@@ -1,13 +1,17 @@
 package com.boot.controller;
 
+import com.boot.dto.MovieRatingStatsDto;
 import com.boot.dto.ReviewListResponse;
 import com.boot.dto.ReviewSummaryDto;
 import com.boot.dto.ReviewWithSummaryResponse;
+import com.boot.service.MovieRatingStatsService;
 import com.boot.service.MovieReviewQueryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -16,13 +20,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class MovieReviewSummaryController {
 
     private final MovieReviewQueryService movieReviewQueryService;
+    private final MovieRatingStatsService movieRatingStatsService;
 
-    // 1) 리뷰 리스트만 (대표 N개)
+    // 1) 리뷰 리스트만 (최신순 limit 개, 다음 페이지는 nextCursor 로 요청)
     @GetMapping("/{movieId}/reviews")
-    public ReviewListResponse getReviewList(
+    public ResponseEntity<ReviewListResponse> getReviewList(
             @PathVariable("movieId") String movieId,
-            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "10") int limit) {
-        return movieReviewQueryService.getReviewList(movieId, limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(movieReviewQueryService.getReviewList(movieId, limit, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // 내부 평점 집계 (평균 / 평점 수 / 리뷰 수 / 0.5점 단위 분포, 상세 페이지용)
+    @GetMapping("/{movieId}/rating-stats")
+    public MovieRatingStatsDto getRatingStats(@PathVariable("movieId") String movieId) {
+        return movieRatingStatsService.getStats(movieId);
     }
 
     // 2) 요약만
@@ -3,8 +3,9 @@ package com.boot.controller;
 import java.util.List;
 
 import com.boot.dto.*;
-import com.boot.entity.User;
-import com.boot.service.UserService;
+import com.boot.service.CurrentUserService;
+import com.boot.service.SeenMovieService;
+import com.boot.service.TrendingSearchService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,24 +31,33 @@ import lombok.extern.slf4j.Slf4j;
 public class MovieSearchController {
 
     private final MovieSearchService movieSearchService;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final TrendingSearchService trendingSearchService;
+    private final SeenMovieService seenMovieService;
 
     @Operation(summary = "영화 검색 API", description = "검색어 + 필터(장르, 최신작, 평점, 기간) + 랭킹/부스팅 적용 검색 API")
     @GetMapping("/search")
     public MovieSearchResponse search(MovieSearchRequest request, @AuthenticationPrincipal UserDetails userDetails) {
         log.info("Search request: {}", request);
-        boolean isAdult = false;
-
-        if(userDetails !=null){
-            User user = userService.findByEmail(userDetails.getUsername()).orElse(null);
-            if( user!=null && user.getAge() >= 19){
-                isAdult = true;
-            }
-        }
+        boolean isAdult = userDetails != null && currentUserService.isAdult();
         request.setAdult(isAdult);
+        seenMovieService.applyExcludeSeen(request);
+        // 로그인 사용자의 검색어는 검색 기록 저장 시 집계 (같은 검색을 두 번 세지 않도록 첫 페이지 + 비로그인만)
+        if (userDetails == null && (request.getPage() == null || request.getPage() == 0)) {
+            trendingSearchService.record(request.getKeyword());
+        }
         return movieSearchService.search(request);
     }
 
+    @Operation(summary = "인기 검색어 API", description = "최근 검색량 기준 인기 검색어 (최근일수록 가중치가 큼)")
+    @GetMapping("/search/trending")
+    public ResponseEntity<List<TrendingSearchDto>> trendingSearches(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > TrendingSearchService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(trendingSearchService.getTrending(limit));
+    }
+
     @Operation(summary = "영화 자동완성 검색어 API", description = "입력된 키워드 기반으로 영화 제목 자동완성 검색어를 제공하는 API")
     @GetMapping("/autocomplete")
     public ResponseEntity<AutocompleteResponse> autocomplete(AutocompleteRequest request) {
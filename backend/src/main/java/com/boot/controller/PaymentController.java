@@ -3,6 +3,7 @@ package com.boot.controller;
 import com.boot.dto.PaymentCancelRequest;
 import com.boot.dto.PaymentConfirmRequest;
 import com.boot.entity.Payment;
+import com.boot.service.IdempotencyStore;
 import com.boot.service.PaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
@@ -20,14 +21,28 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     /**
      * 결제 승인 및 DB 저장
+     * 같은 orderId + paymentKey 재시도는 토스를 다시 호출하지 않고 저장된 응답 반환
      */
     @PostMapping("/confirm")
     public ResponseEntity<?> confirmPayment(@RequestBody PaymentConfirmRequest request) {
+        return idempotencyStore.execute(
+                "payment:confirm:" + request.getOrderId() + ":" + request.getPaymentKey(),
+                () -> doConfirmPayment(request));
+    }
+
+    private ResponseEntity<?> doConfirmPayment(PaymentConfirmRequest request) {
         try {
             Map<String, Object> result = paymentService.confirmPayment(request);
-            return ResponseEntity.ok(result);
+            return toResponse(result);
+        } catch (IllegalStateException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse); // 처리 중이거나 이미 취소됨
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -37,12 +52,19 @@ public class PaymentController {
 
     /**
      * 결제 취소 및 DB 업데이트
+     * 같은 paymentKey 재시도는 "이미 취소된 결제" 오류 대신 처음 취소 응답을 그대로 반환
      */
     @PostMapping("/cancel")
     public ResponseEntity<?> cancelPayment(@RequestBody PaymentCancelRequest request) {
+        return idempotencyStore.execute(
+                "payment:cancel:" + request.getPaymentKey(),
+                () -> doCancelPayment(request));
+    }
+
+    private ResponseEntity<?> doCancelPayment(PaymentCancelRequest request) {
         try {
             Map<String, Object> result = paymentService.cancelPayment(request);
-            return ResponseEntity.ok(result);
+            return toResponse(result);
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -84,4 +106,12 @@ public class PaymentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+
+    // 토스 결과 미확인(재처리 대기)이면 202
+    private ResponseEntity<?> toResponse(Map<String, Object> result) {
+        if (Boolean.TRUE.equals(result.get("pending"))) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
 }
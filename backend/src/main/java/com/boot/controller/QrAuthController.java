@@ -4,8 +4,10 @@ import com.boot.dto.QrAuthRequest;
 import com.boot.dto.QrAuthResponse;
 import com.boot.dto.QrSessionStatusResponse;
 import com.boot.service.QrAuthService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/qr-auth")
@@ -23,8 +25,13 @@ public class QrAuthController {
      */
     @PostMapping("/session")
     public ResponseEntity<QrAuthResponse> generateQrSession() {
-        String sessionId = qrAuthService.generateSession();
-        return ResponseEntity.ok(new QrAuthResponse(sessionId, "QR session generated.", null));
+        try {
+            String sessionId = qrAuthService.generateSession();
+            return ResponseEntity.ok(new QrAuthResponse(sessionId, "QR session generated.", null));
+        } catch (IllegalStateException e) {
+            // 세션 저장소 한도 초과
+            return ResponseEntity.status(503).body(new QrAuthResponse(null, e.getMessage(), null));
+        }
     }
 
     /**
@@ -56,4 +63,13 @@ public class QrAuthController {
         QrSessionStatusResponse statusResponse = qrAuthService.getSessionStatus(sessionId);
         return ResponseEntity.ok(statusResponse);
     }
+
+    /**
+     * 웹 클라이언트가 세션 상태 변경을 푸시로 받을 때 호출됩니다. (Server-Sent Events)
+     * 연결 즉시 현재 상태를 보내고, 모바일 인증이 끝나면 결과를 보낸 뒤 연결을 종료합니다.
+     */
+    @GetMapping(value = "/status/{sessionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQrSessionStatus(@PathVariable String sessionId) {
+        return qrAuthService.subscribeSessionStatus(sessionId);
+    }
 }
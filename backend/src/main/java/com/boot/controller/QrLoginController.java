@@ -18,8 +18,12 @@ public class QrLoginController {
      */
     @GetMapping("/generate")
     public ResponseEntity<QrSessionDto> generateQrSession() {
-        QrSessionDto session = qrLoginService.createSession();
-        return ResponseEntity.ok(session);
+        try {
+            return ResponseEntity.ok(qrLoginService.createSession());
+        } catch (IllegalStateException e) {
+            // 세션 저장소 한도 초과
+            return ResponseEntity.status(503).build();
+        }
     }
 
     /**
@@ -1,12 +1,13 @@
 package com.boot.controller;
 
 import com.boot.dto.RecapResponseDto;
-import com.boot.service.RecapService;
+import com.boot.service.RecapSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -15,10 +16,15 @@ import org.springframework.web.bind.annotation.RestController;
 @CrossOrigin(origins = "http://localhost:5173")
 public class RecapController {
 
-    private final RecapService recapService;
+    private final RecapSnapshotService recapSnapshotService;
 
     @GetMapping
-    public ResponseEntity<RecapResponseDto> getRecap() {
-        return ResponseEntity.ok(recapService.getRecap());
+    public ResponseEntity<?> getRecap(@RequestParam(required = false) Integer year) {
+        try {
+            RecapResponseDto recap = recapSnapshotService.getRecap(year);
+            return ResponseEntity.ok(recap);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
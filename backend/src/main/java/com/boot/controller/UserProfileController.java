@@ -1,20 +1,27 @@
 package com.boot.controller;
 
+import com.boot.dto.MovieStateDto;
 import com.boot.dto.UserProfileDto;
+import com.boot.service.UserMovieStateService;
 import com.boot.service.UserProfileService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
 public class UserProfileController {
 
     private final UserProfileService userProfileService;
+    private final UserMovieStateService userMovieStateService;
 
     @Operation(summary = "사용자 프로필 조회", description = "현재 로그인한 사용자의 프로필 정보를 조회합니다. (찜한 영화, 평점, 리뷰, Watchlist 포함)")
     @GetMapping("/profile")
@@ -22,4 +29,17 @@ public class UserProfileController {
         UserProfileDto userProfile = userProfileService.getUserProfile();
         return ResponseEntity.ok(userProfile);
     }
+
+    @Operation(summary = "영화별 내 상태 일괄 조회", description = "영화 목록 화면에서 여러 영화의 찜/Watchlist/평점 상태를 한 번에 조회합니다. (최대 100개)")
+    @GetMapping("/movie-states")
+    public ResponseEntity<List<MovieStateDto>> getMovieStates(@RequestParam List<String> movieIds) {
+        if (movieIds.isEmpty() || movieIds.size() > UserMovieStateService.MAX_MOVIE_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(userMovieStateService.getMovieStates(movieIds));
+        } catch (IllegalStateException e) { // 로그인되지 않은 사용자
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
 }
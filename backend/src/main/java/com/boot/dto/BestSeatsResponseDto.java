@@ -0,0 +1,19 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class BestSeatsResponseDto {
+    private Long showtimeId;
+    private Integer seatCount;
+    private List<String> seats; // ["K7", "K8", "K9"] → 그대로 예매 요청에 사용 가능
+    private String row;
+    private Integer score; // 낮을수록 좋은 자리 (중앙/선호 행과의 거리)
+    private Integer availableSeats;
+}
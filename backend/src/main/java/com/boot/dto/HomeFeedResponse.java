@@ -0,0 +1,15 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class HomeFeedResponse {
+    private List<MovieDoc> forYou;     // 취향 + 인기 순 추천
+    private List<MovieDoc> nowPlaying; // 현재 상영작 중 취향 순
+    private LocalDateTime generatedAt; // 피드 계산 시각
+}
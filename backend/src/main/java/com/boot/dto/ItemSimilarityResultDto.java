@@ -0,0 +1,17 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class ItemSimilarityResultDto {
+    private Integer users;
+    private Integer movies;
+    private Integer interactions; // 중복 병합 후 계산에 쓰인 (사용자, 영화) 수
+    private Integer skippedUsers; // 상호작용이 너무 많아 제외한 사용자 수
+    private Integer neighbors;    // 저장된 유사 영화 쌍 수
+    private Long elapsedMillis;
+}
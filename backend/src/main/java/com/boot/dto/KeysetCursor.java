@@ -0,0 +1,31 @@
+package com.boot.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 최신순(createdAt DESC, id DESC) 키셋 페이지 커서 ("{createdAt}_{id}")
+ * 예매 내역 / 영화 리뷰 목록 공용
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    /**
+     * @throws IllegalArgumentException 잘못된 커서
+     */
+    public static KeysetCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+        try {
+            return new KeysetCursor(
+                    LocalDateTime.parse(cursor.substring(0, separator)),
+                    Long.valueOf(cursor.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        return createdAt + "_" + id;
+    }
+}
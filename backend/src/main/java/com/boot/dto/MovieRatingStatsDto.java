@@ -0,0 +1,22 @@
+package com.boot.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieRatingStatsDto {
+    private String movieId;
+    private Long reviewCount;
+    private Long ratingCount;
+    private Double averageRating;   // 평점이 없으면 null
+    private List<Long> histogram;   // 0.5점 단위 10칸 (0번 = 0.5점, 9번 = 5.0점)
+}
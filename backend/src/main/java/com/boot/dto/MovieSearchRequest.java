@@ -5,6 +5,7 @@ import java.util.List;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
+import lombok.ToString;
 
 @Data
 public class MovieSearchRequest {
@@ -43,4 +44,12 @@ public class MovieSearchRequest {
 
 		@Schema(description = "투표 수" ,example ="10")
 		private Integer VoteCount;
+
+		@Schema(description = "이미 본 영화(평점/찜/시청 완료) 제외 (로그인 사용자만 적용)", example = "false")
+		private Boolean excludeSeen;
+
+		// excludeSeen 일 때 서버에서 채우는 제외 영화 ID
+		@Schema(hidden = true)
+		@ToString.Exclude
+		private List<String> excludedMovieIds;
 }
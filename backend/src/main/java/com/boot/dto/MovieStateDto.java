@@ -0,0 +1,16 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class MovieStateDto {
+    private String movieId;
+    private boolean favorite; // 찜 여부
+    private boolean inWatchlist; // Watchlist 포함 여부
+    private boolean watched; // Watchlist 시청 완료 여부
+    private Double rating; // 내가 매긴 평점 (없으면 null)
+}
@@ -0,0 +1,17 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class MovieVectorResultDto {
+    private Integer movies;
+    private Integer dimensions;
+    private Integer emptyMovies;   // 줄거리/장르/인물 정보가 없어 인덱스에서 뺀 영화 수
+    private Long offHeapBytes;     // 벡터 버퍼 크기
+    private Long loadMillis;       // ES 조회 시간
+    private Long elapsedMillis;
+}
@@ -0,0 +1,15 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class RatingStatsVerifyResultDto {
+    private Integer movies;       // 원본(평점/리뷰) 또는 집계 테이블에 있는 영화 수
+    private Integer suspected;    // 잠금 없이 비교했을 때 다른 영화 수 (동시 변경 포함)
+    private Integer corrected;    // 잠근 뒤 다시 비교해도 달라서 바로잡은 영화 수 (실제 어긋남)
+    private Long elapsedMillis;
+}
@@ -0,0 +1,17 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class RecapGenerationResultDto {
+    private Integer year;
+    private Integer activeUsers;
+    private Integer generated; // 새로 계산해서 저장한 스냅샷 수
+    private Integer skipped;   // 이미 최신이라 건너뛴 스냅샷 수
+    private Integer failed;
+    private Long elapsedMillis;
+}
@@ -1,12 +1,16 @@
 package com.boot.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.util.List;
 import java.util.Map;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class RecapResponseDto {
     private String userName;
     private ActivitySummary activitySummary;
@@ -17,6 +21,8 @@ public class RecapResponseDto {
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class ActivitySummary {
         private int totalActivityCount; // watched + rated + reviewed + liked
         private String mostActiveMonth; // e.g. "7월"
@@ -24,6 +30,8 @@ public class RecapResponseDto {
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class WatchedAnalysis {
         private int totalWatchedCount;
         private long totalRuntimeMinutes;
@@ -33,6 +41,8 @@ public class RecapResponseDto {
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class RatingAnalysis {
         private double averageRating;
         private int totalReviews;
@@ -43,6 +53,8 @@ public class RecapResponseDto {
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class WatchlistAnalysis {
         private int totalWatchlistCount;
         private String topGenreInWatchlist;
@@ -50,6 +62,8 @@ public class RecapResponseDto {
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class Awards {
         // private String mostWatchedActor; // Omitted due to missing data
         private String title; // "Movie Explorer", "Cinephile" etc.
@@ -57,6 +71,8 @@ public class RecapResponseDto {
 
     @Data
     @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class MovieSummary {
         private String movieId;
         private String title;
@@ -11,4 +11,6 @@ public class ReviewListResponse {
 
     private String movieId;     // 영화 ID
     private List<MovieReviewDto> reviews;   //내부+TMDB 리뷰
+    private String nextCursor;  // 다음 페이지 요청 시 cursor 로 전달 (내부 리뷰가 더 없으면 null)
+    private boolean hasNext;
 }
@@ -0,0 +1,22 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+public class ShowtimeGenerationResultDto {
+    private LocalDate startDate;
+    private Integer days;
+    private Integer theaters;
+    private Integer screens;
+    private Integer deleted;  // 예매 없는 기존 시간표 삭제 건수
+    private Integer inserted; // 새로 생성한 시간표 건수
+    private Integer kept;     // 예매가 걸려 있어 유지한 시간표 건수
+    private Integer failedTheaters;
+    private Long elapsedMillis;
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 public class ShowtimeResponseDto {
     // 시간표 기본 정보
     private Long id; // 프론트엔드 호환성을 위한 필드
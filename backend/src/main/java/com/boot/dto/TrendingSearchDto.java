@@ -0,0 +1,14 @@
+package com.boot.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class TrendingSearchDto {
+    private int rank;
+    private String query;
+    private double score; // 시간 가중 검색 빈도 (최근일수록 큼)
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "booking")
+@Table(name = "booking", indexes = {
+        // 사용자별 예매 내역 keyset 페이지네이션용
+        @Index(name = "idx_booking_user_created", columnList = "user_id, created_at, id")
+})
 public class Booking {
 
     @Id
@@ -0,0 +1,67 @@
+package com.boot.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 영화별 내부 평점/리뷰 집계 (영화당 1건)
+ * - 평점/리뷰 생성·수정·삭제와 같은 트랜잭션에서 증감분만 더함 (전체 재계산 없음)
+ * - 분포는 0.5점 단위 10칸 (stars_05 = 0.5점, ..., stars_50 = 5.0점)
+ * - 쓰기는 MovieRatingStatsBulkRepository (upsert) 에서만 수행, 주기 검증 작업이 원본과 비교해서 어긋나면 바로잡음
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "movie_rating_stats")
+public class MovieRatingStats {
+
+    @Id
+    @Column(name = "movie_id")
+    private String movieId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private double ratingSum;
+
+    @Column(name = "stars_05", nullable = false)
+    private long stars05;
+
+    @Column(name = "stars_10", nullable = false)
+    private long stars10;
+
+    @Column(name = "stars_15", nullable = false)
+    private long stars15;
+
+    @Column(name = "stars_20", nullable = false)
+    private long stars20;
+
+    @Column(name = "stars_25", nullable = false)
+    private long stars25;
+
+    @Column(name = "stars_30", nullable = false)
+    private long stars30;
+
+    @Column(name = "stars_35", nullable = false)
+    private long stars35;
+
+    @Column(name = "stars_40", nullable = false)
+    private long stars40;
+
+    @Column(name = "stars_45", nullable = false)
+    private long stars45;
+
+    @Column(name = "stars_50", nullable = false)
+    private long stars50;
+
+    @Column(name = "updated_at", columnDefinition = "DATETIME(6)")
+    private LocalDateTime updatedAt;
+}
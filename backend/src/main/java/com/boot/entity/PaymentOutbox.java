@@ -0,0 +1,127 @@
+package com.boot.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 토스페이먼츠 호출 요청 기록 (outbox)
+ * - 결제 승인/취소 의도를 DB에 먼저 남기고, 외부 호출은 트랜잭션 밖에서 수행
+ * - 호출 도중 서버가 죽거나 타임아웃이 나면 PaymentReconciler 가 같은 멱등 키로 재시도
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "payment_outbox", indexes = {
+        @Index(name = "idx_payment_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_payment_outbox_payment_key", columnList = "payment_key")
+})
+public class PaymentOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false)
+    private Long id;
+
+    @Column(name = "payment_key", nullable = false)
+    private String paymentKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private Operation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Column(name = "cancel_reason")
+    private String cancelReason;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Operation {
+        CONFIRM, // 결제 승인
+        CANCEL   // 결제 취소
+    }
+
+    public enum Status {
+        PENDING, // 처리 대기 (호출 전이거나 결과 미확인)
+        DONE,    // 처리 완료
+        FAILED   // 토스에서 거절 또는 재시도 한도 초과
+    }
+
+    @Builder
+    public PaymentOutbox(String paymentKey, Operation operation, String cancelReason, LocalDateTime nextAttemptAt) {
+        this.paymentKey = paymentKey;
+        this.operation = operation;
+        this.cancelReason = cancelReason;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isPending() {
+        return this.status == Status.PENDING;
+    }
+
+    // 호출 시작 (다른 워커가 같은 요청을 잡지 않도록 다음 시도 시각을 미룸)
+    public void startAttempt(LocalDateTime nextAttemptAt) {
+        this.attempts += 1;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    // 결과 미확인 (타임아웃/5xx) → 재시도 예약
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void complete() {
+        this.status = Status.DONE;
+        this.lastError = null;
+    }
+
+    public void fail(String error) {
+        this.status = Status.FAILED;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -15,6 +15,10 @@ import java.time.LocalDateTime;
 @Table(name = "rating",
        uniqueConstraints = {
            @UniqueConstraint(columnNames = {"user_id", "movie_id"})
+       },
+       indexes = {
+           // 연간 리캡 기간 조회용
+           @Index(name = "idx_rating_user_created", columnList = "user_id, created_at")
        })
 @EntityListeners(AuditingEntityListener.class) // JPA Auditing 활성화
 public class Rating {
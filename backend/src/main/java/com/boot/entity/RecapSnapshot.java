@@ -0,0 +1,49 @@
+package com.boot.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 연간 리캡 스냅샷 (사용자 + 연도당 1건)
+ * - RecapSnapshotService 배치가 미리 계산한 RecapResponseDto 를 JSON 으로 저장
+ * - 찜/Watchlist/평점/리뷰가 바뀌면 last_activity_at 만 갱신되고,
+ *   generated_at 이 그보다 이전이면 다음 조회 시 다시 계산
+ * - 쓰기는 RecapSnapshotBulkRepository (upsert) 에서만 수행
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "recap_snapshot", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_recap_snapshot_user_year", columnNames = {"user_id", "recap_year"})
+})
+public class RecapSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "recap_year", nullable = false)
+    private Integer recapYear;
+
+    // 계산 로직 버전 (RecapService.RECAP_VERSION 과 다르면 다시 계산)
+    @Column(name = "version")
+    private Integer version;
+
+    @Lob
+    @Column(name = "payload", columnDefinition = "LONGTEXT")
+    private String payload;
+
+    // 계산을 시작한 시각 (이 시각 이후의 활동은 반영되지 않음)
+    @Column(name = "generated_at", columnDefinition = "DATETIME(6)")
+    private LocalDateTime generatedAt;
+
+    @Column(name = "last_activity_at", columnDefinition = "DATETIME(6)")
+    private LocalDateTime lastActivityAt;
+}
@@ -9,7 +9,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // 연간 리캡 기간 조회용
+        @Index(name = "idx_reviews_user_created", columnList = "user_id, created_at"),
+        // 영화별 리뷰 목록 (최신순 keyset 페이지)
+        @Index(name = "idx_reviews_movie_created", columnList = "movie_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,7 +35,7 @@ public class Review {
     private User user;
 
     @Column(nullable = false)
-    private Integer rating; // 1~5점
+    private Integer rating; // 1~10점 (별 반 개 단위, rating 테이블에는 2로 나눈 값 저장)
 
     @Column(nullable = false, length = 1000)
     private String comment;
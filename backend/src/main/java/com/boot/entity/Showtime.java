@@ -78,6 +78,11 @@ public class Showtime {
         this.availableSeats -= count;
     }
 
+    // 좌석 재고 기준 값으로 맞춤 (핫 카운터 write-behind로 뒤처진 값 보정)
+    public void syncAvailableSeats(int inventory) {
+        this.availableSeats = inventory;
+    }
+
     // 좌석 증가 (예매 취소 시)
     public void increaseAvailableSeats(int count) {
         this.availableSeats += count;
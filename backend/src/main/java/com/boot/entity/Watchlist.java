@@ -22,6 +22,10 @@ import java.time.LocalDateTime;
                         name = "watchlist_uk",
                         columnNames = {"user_id", "movie_id"}
                 )
+        },
+        indexes = {
+                // 연간 리캡 기간 조회용
+                @Index(name = "idx_watchlist_user_created", columnList = "user_id, created_at")
         })
 public class Watchlist {
     @Id
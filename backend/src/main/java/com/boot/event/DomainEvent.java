@@ -0,0 +1,7 @@
+package com.boot.event;
+
+/**
+ * 도메인 이벤트 표시 (ApplicationEventPublisher 로 발행하면 커밋 후 DomainEventBus 로 넘어가 구독자가 일괄 처리)
+ */
+public interface DomainEvent {
+}
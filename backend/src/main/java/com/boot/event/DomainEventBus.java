@@ -0,0 +1,119 @@
+package com.boot.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 프로세스 내 도메인 이벤트 버스
+ * - 요청 스레드는 커밋 후 링 버퍼(EventRingBuffer)에 이벤트를 넣기만 함 (홈 피드 / 리캡 / 본 영화 / 인기 영화 집계는 요청 경로 밖에서 처리)
+ * - 구독자(DomainEventSubscriber 빈)마다 전용 스레드와 커서가 있어서 느린 구독자가 다른 구독자를 막지 않음
+ * - 구독자는 쌓인 이벤트를 최대 max-batch 개씩 묶어서 받음 (같은 사용자 중복 제거, 일괄 쿼리 등에 활용)
+ * - 버퍼가 가득 차면 publish-timeout 만큼 기다린 뒤 버리고 경고 로그 (요청을 막지 않음, 각 구독자는 TTL / 주기 작업으로 복구)
+ * - 서버 종료 시 남은 이벤트를 처리한 뒤 멈춤, 서버가 죽으면 버퍼의 이벤트는 사라짐
+ */
+@Slf4j
+@Component
+public class DomainEventBus {
+
+    // 이벤트가 없을 때 구독자 스레드가 멈춰 있는 최대 시간 (새 이벤트가 들어오면 바로 깨어남)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000;
+
+    private final EventRingBuffer<DomainEvent> ringBuffer;
+    private final int maxBatch;
+    private final long publishTimeoutNanos;
+    private final List<Thread> threads = new ArrayList<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running = true;
+
+    public DomainEventBus(List<DomainEventSubscriber<?>> subscribers,
+                          @Value("${events.bus.buffer-size:8192}") int bufferSize,
+                          @Value("${events.bus.max-batch:256}") int maxBatch,
+                          @Value("${events.bus.publish-timeout-ms:50}") long publishTimeoutMillis) {
+        this.ringBuffer = new EventRingBuffer<>(Integer.highestOneBit(Math.max(2, bufferSize)));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+
+        // 커서를 모두 만든 뒤 스레드 시작 (이후 발행된 이벤트는 모든 구독자가 받음)
+        for (DomainEventSubscriber<?> subscriber : subscribers) {
+            String name = ClassUtils.getUserClass(subscriber).getSimpleName();
+            EventRingBuffer<DomainEvent>.Cursor cursor = ringBuffer.newCursor();
+            Thread thread = new Thread(() -> consume(name, subscriber, cursor), "domain-event-" + name);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+        log.info("도메인 이벤트 버스 시작: 구독자 {}개, 버퍼 {}칸", threads.size(), ringBuffer.capacity());
+    }
+
+    // 커밋된 이벤트만 넣음 (롤백되면 버림), 트랜잭션 밖에서 발행하면 바로 넣음
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        if (!running || !ringBuffer.publish(event, publishTimeoutNanos)) {
+            dropped.increment();
+            log.warn("도메인 이벤트 버퍼가 가득 찼거나 종료 중이라 이벤트를 버립니다. event={}, 누적 {}건", event, dropped.sum());
+        }
+    }
+
+    /**
+     * 아직 모든 구독자가 처리하지 않은 이벤트 수
+     */
+    public long backlog() {
+        return ringBuffer.backlog();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중인 묶음은 끝까지 (멈춰 있던 스레드는 IDLE_PARK_NANOS 안에 깨어나 남은 이벤트를 처리하고 끝남)
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_WAIT_MILLIS;
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private <E extends DomainEvent> void consume(String name, DomainEventSubscriber<E> subscriber,
+                                                 EventRingBuffer<DomainEvent>.Cursor cursor) {
+        Class<E> type = subscriber.eventType();
+        List<DomainEvent> polled = new ArrayList<>(maxBatch);
+        List<E> batch = new ArrayList<>(maxBatch);
+        while (running || cursor.hasNext()) {
+            polled.clear();
+            if (cursor.poll(polled, maxBatch) == 0) {
+                if (running) {
+                    cursor.await(IDLE_PARK_NANOS);
+                }
+                continue;
+            }
+            batch.clear();
+            for (DomainEvent event : polled) {
+                if (type.isInstance(event)) {
+                    batch.add(type.cast(event));
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                subscriber.onEvents(batch);
+            } catch (RuntimeException e) {
+                log.warn("도메인 이벤트 처리 실패, {}건을 건너뜁니다. subscriber={}, error={}", batch.size(), name, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.boot.event;
+
+import java.util.List;
+
+/**
+ * DomainEventBus 구독자 (빈으로 등록하면 구독자마다 전용 스레드 하나에서 호출됨)
+ * - events 는 커밋된 순서대로, eventType 에 해당하는 이벤트만 최대 events.bus.max-batch 개
+ * - 예외를 던지면 해당 묶음만 건너뜀 (다시 전달하지 않음)
+ * - events 목록은 호출이 끝나면 재사용되므로 보관하지 말 것
+ */
+public interface DomainEventSubscriber<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void onEvents(List<E> events);
+}
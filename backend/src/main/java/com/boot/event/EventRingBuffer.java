@@ -0,0 +1,165 @@
+package com.boot.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 크기 링 버퍼 (여러 스레드가 넣고, 구독자별 커서가 각자 순서대로 읽음, 락 없음, 스프링 의존성 없음)
+ * - 쓰기: 시퀀스를 CAS 로 하나 잡고 칸에 쓴 뒤 그 칸의 회차를 기록 (회차가 맞는 칸까지만 읽을 수 있음)
+ * - 가장 느린 커서가 한 바퀴 뒤처져 있으면 가득 찬 것, timeout 동안 기다린 뒤 실패 반환 (호출 스레드를 오래 막지 않음)
+ * - 읽기: 커서가 연속으로 준비된 칸을 최대 maxBatch 개까지 한 번에 가져감
+ * - 커서는 쓰기 전에 모두 만들어 두어야 함
+ */
+public final class EventRingBuffer<T> {
+
+    // 가득 찼을 때 다시 확인하는 간격
+    private static final long FULL_RETRY_NANOS = 50_000L;
+
+    private final Object[] entries;
+    private final int mask;
+    private final int shift;
+    // 칸별로 마지막으로 쓰인 회차 (시퀀스 >>> shift)
+    private final AtomicIntegerArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    // 커서 목록은 바꿀 때마다 새로 만듦 (쓰는 쪽은 락 없이 읽음)
+    private volatile List<Cursor> cursors = List.of();
+
+    public EventRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 는 2 이상인 2의 거듭제곱이어야 합니다.");
+        }
+        this.entries = new Object[capacity];
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+        this.published = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    public synchronized Cursor newCursor() {
+        Cursor cursor = new Cursor(claimed.get());
+        List<Cursor> next = new ArrayList<>(cursors);
+        next.add(cursor);
+        cursors = List.copyOf(next);
+        return cursor;
+    }
+
+    /**
+     * @return 자리가 나지 않아 넣지 못했으면 false
+     */
+    public boolean publish(T event, long timeoutNanos) {
+        long deadline = 0;
+        long sequence;
+        while (true) {
+            long current = claimed.get();
+            sequence = current + 1;
+            if (sequence - entries.length > slowestCursor()) {
+                long now = System.nanoTime();
+                if (deadline == 0) {
+                    deadline = now + timeoutNanos;
+                } else if (now - deadline >= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(FULL_RETRY_NANOS);
+                continue;
+            }
+            if (claimed.compareAndSet(current, sequence)) {
+                break;
+            }
+        }
+        int index = (int) (sequence & mask);
+        entries[index] = event;
+        published.set(index, round(sequence));
+        for (Cursor cursor : cursors) {
+            Thread waiter = cursor.waiter;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 아직 읽지 않은 이벤트 수 (가장 느린 커서 기준)
+     */
+    public long backlog() {
+        return claimed.get() - slowestCursor();
+    }
+
+    private long slowestCursor() {
+        long min = Long.MAX_VALUE;
+        for (Cursor cursor : cursors) {
+            min = Math.min(min, cursor.sequence.get());
+        }
+        return min == Long.MAX_VALUE ? claimed.get() : min;
+    }
+
+    private int round(long sequence) {
+        return (int) (sequence >>> shift);
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) (sequence & mask)) == round(sequence);
+    }
+
+    /**
+     * 구독자 한 명의 읽기 위치 (한 스레드에서만 사용)
+     */
+    public final class Cursor {
+
+        // 마지막으로 읽은 시퀀스
+        private final AtomicLong sequence;
+        // 새 이벤트를 기다리며 멈춘 스레드 (쓰는 쪽에서 깨움)
+        private volatile Thread waiter;
+
+        private Cursor(long start) {
+            this.sequence = new AtomicLong(start);
+        }
+
+        /**
+         * 준비된 이벤트를 최대 maxBatch 개까지 batch 에 담음 (담은 칸은 바로 다시 쓸 수 있게 됨)
+         *
+         * @return 담은 개수
+         */
+        @SuppressWarnings("unchecked")
+        public int poll(List<T> batch, int maxBatch) {
+            long last = sequence.get();
+            int count = 0;
+            while (count < maxBatch && isPublished(last + 1)) {
+                last++;
+                batch.add((T) entries[(int) (last & mask)]);
+                count++;
+            }
+            if (count > 0) {
+                sequence.set(last);
+            }
+            return count;
+        }
+
+        /**
+         * 읽을 이벤트가 없으면 최대 timeoutNanos 동안 멈춤 (새 이벤트가 들어오면 바로 깨어남)
+         */
+        public void await(long timeoutNanos) {
+            waiter = Thread.currentThread();
+            try {
+                if (!isPublished(sequence.get() + 1)) {
+                    LockSupport.parkNanos(this, timeoutNanos);
+                }
+            } finally {
+                waiter = null;
+            }
+        }
+
+        public boolean hasNext() {
+            return isPublished(sequence.get() + 1);
+        }
+    }
+}
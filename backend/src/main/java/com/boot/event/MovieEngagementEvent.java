@@ -0,0 +1,16 @@
+package com.boot.event;
+
+/**
+ * 영화에 대한 긍정적인 참여 (찜 추가 / Watchlist 추가 / 새 평점 / 예매 / 퀵매치 LIKE)
+ * 해제/삭제는 발행하지 않음, 인앱 트렌딩 집계는 커밋 후 DomainEventBus 구독자가 일괄 처리
+ */
+public record MovieEngagementEvent(String movieId, Type type) implements DomainEvent {
+
+    public enum Type {
+        FAVORITE,
+        WATCHLIST,
+        RATING,
+        BOOKING,
+        QUICK_MATCH_LIKE
+    }
+}
@@ -0,0 +1,22 @@
+package com.boot.event;
+
+/**
+ * 사용자의 찜 / Watchlist / 평점 / 리뷰 / 퀵매치 피드백이 바뀌었음을 알리는 이벤트
+ * movieId 는 변경된 영화 (본 영화 비트맵 증분 갱신용)
+ * 리캡 스냅샷 갱신 표시, 홈 피드 재계산 등은 커밋 후 DomainEventBus 구독자가 일괄 처리 (영화 상태 캐시 삭제만 커밋 직후 바로)
+ */
+public record UserActivityEvent(Long userId, String movieId, Type type) implements DomainEvent {
+
+    public enum Type {
+        FAVORITE,
+        WATCHLIST,
+        RATING,
+        REVIEW,
+        QUICK_MATCH
+    }
+
+    // 찜/Watchlist/평점/리뷰 (사용자 영화 상태와 리캡에 영향)
+    public boolean changesMovieState() {
+        return type != Type.QUICK_MATCH;
+    }
+}
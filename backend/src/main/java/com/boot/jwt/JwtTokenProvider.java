@@ -4,6 +4,7 @@ import com.boot.dto.TokenInfo;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -11,6 +12,7 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecurityException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -22,10 +24,16 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,13 +41,23 @@ import java.util.stream.Collectors;
 public class JwtTokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
+    // 검증된 토큰 캐시 최대 크기 (넘으면 만료된 항목부터 정리)
+    private static final int MAX_VERIFIED_TOKENS = 100_000;
+
     private final SecretKey key;
     private final long expirationTime;
+    // 불변 파서 (스레드 안전) → 요청마다 새로 만들지 않음
+    private final JwtParser parser;
+    // 토큰 해시 → 검증 결과, 토큰 만료(exp) 시각까지 보관해서 서명 검증은 토큰당 한 번만
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
     public JwtTokenProvider(@Value("${jwt.secret-key}") String secretKey,
             @Value("${jwt.expiration-time}") long expirationTime) {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
         this.expirationTime = expirationTime;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
     // 유저 정보를 가지고 AccessToken을 생성하는 메서드
@@ -86,28 +104,24 @@ public class JwtTokenProvider {
 
     // JWT 토큰을 복호화하여 토큰에 들어있는 정보를 꺼내는 메서드
     public Authentication getAuthentication(String accessToken) {
-        Claims claims = parseClaims(accessToken);
-
-        if (claims.get(AUTHORITIES_KEY) == null) {
-            throw new RuntimeException("권한 정보가 없는 토큰입니다.");
+        VerifiedToken verified = findVerified(accessToken);
+        if (verified != null) {
+            // 캐시된 principal/권한으로 요청마다 새 Authentication 생성 (details 등 요청별 상태 공유 방지)
+            return new UsernamePasswordAuthenticationToken(verified.principal(), "", verified.authorities());
         }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
-                .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        UserDetails principal = new User(claims.getSubject(), "", authorities);
-        return new UsernamePasswordAuthenticationToken(principal, "", authorities);
+        Claims claims = parseClaims(accessToken);
+        return new UsernamePasswordAuthenticationToken(toPrincipal(claims), "", toAuthorities(claims));
     }
 
     // 토큰 정보를 검증하는 메서드
     public boolean validateToken(String token) {
+        if (findVerified(token) != null) {
+            return true;
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            cacheVerified(token, claims);
             return true;
         } catch (SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT Token", e);
@@ -128,25 +142,89 @@ public class JwtTokenProvider {
      * @return 토큰의 subject (사용자 이메일)
      */
     public String getUserPk(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        VerifiedToken verified = findVerified(token);
+        if (verified != null) {
+            return verified.claims().getSubject();
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        cacheVerified(token, claims);
+        return claims.getSubject();
+    }
+
+    // 만료된 검증 결과 정리 (1분마다)
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpiredTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(verified -> verified.expiresAt() <= now);
     }
 
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(accessToken)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(accessToken).getPayload();
+            cacheVerified(accessToken, claims);
+            return claims;
         } catch (ExpiredJwtException e) {
             // 토큰이 만료되었더라도 클레임 정보는 반환
             return e.getClaims();
         }
     }
 
+    private VerifiedToken findVerified(String token) {
+        if (token == null) {
+            return null;
+        }
+        String tokenHash = hash(token);
+        VerifiedToken verified = verifiedTokens.get(tokenHash);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.expiresAt() <= System.currentTimeMillis()) {
+            verifiedTokens.remove(tokenHash, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    private void cacheVerified(String token, Claims claims) {
+        // exp 없는 토큰이나 권한 정보 없는 토큰은 캐시하지 않음 (매번 검증 경로로)
+        if (claims.getExpiration() == null || claims.get(AUTHORITIES_KEY) == null) {
+            return;
+        }
+        if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+            evictExpiredTokens();
+            if (verifiedTokens.size() >= MAX_VERIFIED_TOKENS) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(hash(token), new VerifiedToken(
+                claims, toPrincipal(claims), toAuthorities(claims), claims.getExpiration().getTime()));
+    }
+
+    private UserDetails toPrincipal(Claims claims) {
+        return new User(claims.getSubject(), "", toAuthorities(claims));
+    }
+
+    private List<GrantedAuthority> toAuthorities(Claims claims) {
+        if (claims.get(AUTHORITIES_KEY) == null) {
+            throw new RuntimeException("권한 정보가 없는 토큰입니다.");
+        }
+        return Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    // 원본 토큰 대신 SHA-256 해시를 캐시 키로 사용
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, UserDetails principal,
+                                 Collection<? extends GrantedAuthority> authorities, long expiresAt) {
+    }
+
 }
@@ -1,10 +1,12 @@
 package com.boot.repository;
 
 import com.boot.entity.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -20,6 +22,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // 사용자별 예매 내역 조회 (최신순)
     List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    // 사용자별 예매 내역 첫 페이지 (최신순, 시간표/상영관/영화관 fetch join)
+    @Query("SELECT b FROM Booking b " +
+           "JOIN FETCH b.user " +
+           "JOIN FETCH b.showtime s " +
+           "JOIN FETCH s.screen sc " +
+           "JOIN FETCH sc.theater " +
+           "WHERE b.user.id = :userId " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 사용자별 예매 내역 다음 페이지 (keyset: 마지막으로 본 (createdAt, id) 이후)
+    @Query("SELECT b FROM Booking b " +
+           "JOIN FETCH b.user " +
+           "JOIN FETCH b.showtime s " +
+           "JOIN FETCH s.screen sc " +
+           "JOIN FETCH sc.theater " +
+           "WHERE b.user.id = :userId " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findPageByUserIdBefore(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
     // 특정 시간표의 확정된 예매 개수
     @Query("SELECT COUNT(b) FROM Booking b " +
            "WHERE b.showtime.id = :showtimeId " +
@@ -31,4 +57,10 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "WHERE b.showtime.id = :showtimeId " +
            "AND b.bookingStatus = 'CONFIRMED'")
     List<String> findBookedSeatsByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    // 특정 시간표의 확정된 예매 좌석 수 합계 (좌석 재고 검증용)
+    @Query("SELECT COALESCE(SUM(b.seatCount), 0) FROM Booking b " +
+           "WHERE b.showtime.id = :showtimeId " +
+           "AND b.bookingStatus = 'CONFIRMED'")
+    long sumConfirmedSeatCountByShowtimeId(@Param("showtimeId") Long showtimeId);
 }
@@ -3,6 +3,8 @@ package com.boot.repository;
 import com.boot.entity.Favorite;
 import com.boot.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,4 +19,8 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     Optional<Favorite> findByUserAndMovieId(User user, String movieId);
     List<Favorite> findByUser(User user);
     boolean existsByUserAndMovieId(User user, String movieId);
+
+    // 사용자가 찜한 영화 ID만 조회 (엔티티 로딩 없이)
+    @Query("SELECT f.movieId FROM Favorite f WHERE f.user.id = :userId")
+    List<String> findMovieIdsByUserId(@Param("userId") Long userId);
 }
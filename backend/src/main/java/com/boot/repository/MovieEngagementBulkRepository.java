@@ -0,0 +1,48 @@
+package com.boot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 인앱 트렌딩 초기 적재용 최근 참여 기록 조회 (TrendingMovieService 전용, 서버 시작 시 1회)
+ * - Watchlist 추가 / 평점 / 확정 예매 / 퀵매치 LIKE 를 한 번의 UNION ALL 로 읽어 한 행씩 전달
+ * - 찜(favorite)은 생성 시각이 없어서 제외 (서버가 뜬 뒤의 찜은 이벤트로 반영)
+ */
+@Repository
+@RequiredArgsConstructor
+public class MovieEngagementBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // [from, to) 구간, type 은 MovieEngagementEvent.Type 이름
+    public void forEachBetween(LocalDateTime from, LocalDateTime to, EngagementHandler handler) {
+        Timestamp start = Timestamp.valueOf(from);
+        Timestamp end = Timestamp.valueOf(to);
+        jdbcTemplate.query(
+                "SELECT movie_id, 'WATCHLIST' AS type, created_at FROM watchlist " +
+                "WHERE created_at >= ? AND created_at < ? " +
+                "UNION ALL SELECT movie_id, 'RATING', created_at FROM rating " +
+                "WHERE created_at >= ? AND created_at < ? " +
+                "UNION ALL SELECT s.movie_id, 'BOOKING', b.created_at FROM booking b " +
+                "JOIN showtime s ON s.id = b.showtime_id " +
+                "WHERE b.created_at >= ? AND b.created_at < ? AND b.booking_status = 'CONFIRMED' " +
+                "UNION ALL SELECT movie_id, 'QUICK_MATCH_LIKE', created_at FROM quick_match_feedback " +
+                "WHERE action = 'LIKE' AND created_at >= ? AND created_at < ?",
+                rs -> {
+                    Timestamp at = rs.getTimestamp(3);
+                    if (at != null) {
+                        handler.accept(rs.getString(1), rs.getString(2), at.getTime());
+                    }
+                },
+                start, end, start, end, start, end, start, end);
+    }
+
+    @FunctionalInterface
+    public interface EngagementHandler {
+        void accept(String movieId, String type, long atMillis);
+    }
+}
@@ -0,0 +1,201 @@
+package com.boot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 영화별 평점/리뷰 집계 JDBC 리포지토리 (MovieRatingStatsService 전용)
+ * - 평점/리뷰 변경은 증감분만 upsert (같은 영화 동시 변경은 행 잠금으로 순서대로 더해짐)
+ * - 검증용 원본 집계는 rating / reviews 테이블 GROUP BY (주기 작업에서만 사용)
+ */
+@Repository
+@RequiredArgsConstructor
+public class MovieRatingStatsBulkRepository {
+
+    public static final int HISTOGRAM_SIZE = 10;
+    private static final String[] HISTOGRAM_COLUMNS = {
+            "stars_05", "stars_10", "stars_15", "stars_20", "stars_25",
+            "stars_30", "stars_35", "stars_40", "stars_45", "stars_50"};
+    private static final String COLUMNS =
+            "movie_id, review_count, rating_count, rating_sum, " + String.join(", ", HISTOGRAM_COLUMNS);
+    // 평점 → 분포 칸 번호 1~10 (0.5점 단위 반올림, Java 쪽 bucket() 과 같은 식)
+    private static final String BUCKET_SQL = "LEAST(GREATEST(FLOOR(rating * 2 + 0.5), 1), 10)";
+
+    private static final String UPSERT_DELTA_SQL = buildUpsertDeltaSql();
+    private static final String REPLACE_SQL = buildReplaceSql();
+    private static final String RECOMPUTE_RATINGS_SQL = buildRecomputeRatingsSql();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 증감분 더하기 (행이 없으면 증감분 그대로 생성)
+    public void applyDelta(String movieId, long reviewDelta, long ratingDelta, double sumDelta, long[] histogramDelta) {
+        List<Object> args = new ArrayList<>(4 + HISTOGRAM_SIZE * 2);
+        args.add(movieId);
+        args.add(reviewDelta);
+        args.add(ratingDelta);
+        args.add(sumDelta);
+        for (long delta : histogramDelta) {
+            args.add(delta);
+        }
+        args.add(reviewDelta);
+        args.add(ratingDelta);
+        args.add(sumDelta);
+        for (long delta : histogramDelta) {
+            args.add(delta);
+        }
+        jdbcTemplate.update(UPSERT_DELTA_SQL, args.toArray());
+    }
+
+    public Optional<StatsRow> find(String movieId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM movie_rating_stats WHERE movie_id = ?",
+                (rs, rowNum) -> mapStored(rs), movieId).stream().findFirst();
+    }
+
+    // 검증 중 바로잡기 전에 잠금 (행이 없어도 같은 키의 upsert 는 대기)
+    public Optional<StatsRow> lock(String movieId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM movie_rating_stats WHERE movie_id = ? FOR UPDATE",
+                (rs, rowNum) -> mapStored(rs), movieId).stream().findFirst();
+    }
+
+    public Map<String, StatsRow> findAll() {
+        Map<String, StatsRow> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT " + COLUMNS + " FROM movie_rating_stats",
+                rs -> {
+                    StatsRow row = mapStored(rs);
+                    rows.put(row.movieId(), row);
+                });
+        return rows;
+    }
+
+    // 원본 테이블 전체 집계
+    public Map<String, StatsRow> computeAll() {
+        Map<String, StatsRow> rows = new HashMap<>();
+        jdbcTemplate.query(RECOMPUTE_RATINGS_SQL + " GROUP BY movie_id",
+                rs -> {
+                    StatsRow row = mapRatings(rs, 0);
+                    rows.put(row.movieId(), row);
+                });
+        jdbcTemplate.query("SELECT movie_id, COUNT(*) FROM reviews GROUP BY movie_id",
+                rs -> {
+                    String movieId = rs.getString(1);
+                    StatsRow ratings = rows.get(movieId);
+                    rows.put(movieId, ratings != null
+                            ? ratings.withReviewCount(rs.getLong(2))
+                            : StatsRow.empty(movieId).withReviewCount(rs.getLong(2)));
+                });
+        return rows;
+    }
+
+    // 원본 테이블에서 영화 하나만 집계
+    public StatsRow compute(String movieId) {
+        long reviewCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reviews WHERE movie_id = ?", Long.class, movieId);
+        List<StatsRow> ratings = jdbcTemplate.query(
+                RECOMPUTE_RATINGS_SQL + " WHERE movie_id = ? GROUP BY movie_id",
+                (rs, rowNum) -> mapRatings(rs, reviewCount), movieId);
+        return ratings.isEmpty() ? StatsRow.empty(movieId).withReviewCount(reviewCount) : ratings.get(0);
+    }
+
+    // 값 그대로 덮어쓰기 (검증에서 어긋난 행 복구)
+    public void replace(StatsRow row) {
+        List<Object> args = new ArrayList<>(4 + HISTOGRAM_SIZE);
+        args.add(row.movieId());
+        args.add(row.reviewCount());
+        args.add(row.ratingCount());
+        args.add(row.ratingSum());
+        for (long count : row.histogram()) {
+            args.add(count);
+        }
+        jdbcTemplate.update(REPLACE_SQL, args.toArray());
+    }
+
+    public void delete(String movieId) {
+        jdbcTemplate.update("DELETE FROM movie_rating_stats WHERE movie_id = ?", movieId);
+    }
+
+    private static StatsRow mapStored(ResultSet rs) throws SQLException {
+        long[] histogram = new long[HISTOGRAM_SIZE];
+        for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+            histogram[i] = rs.getLong(HISTOGRAM_COLUMNS[i]);
+        }
+        return new StatsRow(rs.getString("movie_id"), rs.getLong("review_count"),
+                rs.getLong("rating_count"), rs.getDouble("rating_sum"), histogram);
+    }
+
+    private static StatsRow mapRatings(ResultSet rs, long reviewCount) throws SQLException {
+        long[] histogram = new long[HISTOGRAM_SIZE];
+        for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+            histogram[i] = rs.getLong(4 + i);
+        }
+        return new StatsRow(rs.getString(1), reviewCount, rs.getLong(2), rs.getDouble(3), histogram);
+    }
+
+    private static String buildUpsertDeltaSql() {
+        StringBuilder sql = new StringBuilder("INSERT INTO movie_rating_stats (")
+                .append(COLUMNS).append(", updated_at) VALUES (?, ?, ?, ?");
+        sql.append(", ?".repeat(HISTOGRAM_SIZE)).append(", NOW(6)) ON DUPLICATE KEY UPDATE ")
+                .append("review_count = review_count + ?, rating_count = rating_count + ?, rating_sum = rating_sum + ?");
+        for (String column : HISTOGRAM_COLUMNS) {
+            sql.append(", ").append(column).append(" = ").append(column).append(" + ?");
+        }
+        return sql.append(", updated_at = NOW(6)").toString();
+    }
+
+    private static String buildReplaceSql() {
+        StringBuilder sql = new StringBuilder("INSERT INTO movie_rating_stats (")
+                .append(COLUMNS).append(", updated_at) VALUES (?, ?, ?, ?");
+        sql.append(", ?".repeat(HISTOGRAM_SIZE)).append(", NOW(6)) ON DUPLICATE KEY UPDATE ")
+                .append("review_count = VALUES(review_count), rating_count = VALUES(rating_count), ")
+                .append("rating_sum = VALUES(rating_sum)");
+        for (String column : HISTOGRAM_COLUMNS) {
+            sql.append(", ").append(column).append(" = VALUES(").append(column).append(")");
+        }
+        return sql.append(", updated_at = NOW(6)").toString();
+    }
+
+    private static String buildRecomputeRatingsSql() {
+        StringBuilder sql = new StringBuilder("SELECT movie_id, COUNT(*), COALESCE(SUM(rating), 0)");
+        for (int i = 1; i <= HISTOGRAM_SIZE; i++) {
+            sql.append(", SUM(").append(BUCKET_SQL).append(" = ").append(i).append(")");
+        }
+        return sql.append(" FROM rating").toString();
+    }
+
+    /**
+     * 영화 하나의 집계 값 (histogram 은 0.5점 단위 10칸)
+     */
+    public record StatsRow(String movieId, long reviewCount, long ratingCount, double ratingSum, long[] histogram) {
+
+        // 평점 합은 0.5 단위라 오차가 거의 없지만, 임의 소수 평점이 섞여도 오탐하지 않도록 여유를 둠
+        private static final double SUM_TOLERANCE = 1e-6;
+
+        public static StatsRow empty(String movieId) {
+            return new StatsRow(movieId, 0, 0, 0, new long[HISTOGRAM_SIZE]);
+        }
+
+        public StatsRow withReviewCount(long count) {
+            return new StatsRow(movieId, count, ratingCount, ratingSum, histogram);
+        }
+
+        public boolean isEmpty() {
+            return reviewCount == 0 && ratingCount == 0;
+        }
+
+        public boolean sameValues(StatsRow other) {
+            return reviewCount == other.reviewCount
+                    && ratingCount == other.ratingCount
+                    && Math.abs(ratingSum - other.ratingSum) < SUM_TOLERANCE
+                    && Arrays.equals(histogram, other.histogram);
+        }
+    }
+}
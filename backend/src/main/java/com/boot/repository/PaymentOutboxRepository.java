@@ -0,0 +1,27 @@
+package com.boot.repository;
+
+import com.boot.entity.PaymentOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, Long> {
+    // 결제 키 + 작업별 처리 대기 중인 요청 (같은 작업 중복 기록 방지)
+    Optional<PaymentOutbox> findFirstByPaymentKeyAndOperationAndStatus(String paymentKey,
+                                                                       PaymentOutbox.Operation operation,
+                                                                       PaymentOutbox.Status status);
+
+    // 재시도 시각이 지난 처리 대기 요청 (오래된 순)
+    @Query("SELECT o.id FROM PaymentOutbox o " +
+           "WHERE o.status = :status " +
+           "AND o.nextAttemptAt <= :now " +
+           "ORDER BY o.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") PaymentOutbox.Status status,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+}
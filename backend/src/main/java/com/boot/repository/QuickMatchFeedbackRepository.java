@@ -3,6 +3,8 @@ package com.boot.repository;
 import com.boot.entity.QuickMatchFeedback;
 import com.boot.entity.QuickMatchSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +22,14 @@ public interface QuickMatchFeedbackRepository extends JpaRepository<QuickMatchFe
             String sessionId,
             String movieId
     );
+
+    // 사용자의 퀵매치 피드백 영화 ID와 LIKE/DISLIKE 만 조회 (홈 피드 취향 계산용)
+    @Query("SELECT f.movieId AS movieId, f.action AS action FROM QuickMatchFeedback f WHERE f.userId = :userId")
+    List<FeedbackActionView> findActionsByUserId(@Param("userId") Long userId);
+
+    interface FeedbackActionView {
+        String getMovieId();
+
+        QuickMatchFeedback.Action getAction();
+    }
 }
@@ -3,6 +3,8 @@ package com.boot.repository;
 import com.boot.entity.Rating;
 import com.boot.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +15,20 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     List<Rating> findByUserId(Long userId);
     // 리뷰 삭제 시 평점도 함께 삭제하기 위한 메서드를 추가합니다.
     void deleteByUserAndMovieId(User user, String movieId);
+
+    // 사용자가 매긴 영화 ID와 평점만 조회 (엔티티 로딩 없이)
+    @Query("SELECT r.movieId AS movieId, r.rating AS rating FROM Rating r WHERE r.user.id = :userId")
+    List<RatingView> findRatingsByUserId(@Param("userId") Long userId);
+
+    boolean existsByUserIdAndMovieId(Long userId, String movieId);
+
+    // 사용자가 평점을 매긴 영화 ID만 조회
+    @Query("SELECT r.movieId FROM Rating r WHERE r.user.id = :userId")
+    List<String> findMovieIdsByUserId(@Param("userId") Long userId);
+
+    interface RatingView {
+        String getMovieId();
+
+        Double getRating();
+    }
 }
@@ -0,0 +1,102 @@
+package com.boot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리캡 스냅샷 JDBC 리포지토리 (RecapSnapshotService 전용)
+ * - 조회 요청/배치/활동 이벤트가 같은 행을 동시에 쓸 수 있어서 INSERT ... ON DUPLICATE KEY UPDATE 로 처리
+ * - 스냅샷 저장은 payload/generated_at 만, 활동 기록은 last_activity_at 만 갱신 (서로 덮어쓰지 않음)
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecapSnapshotBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // DB 기준 현재 시각 (서버 간 시계 차이로 활동 시각과 계산 시각이 뒤바뀌지 않도록 둘 다 DB 시각 사용)
+    public LocalDateTime now() {
+        return jdbcTemplate.queryForObject("SELECT NOW(6)", Timestamp.class).toLocalDateTime();
+    }
+
+    // 계산 결과 저장
+    public void upsertSnapshot(Long userId, int year, int version, String payload, LocalDateTime generatedAt) {
+        jdbcTemplate.update(
+                "INSERT INTO recap_snapshot (user_id, recap_year, version, payload, generated_at) " +
+                "VALUES (?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE version = VALUES(version), payload = VALUES(payload), " +
+                "generated_at = VALUES(generated_at)",
+                userId, year, version, payload, Timestamp.valueOf(generatedAt));
+    }
+
+    // 활동 기록, 여러 사용자를 한 번에 (스냅샷이 아직 없어도 행을 만들어 두어야 계산 중이던 결과가 바로 오래된 것으로 판정됨)
+    public void touchActivity(Collection<Long> userIds, int year) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "(?, ?, NOW(6))"));
+        List<Object> insertArgs = new ArrayList<>(userIds.size() * 2);
+        for (Long userId : userIds) {
+            insertArgs.add(userId);
+            insertArgs.add(year);
+        }
+        jdbcTemplate.update(
+                "INSERT INTO recap_snapshot (user_id, recap_year, last_activity_at) VALUES " + placeholders + " " +
+                "ON DUPLICATE KEY UPDATE last_activity_at = VALUES(last_activity_at)",
+                insertArgs.toArray());
+        // 지난 연도 리캡도 삭제/수정 영향을 받을 수 있음
+        List<Object> updateArgs = new ArrayList<>(userIds);
+        updateArgs.add(year);
+        jdbcTemplate.update(
+                "UPDATE recap_snapshot SET last_activity_at = NOW(6) WHERE user_id IN (" +
+                String.join(",", Collections.nCopies(userIds.size(), "?")) + ") AND recap_year <> ?",
+                updateArgs.toArray());
+    }
+
+    // 찜/Watchlist/평점/리뷰가 한 건이라도 있는 사용자
+    public List<ActiveUserRow> findActiveUsers() {
+        return jdbcTemplate.query(
+                "SELECT u.id, u.name FROM users u WHERE u.id IN (" +
+                "SELECT user_id FROM watchlist UNION SELECT user_id FROM reviews " +
+                "UNION SELECT user_id FROM rating UNION SELECT user_id FROM favorite) " +
+                "ORDER BY u.id",
+                (rs, rowNum) -> new ActiveUserRow(rs.getLong("id"), rs.getString("name")));
+    }
+
+    // 연도별 스냅샷 상태 (배치에서 최신 스냅샷을 건너뛰기 위해 한 번에 조회, payload 는 읽지 않음)
+    public Map<Long, SnapshotState> findStatesByYear(int year) {
+        Map<Long, SnapshotState> states = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT user_id, version, payload IS NOT NULL AS has_payload, generated_at, last_activity_at " +
+                "FROM recap_snapshot WHERE recap_year = ?",
+                rs -> {
+                    Timestamp generatedAt = rs.getTimestamp("generated_at");
+                    Timestamp lastActivityAt = rs.getTimestamp("last_activity_at");
+                    int version = rs.getInt("version");
+                    states.put(rs.getLong("user_id"), new SnapshotState(
+                            rs.wasNull() ? null : version,
+                            rs.getBoolean("has_payload"),
+                            generatedAt != null ? generatedAt.toLocalDateTime() : null,
+                            lastActivityAt != null ? lastActivityAt.toLocalDateTime() : null));
+                },
+                year);
+        return states;
+    }
+
+    public record ActiveUserRow(Long id, String name) {
+    }
+
+    public record SnapshotState(Integer version, boolean hasPayload, LocalDateTime generatedAt,
+                                LocalDateTime lastActivityAt) {
+    }
+}
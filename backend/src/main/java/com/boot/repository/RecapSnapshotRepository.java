@@ -0,0 +1,10 @@
+package com.boot.repository;
+
+import com.boot.entity.RecapSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface RecapSnapshotRepository extends JpaRepository<RecapSnapshot, Long> {
+    Optional<RecapSnapshot> findByUserIdAndRecapYear(Long userId, Integer recapYear);
+}
@@ -0,0 +1,119 @@
+package com.boot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 연간 리캡 집계 쿼리 (RecapService 전용)
+ * - 엔티티를 불러와 Java 에서 세던 건수/월별 활동/평균/최고 평점을 DB 에서 GROUP BY / 집계 함수로 계산
+ * - 기간 조건은 [from, to) 이고 (user_id, created_at) 인덱스를 탄다
+ * - 찜(favorite)은 생성 시각이 없어서 전체 기간 기준
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecapStatsRepository {
+
+    private static final String IN_RANGE = "user_id = ? AND created_at >= ? AND created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 건수/평균 한 번에 조회
+    public ActivityCounts countActivity(Long userId, LocalDateTime from, LocalDateTime to) {
+        Timestamp f = Timestamp.valueOf(from);
+        Timestamp t = Timestamp.valueOf(to);
+        return jdbcTemplate.queryForObject(
+                "SELECT " +
+                "(SELECT COUNT(*) FROM favorite WHERE user_id = ?) AS favorites, " +
+                "(SELECT COUNT(*) FROM watchlist WHERE " + IN_RANGE + ") AS watchlists, " +
+                "(SELECT COUNT(*) FROM reviews WHERE " + IN_RANGE + ") AS reviews, " +
+                "(SELECT COUNT(*) FROM rating WHERE " + IN_RANGE + ") AS ratings, " +
+                "(SELECT AVG(rating) FROM rating WHERE " + IN_RANGE + ") AS avg_rating",
+                (rs, rowNum) -> new ActivityCounts(
+                        rs.getInt("favorites"),
+                        rs.getInt("watchlists"),
+                        rs.getInt("reviews"),
+                        rs.getInt("ratings"),
+                        rs.getDouble("avg_rating")),
+                userId,
+                userId, f, t,
+                userId, f, t,
+                userId, f, t,
+                userId, f, t);
+    }
+
+    // 월(1~12)별 Watchlist 추가 + 리뷰 + 평점 건수
+    public TreeMap<Integer, Integer> countMonthly(Long userId, LocalDateTime from, LocalDateTime to) {
+        Timestamp f = Timestamp.valueOf(from);
+        Timestamp t = Timestamp.valueOf(to);
+        TreeMap<Integer, Integer> counts = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT m, SUM(c) AS c FROM (" +
+                "SELECT MONTH(created_at) AS m, COUNT(*) AS c FROM watchlist WHERE " + IN_RANGE + " GROUP BY MONTH(created_at) " +
+                "UNION ALL SELECT MONTH(created_at), COUNT(*) FROM reviews WHERE " + IN_RANGE + " GROUP BY MONTH(created_at) " +
+                "UNION ALL SELECT MONTH(created_at), COUNT(*) FROM rating WHERE " + IN_RANGE + " GROUP BY MONTH(created_at)" +
+                ") monthly GROUP BY m",
+                rs -> {
+                    counts.put(rs.getInt("m"), rs.getInt("c"));
+                },
+                userId, f, t,
+                userId, f, t,
+                userId, f, t);
+        return counts;
+    }
+
+    // 본 영화 = 시청 완료 Watchlist + 평점 + 리뷰 (중복 제거는 UNION 에서)
+    public Set<String> findWatchedMovieIds(Long userId, LocalDateTime from, LocalDateTime to) {
+        Timestamp f = Timestamp.valueOf(from);
+        Timestamp t = Timestamp.valueOf(to);
+        return new LinkedHashSet<>(jdbcTemplate.queryForList(
+                "SELECT movie_id FROM watchlist WHERE " + IN_RANGE + " AND watched = TRUE " +
+                "UNION SELECT movie_id FROM rating WHERE " + IN_RANGE + " " +
+                "UNION SELECT movie_id FROM reviews WHERE " + IN_RANGE,
+                String.class,
+                userId, f, t,
+                userId, f, t,
+                userId, f, t));
+    }
+
+    // 아직 보지 않은 Watchlist 영화
+    public Set<String> findUnwatchedWatchlistIds(Long userId, LocalDateTime from, LocalDateTime to) {
+        return new LinkedHashSet<>(jdbcTemplate.queryForList(
+                "SELECT movie_id FROM watchlist WHERE " + IN_RANGE + " AND watched = FALSE",
+                String.class,
+                userId, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+    }
+
+    // 가장 높게 준 평점 (같으면 먼저 매긴 것)
+    public RatedMovie findTopRated(Long userId, LocalDateTime from, LocalDateTime to) {
+        List<RatedMovie> rows = jdbcTemplate.query(
+                "SELECT movie_id, rating FROM rating WHERE " + IN_RANGE + " ORDER BY rating DESC, id LIMIT 1",
+                (rs, rowNum) -> new RatedMovie(rs.getString("movie_id"), rs.getDouble("rating")),
+                userId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // minRating 이상으로 매긴 평점 (숨은 보석 후보)
+    public List<RatedMovie> findRatedAtLeast(Long userId, LocalDateTime from, LocalDateTime to, double minRating) {
+        return jdbcTemplate.query(
+                "SELECT movie_id, rating FROM rating WHERE " + IN_RANGE + " AND rating >= ? ORDER BY id",
+                (rs, rowNum) -> new RatedMovie(rs.getString("movie_id"), rs.getDouble("rating")),
+                userId, Timestamp.valueOf(from), Timestamp.valueOf(to), minRating);
+    }
+
+    public record ActivityCounts(int favorites, int watchlists, int reviews, int ratings, double averageRating) {
+        public int total() {
+            return favorites + watchlists + reviews + ratings;
+        }
+    }
+
+    public record RatedMovie(String movieId, double rating) {
+    }
+}
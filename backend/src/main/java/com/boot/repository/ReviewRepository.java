@@ -2,20 +2,75 @@ package com.boot.repository;
 
 import com.boot.entity.Review;
 import com.boot.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    // 특정 영화의 모든 리뷰 조회
-    List<Review> findByMovieId(String movieId);
+    // 특정 영화의 모든 리뷰 조회 (작성자 fetch join, 리뷰마다 User 를 따로 읽지 않도록)
+    @Query("SELECT r FROM Review r JOIN FETCH r.user WHERE r.movieId = :movieId")
+    List<Review> findByMovieId(@Param("movieId") String movieId);
+
+    // 영화별 리뷰 목록 첫 페이지 (최신순, 작성자 이름만 join 해서 projection)
+    @Query("SELECT r.id AS id, u.name AS author, r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt " +
+           "FROM Review r JOIN r.user u " +
+           "WHERE r.movieId = :movieId " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewListView> findFirstPageViewsByMovieId(@Param("movieId") String movieId, Pageable pageable);
+
+    // 영화별 리뷰 목록 다음 페이지 (keyset: 마지막으로 본 (createdAt, id) 이후)
+    @Query("SELECT r.id AS id, u.name AS author, r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt " +
+           "FROM Review r JOIN r.user u " +
+           "WHERE r.movieId = :movieId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewListView> findPageViewsByMovieIdBefore(@Param("movieId") String movieId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
 
     // 특정 영화에 대한 특정 사용자의 리뷰 조회
     Optional<Review> findByMovieIdAndUser(String movieId, User user);
 
     // 특정 사용자가 작성한 모든 리뷰 조회
     List<Review> findByUser(User user);
+
+    // 특정 사용자가 작성한 리뷰 내용만 조회 (User 로딩 없이, 프로필 화면용)
+    @Query("SELECT r.id AS id, r.movieId AS movieId, r.rating AS rating, r.comment AS comment, " +
+           "r.createdAt AS createdAt, r.updatedAt AS updatedAt " +
+           "FROM Review r WHERE r.user.id = :userId")
+    List<ReviewView> findViewsByUserId(@Param("userId") Long userId);
+
+    interface ReviewListView {
+        Long getId();
+
+        String getAuthor();
+
+        Integer getRating();
+
+        String getComment();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    interface ReviewView {
+        Long getId();
+
+        String getMovieId();
+
+        Integer getRating();
+
+        String getComment();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,89 @@
+package com.boot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 검색 기록 JDBC 리포지토리
+ * - SearchHistoryFlusher: Redis 에 쌓인 사용자별 최근 검색어를 search_history 에 사용자 단위로 덮어씀
+ * - SearchHistoryService: Redis 장애 시 DB 에 직접 기록/삭제
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchHistoryBulkRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO search_history (user_id, query_string, created_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 아직 존재하는 사용자 id (탈퇴한 사용자의 기록은 저장하지 않음)
+    public Set<Long> findExistingUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id IN (" + placeholders + ")",
+                Long.class, userIds.toArray()));
+    }
+
+    // 사용자들의 검색 기록 전체 삭제
+    public int deleteByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(userIds.size(), "?"));
+        return jdbcTemplate.update(
+                "DELETE FROM search_history WHERE user_id IN (" + placeholders + ")",
+                userIds.toArray());
+    }
+
+    // 검색어 1건을 최신으로 기록하고 maxItems 개만 남김 (Redis 장애 시)
+    @Transactional
+    public void recordLatest(Long userId, String query, LocalDateTime createdAt, int maxItems) {
+        jdbcTemplate.update("DELETE FROM search_history WHERE user_id = ? AND query_string = ?", userId, query);
+        jdbcTemplate.update(INSERT_SQL, userId, query, Timestamp.valueOf(createdAt));
+        jdbcTemplate.update(
+                "DELETE FROM search_history WHERE user_id = ? AND id NOT IN (" +
+                "SELECT id FROM (SELECT id FROM search_history WHERE user_id = ? " +
+                "ORDER BY created_at DESC, id DESC LIMIT ?) latest)",
+                userId, userId, maxItems);
+    }
+
+    // 기록 시각에 해당하는 검색어 1건 조회 (같은 시각에 여러 건이면 마지막에 저장된 것)
+    public Optional<String> findQueryByUserIdAndCreatedAt(Long userId, LocalDateTime createdAt) {
+        return jdbcTemplate.queryForList(
+                "SELECT query_string FROM search_history WHERE user_id = ? AND created_at = ? " +
+                "ORDER BY id DESC LIMIT 1",
+                String.class, userId, Timestamp.valueOf(createdAt)).stream().findFirst();
+    }
+
+    // 검색어 기록 삭제 (Redis 장애 시)
+    public int deleteByUserIdAndQuery(Long userId, String query) {
+        return jdbcTemplate.update("DELETE FROM search_history WHERE user_id = ? AND query_string = ?", userId, query);
+    }
+
+    // batch INSERT
+    public void batchInsert(List<SearchHistoryRow> rows, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.userId());
+            ps.setString(2, row.query());
+            ps.setTimestamp(3, Timestamp.valueOf(row.createdAt()));
+        });
+    }
+
+    public record SearchHistoryRow(Long userId, String query, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.boot.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 시간표 대량 생성용 JDBC 리포지토리
+ * - JPA 엔티티를 거치지 않고 batch INSERT 로 한 번에 적재 (ShowtimeGenerationService 전용)
+ * - MySQL URL 에 rewriteBatchedStatements=true 가 있어야 multi-row INSERT 로 합쳐짐
+ */
+@Repository
+@RequiredArgsConstructor
+public class ShowtimeBulkRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO showtime (movie_id, screen_id, start_time, end_time, price, available_seats, region, city, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 전체 상영관 목록 (영화관 지역 정보 포함)
+    public List<ScreenRow> findAllScreens() {
+        return jdbcTemplate.query(
+                "SELECT s.id, s.theater_id, s.total_seats, t.region, t.city " +
+                "FROM screen s JOIN theater t ON s.theater_id = t.id " +
+                "ORDER BY s.theater_id, s.id",
+                (rs, rowNum) -> new ScreenRow(
+                        rs.getLong("id"),
+                        rs.getLong("theater_id"),
+                        rs.getInt("total_seats"),
+                        rs.getString("region"),
+                        rs.getString("city")));
+    }
+
+    // 기간 내 예매가 한 건도 없는 시간표 삭제 (예매가 걸린 시간표는 유지)
+    // 범위 조건으로 바로 DELETE 하면 다른 영화관 작업과 갭 락이 겹칠 수 있어서, id 조회 후 PK 로 삭제
+    public int deleteUnbookedByTheaterAndRange(Long theaterId, LocalDateTime from, LocalDateTime to, int batchSize) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT s.id FROM showtime s JOIN screen sc ON s.screen_id = sc.id " +
+                "WHERE sc.theater_id = ? AND s.start_time >= ? AND s.start_time < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM booking b WHERE b.showtime_id = s.id)",
+                Long.class, theaterId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        int deleted = 0;
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            List<Long> chunk = ids.subList(i, Math.min(i + batchSize, ids.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            // 그 사이 예매가 들어온 시간표는 다시 한 번 제외
+            deleted += jdbcTemplate.update(
+                    "DELETE FROM showtime WHERE id IN (" + placeholders + ") " +
+                    "AND NOT EXISTS (SELECT 1 FROM booking b WHERE b.showtime_id = showtime.id)",
+                    chunk.toArray());
+        }
+        return deleted;
+    }
+
+    // 기간 내 남아 있는 시간표의 (상영관, 시작 시각) 목록 → 중복 생성 방지
+    public Set<SlotKey> findSlotKeysByTheaterAndRange(Long theaterId, LocalDateTime from, LocalDateTime to) {
+        Set<SlotKey> keys = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT s.screen_id, s.start_time FROM showtime s JOIN screen sc ON s.screen_id = sc.id " +
+                "WHERE sc.theater_id = ? AND s.start_time >= ? AND s.start_time < ?",
+                rs -> {
+                    keys.add(new SlotKey(rs.getLong("screen_id"), rs.getTimestamp("start_time").toLocalDateTime()));
+                },
+                theaterId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return keys;
+    }
+
+    // batch INSERT (batchSize 단위로 나눠서 전송)
+    public int batchInsert(List<ShowtimeRow> rows, int batchSize) {
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setString(1, row.movieId());
+            ps.setLong(2, row.screenId());
+            ps.setTimestamp(3, Timestamp.valueOf(row.startTime()));
+            ps.setTimestamp(4, Timestamp.valueOf(row.endTime()));
+            ps.setInt(5, row.price());
+            ps.setInt(6, row.availableSeats());
+            ps.setString(7, row.region());
+            ps.setString(8, row.city());
+        });
+        int inserted = 0;
+        for (int[] chunk : results) {
+            for (int count : chunk) {
+                // rewriteBatchedStatements 사용 시 건별 결과 대신 SUCCESS_NO_INFO(-2) 가 올 수 있음
+                inserted += count >= 0 ? count : 1;
+            }
+        }
+        return inserted;
+    }
+
+    public record ScreenRow(Long id, Long theaterId, Integer totalSeats, String region, String city) {
+    }
+
+    public record SlotKey(Long screenId, LocalDateTime startTime) {
+    }
+
+    public record ShowtimeRow(String movieId, Long screenId, LocalDateTime startTime, LocalDateTime endTime,
+                              Integer price, Integer availableSeats, String region, String city) {
+    }
+}
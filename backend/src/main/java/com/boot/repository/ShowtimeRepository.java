@@ -1,12 +1,17 @@
 package com.boot.repository;
 
 import com.boot.entity.Showtime;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
     // 영화별 시간표 조회
@@ -68,4 +73,22 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
            "ORDER BY s.movieId, s.startTime")
     List<Showtime> findByRegionAndStartTimeAfter(@Param("region") String region,
                                                   @Param("now") LocalDateTime now);
+
+    // 시간표 행 잠금 조회 (좌석 카운터 사용 불가 시 DB 방식 차감용)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Showtime s WHERE s.id = :showtimeId")
+    Optional<Showtime> findByIdForUpdate(@Param("showtimeId") Long showtimeId);
+
+    // 시간표의 상영관 총 좌석 수 (좌석 재고 검증용)
+    @Query("SELECT s.screen.totalSeats FROM Showtime s WHERE s.id = :showtimeId")
+    Integer findTotalSeatsByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    // 잔여 좌석 수 직접 갱신 (핫 카운터 write-behind 반영용, 엔티티 로딩 없이 UPDATE 한 번)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Showtime s SET s.availableSeats = :availableSeats, s.updatedAt = :now " +
+           "WHERE s.id = :showtimeId")
+    int updateAvailableSeats(@Param("showtimeId") Long showtimeId,
+                             @Param("availableSeats") Integer availableSeats,
+                             @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,54 @@
+package com.boot.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+/**
+ * 협업 필터링 학습용 상호작용 전체 조회 (ItemSimilarityService 전용)
+ * - 테이블 전체를 읽으므로 결과를 한 번에 메모리에 올리지 않고 한 행씩 스트리밍
+ * - 행마다 객체를 만들지 않도록 콜백으로 값만 전달
+ */
+@Repository
+public class UserInteractionBulkRepository {
+
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    public UserInteractionBulkRepository(DataSource dataSource) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL 드라이버는 fetchSize 가 Integer.MIN_VALUE 일 때만 행 단위 스트리밍
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    // value = 평점 (0.5 ~ 5.0)
+    public void forEachRating(InteractionHandler handler) {
+        stream("SELECT user_id, movie_id, rating FROM rating", handler);
+    }
+
+    // value = 1
+    public void forEachFavorite(InteractionHandler handler) {
+        stream("SELECT user_id, movie_id, 1 FROM favorite", handler);
+    }
+
+    // value = 시청 완료면 1, 아니면 0
+    public void forEachWatchlist(InteractionHandler handler) {
+        stream("SELECT user_id, movie_id, CASE WHEN watched THEN 1 ELSE 0 END FROM watchlist", handler);
+    }
+
+    // 퀵매치 LIKE 만 (value = 1)
+    public void forEachQuickMatchLike(InteractionHandler handler) {
+        stream("SELECT user_id, movie_id, 1 FROM quick_match_feedback WHERE action = 'LIKE'", handler);
+    }
+
+    private void stream(String sql, InteractionHandler handler) {
+        streamingJdbcTemplate.query(sql, rs -> {
+            handler.accept(rs.getLong(1), rs.getString(2), rs.getFloat(3));
+        });
+    }
+
+    @FunctionalInterface
+    public interface InteractionHandler {
+        void accept(long userId, String movieId, float value);
+    }
+}
@@ -3,6 +3,8 @@ package com.boot.repository;
 import com.boot.entity.User;
 import com.boot.entity.Watchlist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,21 @@ public interface WatchlistRepository extends JpaRepository<Watchlist, Long> {
 
     // 특정 사용자의 Watchlist에서 특정 영화 ID에 해당하는 항목 삭제
     void deleteByUserAndMovieId(User user, String movieId);
+
+    // 특정 사용자의 Watchlist 영화 ID와 시청 여부만 조회 (엔티티 로딩 없이)
+    @Query("SELECT w.movieId AS movieId, w.watched AS watched FROM Watchlist w WHERE w.user.id = :userId")
+    List<WatchlistStateView> findStatesByUserId(@Param("userId") Long userId);
+
+    // 시청 완료한 영화인지 (본 영화 비트맵 갱신용)
+    boolean existsByUserIdAndMovieIdAndWatchedTrue(Long userId, String movieId);
+
+    // 특정 사용자가 시청 완료한 영화 ID만 조회
+    @Query("SELECT w.movieId FROM Watchlist w WHERE w.user.id = :userId AND w.watched = true")
+    List<String> findWatchedMovieIdsByUserId(@Param("userId") Long userId);
+
+    interface WatchlistStateView {
+        String getMovieId();
+
+        Boolean getWatched();
+    }
 }
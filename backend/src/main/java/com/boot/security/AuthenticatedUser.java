@@ -0,0 +1,83 @@
+package com.boot.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 요청 단위 인증 사용자 정보
+ * - 권한(role)은 JWT, id/이름/생년월일은 CurrentUserService 의 짧은 TTL 캐시에서 채움
+ * - 서비스에서 "현재 사용자" 확인에 DB 조회가 필요 없도록 SecurityContext 에 한 번만 만들어 둠
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    public static final int ADULT_AGE = 19;
+
+    private final Long userId;
+    private final String email;
+    private final String name;
+    private final LocalDate birthDate;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long userId, String email, String name, LocalDate birthDate,
+                             Collection<? extends GrantedAuthority> authorities) {
+        this.userId = userId;
+        this.email = email;
+        this.name = name;
+        this.birthDate = birthDate;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    // User.getAge() 와 동일한 계산 (생년월일 없으면 0)
+    public int getAge() {
+        if (this.birthDate == null) {
+            return 0;
+        }
+        return Period.between(this.birthDate, LocalDate.now()).getYears();
+    }
+
+    public boolean isAdult() {
+        return getAge() >= ADULT_AGE;
+    }
+
+    public boolean hasRole(String role) {
+        String authority = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+        return authorities.stream().anyMatch(a -> authority.equals(a.getAuthority()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return "";
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+package com.boot.service;
+
+import com.boot.dto.BestSeatsResponseDto;
+import com.boot.entity.Showtime;
+import com.boot.repository.BookingRepository;
+import com.boot.repository.ShowtimeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * N명 기준 최적 연속 좌석 추천
+ * - 현재 예매 현황을 SeatMap 비트맵으로 만든 뒤, 행마다 연속 빈 좌석 시작 위치를 비트 연산으로 구함
+ * - 점수 = 화면 중앙과의 거리 + 선호 행(뒤쪽 2/3 지점)과의 거리, 낮을수록 좋은 자리
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BestSeatService {
+
+    // 선호 행 (K행, 스크린에서 약 2/3 뒤)
+    private static final int PREFERRED_ROW = 10;
+    // 가로 중앙 (15석 기준 8번 좌석), 좌석 반 칸 단위 계산을 위해 2배 값 사용
+    private static final int CENTER_TWICE = SeatMap.SEATS_PER_ROW - 1;
+    private static final int COLUMN_WEIGHT = 2;
+    private static final int ROW_WEIGHT = 3;
+
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final ShowtimeSeatCounter seatCounter;
+
+    /**
+     * 최적 연속 좌석 조회
+     *
+     * @throws IllegalArgumentException 존재하지 않는 시간표
+     * @throws IllegalStateException    잔여 좌석 부족 또는 연속 좌석 없음
+     */
+    public BestSeatsResponseDto findBestSeats(Long showtimeId, int count) {
+        Showtime showtime = showtimeRepository.findById(showtimeId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 시간표입니다."));
+
+        // createBooking 과 같은 기준의 잔여 좌석 (카운터 관리 중이면 카운터 값)
+        Integer counterSeats = seatCounter.currentSeats(showtimeId);
+        int availableSeats = counterSeats != null ? counterSeats : showtime.getAvailableSeats();
+        if (availableSeats < count) {
+            throw new IllegalStateException("잔여 좌석이 부족합니다.");
+        }
+
+        SeatMap seatMap = SeatMap.fromBookedSeats(bookingRepository.findBookedSeatsByShowtimeId(showtimeId));
+
+        int bestRow = -1;
+        int bestCol = -1;
+        int bestScore = Integer.MAX_VALUE;
+        for (int row = 0; row < SeatMap.ROWS; row++) {
+            int rowPenalty = Math.abs(row - PREFERRED_ROW) * ROW_WEIGHT;
+            if (rowPenalty >= bestScore) {
+                continue;
+            }
+            int starts = seatMap.freeRunStarts(row, count);
+            while (starts != 0) {
+                int col = Integer.numberOfTrailingZeros(starts);
+                starts &= starts - 1;
+
+                int score = rowPenalty + Math.abs(2 * col + count - 1 - CENTER_TWICE) * COLUMN_WEIGHT;
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestRow = row;
+                    bestCol = col;
+                }
+            }
+        }
+
+        if (bestRow < 0) {
+            throw new IllegalStateException("연속으로 비어 있는 좌석이 없습니다.");
+        }
+
+        return BestSeatsResponseDto.builder()
+                .showtimeId(showtimeId)
+                .seatCount(count)
+                .seats(SeatMap.seatCodes(bestRow, bestCol, count))
+                .row(String.valueOf((char) ('A' + bestRow)))
+                .score(bestScore)
+                .availableSeats(availableSeats)
+                .build();
+    }
+}
@@ -2,39 +2,60 @@ package com.boot.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
 import com.boot.dto.BookingMovieDto;
+import com.boot.dto.BookingPageResponseDto;
 import com.boot.dto.BookingRequestDto;
 import com.boot.dto.BookingResponseDto;
+import com.boot.dto.KeysetCursor;
 import com.boot.elastic.Movie;
 import com.boot.entity.Booking;
 import com.boot.entity.Showtime;
 import com.boot.entity.User;
+import com.boot.event.MovieEngagementEvent;
 import com.boot.repository.BookingRepository;
 import com.boot.repository.ShowtimeRepository;
 import com.boot.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingService {
 
+    private static final int MAX_BOOKING_PAGE_SIZE = 50;
+
     private final BookingRepository bookingRepository;
     private final ShowtimeRepository showtimeRepository;
     private final UserRepository userRepository;
     private final ElasticsearchClient elasticsearchClient;
     private final com.boot.repository.PaymentRepository paymentRepository;
     private final com.boot.service.PaymentService paymentService;
+    private final PaymentOutboxService paymentOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShowtimeTimetableCache timetableCache;
+    private final ShowtimeSeatCounter seatCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 예매 페이지용 영화 목록 조회 (지역별 실제 상영 중인 영화)
@@ -144,9 +165,9 @@ public class BookingService {
         Showtime showtime = showtimeRepository.findById(request.getShowtimeId())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 시간표입니다."));
 
-        // 좌석 수 체크
+        // 좌석 수 체크 (핫 카운터 모드에서는 아래 카운터 차감 시 검사)
         int seatCount = request.getSeats().size();
-        if (showtime.getAvailableSeats() < seatCount) {
+        if (!seatCounter.isEnabled() && showtime.getAvailableSeats() < seatCount) {
             throw new IllegalStateException("잔여 좌석이 부족합니다.");
         }
 
@@ -176,12 +197,24 @@ public class BookingService {
                 .bookingStatus("CONFIRMED")
                 .build();
 
-        // 좌석 차감
-        showtime.decreaseAvailableSeats(seatCount);
+        // 좌석 차감 (핫 카운터 모드: showtime 행을 잠그지 않고 Redis 카운터에서 차감, MySQL은 비동기 반영)
+        if (seatCounter.isEnabled()) {
+            ShowtimeSeatCounter.Reservation reservation = seatCounter.reserve(showtime, seatCount);
+            if (reservation == ShowtimeSeatCounter.Reservation.SOLD_OUT) {
+                throw new IllegalStateException("잔여 좌석이 부족합니다.");
+            }
+            if (reservation == ShowtimeSeatCounter.Reservation.UNAVAILABLE) {
+                decreaseSeatsWithoutCounter(showtime, seatCount);
+            }
+        } else {
+            showtime.decreaseAvailableSeats(seatCount);
+            showtimeRepository.save(showtime);
+        }
 
         // 저장
         Booking savedBooking = bookingRepository.save(booking);
-        showtimeRepository.save(showtime);
+        patchTimetableAfterCommit(showtime, -seatCount);
+        eventPublisher.publishEvent(new MovieEngagementEvent(showtime.getMovieId(), MovieEngagementEvent.Type.BOOKING));
 
         // DTO 변환 및 영화 정보 추가
         BookingResponseDto dto = BookingResponseDto.fromEntity(savedBooking);
@@ -195,13 +228,50 @@ public class BookingService {
     public List<BookingResponseDto> getUserBookings(Long userId) {
         List<Booking> bookings = bookingRepository.findByUserIdOrderByCreatedAtDesc(userId);
 
-        return bookings.stream()
-                .map(booking -> {
-                    BookingResponseDto dto = BookingResponseDto.fromEntity(booking);
-                    enrichWithMovieData(dto);
-                    return dto;
-                })
+        List<BookingResponseDto> dtos = bookings.stream()
+                .map(BookingResponseDto::fromEntity)
                 .collect(Collectors.toList());
+        enrichWithMovieData(dtos);
+        return dtos;
+    }
+
+    /**
+     * 사용자별 예매 내역 페이지 조회 (keyset: createdAt DESC, id DESC)
+     * - 내역이 아무리 많아도 페이지 크기만큼만 DB/ES 조회
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     */
+    public BookingPageResponseDto getUserBookingPage(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_BOOKING_PAGE_SIZE));
+        // 한 건 더 조회해서 다음 페이지 존재 여부 판단
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Booking> bookings;
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.parse(cursor);
+            bookings = bookingRepository.findPageByUserIdBefore(userId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = bookings.size() > pageSize;
+        List<Booking> page = hasNext ? bookings.subList(0, pageSize) : bookings;
+
+        List<BookingResponseDto> dtos = page.stream()
+                .map(BookingResponseDto::fromEntity)
+                .collect(Collectors.toList());
+        enrichWithMovieData(dtos);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Booking last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return BookingPageResponseDto.builder()
+                .bookings(dtos)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     /**
@@ -218,9 +288,23 @@ public class BookingService {
 
     /**
      * 예매 취소
+     * - 예매 취소 + 결제 취소 요청 기록은 한 트랜잭션, 토스 결제 취소는 커밋 이후 트랜잭션 밖에서 호출
+     * - 토스 호출이 실패/타임아웃이면 PaymentReconciler 가 이어서 환불 처리
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cancelBooking(Long bookingId) {
+        Long refundRequestId = transactionTemplate.execute(status -> cancelBookingAndRequestRefund(bookingId));
+        if (refundRequestId != null) {
+            try {
+                paymentService.process(refundRequestId);
+            } catch (Exception e) {
+                // 예매 취소는 이미 커밋됨 → 환불은 재처리 워커가 마무리
+                log.warn("결제 취소 즉시 처리 실패, 재처리 대기. bookingId={}, error={}", bookingId, e.getMessage());
+            }
+        }
+    }
+
+    private Long cancelBookingAndRequestRefund(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 예매입니다."));
 
@@ -228,30 +312,34 @@ public class BookingService {
             throw new IllegalStateException("취소할 수 없는 예매입니다.");
         }
 
-        // 1. 결제 정보 조회 (예매에 연결된 결제)
+        // 1. 결제 취소 요청 기록 (예매에 연결된 결제, 실제 토스 호출은 커밋 이후)
+        Long refundRequestId = null;
         var payments = paymentRepository.findByBookingId(bookingId);
         if (payments != null && !payments.isEmpty()) {
             var payment = payments.get(0); // 하나의 예매에 결제 1건 가정
-            if (payment.getStatus() != com.boot.entity.Payment.PaymentStatus.CANCELED) {
-                // 결제 취소 요청
-                com.boot.dto.PaymentCancelRequest cancelRequest = new com.boot.dto.PaymentCancelRequest(
-                        payment.getPaymentKey(), "예매 취소로 인한 결제 취소");
-                var result = paymentService.cancelPayment(cancelRequest);
-                if (!(Boolean.TRUE.equals(result.get("success")))) {
-                    throw new RuntimeException("결제 취소에 실패했습니다.");
-                }
+            if (payment.getStatus() == com.boot.entity.Payment.PaymentStatus.DONE
+                    || payment.getStatus() == com.boot.entity.Payment.PaymentStatus.IN_PROGRESS) {
+                refundRequestId = paymentOutboxService.recordCancel(payment.getPaymentKey(), "예매 취소로 인한 결제 취소");
             }
         }
 
         // 2. 예매 취소
         booking.cancel();
 
-        // 3. 좌석 복구
+        // 3. 좌석 복구 (카운터가 관리 중인 시간표는 커밋 이후 카운터에 복구)
         Showtime showtime = booking.getShowtime();
-        showtime.increaseAvailableSeats(booking.getSeatCount());
+        int seatCount = booking.getSeatCount();
+        if (seatCounter.isTracking(showtime.getId())) {
+            Long showtimeId = showtime.getId();
+            runAfterCommit(() -> seatCounter.release(showtimeId, seatCount));
+        } else {
+            showtime.increaseAvailableSeats(seatCount);
+            showtimeRepository.save(showtime);
+        }
 
         bookingRepository.save(booking);
-        showtimeRepository.save(showtime);
+        patchTimetableAfterCommit(showtime, seatCount);
+        return refundRequestId;
     }
 
     /**
@@ -266,6 +354,87 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 커밋 이후 시간표 캐시의 잔여 좌석만 패치 (롤백된 예매/취소는 반영되지 않음)
+     */
+    /**
+     * 카운터 사용 불가 시 DB 방식 차감
+     * - available_seats는 write-behind로 뒤처져 있을 수 있으므로 행을 잠근 뒤 좌석 재고 기준으로 맞추고 차감
+     * - 카운터는 이 차감을 모르므로 커밋 후 삭제해서 다음 예매 때 재고 기준으로 다시 생성되게 함
+     */
+    private void decreaseSeatsWithoutCounter(Showtime showtime, int seatCount) {
+        Long showtimeId = showtime.getId();
+        showtimeRepository.findByIdForUpdate(showtimeId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 시간표입니다."));
+        showtime.syncAvailableSeats((int) seatCounter.inventorySeats(showtime));
+        showtime.decreaseAvailableSeats(seatCount);
+        showtimeRepository.save(showtime);
+        runAfterCommit(() -> seatCounter.invalidate(showtimeId));
+    }
+
+    private void patchTimetableAfterCommit(Showtime showtime, int delta) {
+        Long theaterId = showtime.getScreen().getTheater().getId();
+        LocalDate date = showtime.getStartTime().toLocalDate();
+        Long showtimeId = showtime.getId();
+        runAfterCommit(() -> timetableCache.adjustAvailableSeats(theaterId, date, showtimeId, delta));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 여러 예매의 영화 정보를 Elasticsearch 한 번(mget)으로 조회해서 채움
+     */
+    private void enrichWithMovieData(List<BookingResponseDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        List<String> elasticIds = dtos.stream()
+                .map(dto -> dto.getMovieId().replace("tmdb_", ""))
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<String, Movie> movieMap = new HashMap<>();
+        boolean fetchFailed = false;
+        try {
+            MgetResponse<Movie> response = elasticsearchClient.mget(
+                    m -> m.index("movies").ids(elasticIds),
+                    Movie.class
+            );
+            response.docs().forEach(doc -> {
+                if (doc.isResult() && doc.result().found() && doc.result().source() != null) {
+                    movieMap.put("tmdb_" + doc.result().id(), doc.result().source());
+                }
+            });
+        } catch (Exception e) {
+            log.warn("예매 영화 정보 일괄 조회 실패. movieIds={}", elasticIds, e);
+            fetchFailed = true;
+        }
+
+        for (BookingResponseDto dto : dtos) {
+            Movie movie = movieMap.get(dto.getMovieId());
+            if (movie != null) {
+                dto.setMovieTitle(movie.getTitle());
+                dto.setPosterPath(movie.getPosterPath());
+                dto.setRuntime(movie.getRuntime() != null ? movie.getRuntime() : 120);
+            } else if (fetchFailed) {
+                // Elasticsearch 조회 실패 시 기본값 유지
+                dto.setMovieTitle("Unknown");
+                dto.setRuntime(120);
+            }
+        }
+    }
+
     /**
      * Elasticsearch에서 영화 정보 조회 후 DTO에 추가
      */
@@ -0,0 +1,137 @@
+package com.boot.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Count-Min Sketch + 상위 k개 후보 (메모리 고정, 스트리밍 빈도 추정)
+ * - 빈도는 depth x width 카운터로 추정 (실제보다 작게 나오지 않음)
+ * - 추정값이 큰 k개만 후보로 유지, 꽉 차면 가장 작은 후보와 교체
+ * - 해시 함수가 고정이므로 같은 크기의 스케치끼리 칸 단위로 더해서 합칠 수 있음 (서버 간 병합)
+ * 스레드 안전하지 않음 (호출 측에서 동기화)
+ */
+public final class CountMinTopK {
+
+    private final int depth;
+    private final int width;
+    private final long[][] counts;
+    private final int capacity;
+    private final Map<String, Long> candidates;
+    private long candidateFloor;
+
+    public CountMinTopK(int depth, int width, int capacity) {
+        this.depth = depth;
+        this.width = width;
+        this.counts = new long[depth][width];
+        this.capacity = capacity;
+        this.candidates = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String item, long count) {
+        int h1 = item.hashCode();
+        int h2 = mix(h1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int col = index(h1, h2, row);
+            counts[row][col] += count;
+            estimate = Math.min(estimate, counts[row][col]);
+        }
+        offer(item, estimate);
+    }
+
+    public long estimate(String item) {
+        int h1 = item.hashCode();
+        int h2 = mix(h1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row][index(h1, h2, row)]);
+        }
+        return estimate;
+    }
+
+    // 칸 단위로 더한 값 반영 (Redis 에서 읽은 병합 결과 등)
+    public void addCell(int row, int col, long count) {
+        counts[row][col] += count;
+    }
+
+    // 후보 추가 (추정값은 현재 스케치 기준으로 다시 계산)
+    public void offerCandidate(String item) {
+        offer(item, estimate(item));
+    }
+
+    // 다른 스케치 합치기 (같은 depth/width)
+    public void merge(CountMinTopK other) {
+        other.forEachNonZeroCell(this::addCell);
+        for (String item : other.candidates.keySet()) {
+            offerCandidate(item);
+        }
+    }
+
+    public void forEachNonZeroCell(CellConsumer consumer) {
+        for (int row = 0; row < depth; row++) {
+            for (int col = 0; col < width; col++) {
+                if (counts[row][col] != 0) {
+                    consumer.accept(row, col, counts[row][col]);
+                }
+            }
+        }
+    }
+
+    // 추정 빈도 내림차순 후보
+    public List<Map.Entry<String, Long>> topCandidates() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(candidates.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries;
+    }
+
+    public boolean isEmpty() {
+        return candidates.isEmpty();
+    }
+
+    private void offer(String item, long estimate) {
+        if (candidates.containsKey(item) || candidates.size() < capacity) {
+            candidates.put(item, estimate);
+            return;
+        }
+        // 후보가 꽉 찼으면 가장 작은 후보보다 클 때만 교체 (capacity 가 작아서 선형 탐색)
+        // 후보 값은 줄어들지 않으므로 마지막으로 구한 최솟값 이하면 탐색 없이 무시
+        if (estimate <= candidateFloor) {
+            return;
+        }
+        String minItem = null;
+        long minCount = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            if (entry.getValue() < minCount) {
+                minCount = entry.getValue();
+                minItem = entry.getKey();
+            }
+        }
+        candidateFloor = minCount;
+        if (estimate > minCount) {
+            candidates.remove(minItem);
+            candidates.put(item, estimate);
+        }
+    }
+
+    private int index(int h1, int h2, int row) {
+        return Math.floorMod(h1 + row * h2, width);
+    }
+
+    // 두 번째 해시 (murmur3 finalizer), 홀수로 만들어 행마다 다른 칸이 나오도록 함
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+
+    @FunctionalInterface
+    public interface CellConsumer {
+        void accept(int row, int col, long count);
+    }
+}
@@ -0,0 +1,154 @@
+package com.boot.service;
+
+import com.boot.entity.User;
+import com.boot.repository.UserRepository;
+import com.boot.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 로그인 사용자 조회
+ * - 요청마다 findByEmail 하지 않도록 이메일 → 사용자 요약 정보를 짧은 TTL 로 캐시
+ * - 요청 안에서 처음 조회할 때 AuthenticatedUser 를 만들어 SecurityContext 에 넣어 두고 이후엔 그대로 사용
+ */
+@Service
+@RequiredArgsConstructor
+public class CurrentUserService {
+
+    private static final Duration SNAPSHOT_TTL = Duration.ofMinutes(5);
+    private static final int MAX_SNAPSHOTS = 10_000;
+
+    private final UserRepository userRepository;
+
+    private final Map<String, UserSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 현재 사용자 (비로그인이거나 가입 정보가 없으면 empty)
+     */
+    public Optional<AuthenticatedUser> find() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+
+        UserSnapshot snapshot = snapshot(authentication.getName());
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        AuthenticatedUser user = new AuthenticatedUser(snapshot.id(), snapshot.email(), snapshot.name(),
+                snapshot.birthDate(), authentication.getAuthorities());
+
+        // 같은 요청의 다음 조회부터는 바로 사용
+        UsernamePasswordAuthenticationToken enriched = new UsernamePasswordAuthenticationToken(
+                user, authentication.getCredentials(), authentication.getAuthorities());
+        enriched.setDetails(authentication.getDetails());
+        SecurityContextHolder.getContext().setAuthentication(enriched);
+        return Optional.of(user);
+    }
+
+    /**
+     * 현재 사용자 (로그인 필수)
+     *
+     * @throws IllegalStateException  비로그인
+     * @throws NoSuchElementException 토큰은 유효하지만 사용자가 없음 (탈퇴 등)
+     */
+    public AuthenticatedUser require() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            throw new IllegalStateException("로그인된 사용자 정보를 찾을 수 없습니다.");
+        }
+        return find().orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + authentication.getName()));
+    }
+
+    /**
+     * 현재 사용자 엔티티 참조 (조회 쿼리 없이 id 만 가진 프록시, 연관관계 저장/조회 조건용)
+     */
+    public User requireUser() {
+        return userRepository.getReferenceById(require().getUserId());
+    }
+
+    /**
+     * 이메일로 사용자 엔티티 참조 (컨트롤러에서 이메일을 넘겨받는 기존 메서드용, 캐시 적중 시 조회 쿼리 없음)
+     */
+    public Optional<User> findUserReference(String email) {
+        UserSnapshot snapshot = snapshot(email);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        return Optional.of(userRepository.getReferenceById(snapshot.id()));
+    }
+
+    public Long requireUserId() {
+        return require().getUserId();
+    }
+
+    // 성인 여부 (비로그인은 false)
+    public boolean isAdult() {
+        return find().map(AuthenticatedUser::isAdult).orElse(false);
+    }
+
+    /**
+     * 회원 정보 변경/탈퇴 시 캐시 제거
+     */
+    public void evict(String email) {
+        if (email != null) {
+            snapshots.remove(email);
+        }
+    }
+
+    // 만료된 사용자 요약 정리 (1분마다)
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        snapshots.values().removeIf(UserSnapshot::isExpired);
+    }
+
+    private UserSnapshot snapshot(String email) {
+        UserSnapshot cached = snapshots.get(email);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        UserSnapshot loaded = userRepository.findByEmail(email)
+                .map(UserSnapshot::of)
+                .orElse(null);
+        if (loaded == null) {
+            snapshots.remove(email);
+            return null;
+        }
+        if (snapshots.size() >= MAX_SNAPSHOTS) {
+            evictExpired();
+            if (snapshots.size() >= MAX_SNAPSHOTS) {
+                snapshots.clear();
+            }
+        }
+        snapshots.put(email, loaded);
+        return loaded;
+    }
+
+    private record UserSnapshot(Long id, String email, String name, LocalDate birthDate, Instant loadedAt) {
+        static UserSnapshot of(User user) {
+            return new UserSnapshot(user.getId(), user.getEmail(), user.getName(), user.getBirthDate(), Instant.now());
+        }
+
+        boolean isExpired() {
+            return loadedAt.plus(SNAPSHOT_TTL).isBefore(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.boot.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * 지수 감쇠 점수표 (키별 점수가 반감기마다 절반으로 줄어듦, 락 없이 동시 갱신)
+ * - 기준 시각(landmark) 이후의 가중치를 exp(λ(t - landmark)) 배로 키워서 더함 (forward decay)
+ *   → 이벤트가 들어올 때 기존 점수를 줄일 필요가 없고, 읽을 때 exp(-λ(now - landmark)) 를 한 번만 곱함
+ * - 키별 누적은 DoubleAdder (스레드별로 셀을 나눠 더하는 striped 카운터) 라 인기 영화에 쓰기가 몰려도 경합이 적음
+ * - 배율이 너무 커지기 전에 rebase 로 기준 시각을 옮기면서 점수가 작은 키는 버림 (메모리 상한)
+ */
+public final class DecayingScoreTable {
+
+    private final double decayPerMilli;
+
+    private volatile Generation generation;
+
+    public DecayingScoreTable(long halfLifeMillis, long nowMillis) {
+        if (halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("반감기는 0 보다 커야 합니다.");
+        }
+        this.decayPerMilli = Math.log(2) / halfLifeMillis;
+        this.generation = new Generation(nowMillis);
+    }
+
+    /**
+     * atMillis 시점에 weight 만큼 더함 (과거 시점도 가능, 그만큼 감쇠된 값으로 반영)
+     */
+    public void add(String key, double weight, long atMillis) {
+        Generation current = generation;
+        double scaled = weight * Math.exp((atMillis - current.landmark) * decayPerMilli);
+        DoubleAdder adder = current.scores.get(key);
+        if (adder == null) {
+            adder = current.scores.computeIfAbsent(key, k -> new DoubleAdder());
+        }
+        adder.add(scaled);
+    }
+
+    /**
+     * nowMillis 기준 점수가 높은 순으로 최대 limit 개
+     */
+    public List<Entry> top(int limit, long nowMillis) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Generation current = generation;
+        double factor = Math.exp(-(nowMillis - current.landmark) * decayPerMilli);
+        PriorityQueue<Entry> heap = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Entry::score));
+        for (Map.Entry<String, DoubleAdder> e : current.scores.entrySet()) {
+            double score = e.getValue().sum() * factor;
+            if (heap.size() < limit) {
+                heap.add(new Entry(e.getKey(), score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Entry(e.getKey(), score));
+            }
+        }
+        List<Entry> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(Entry::score).reversed().thenComparing(Entry::key));
+        return result;
+    }
+
+    /**
+     * 기준 시각을 nowMillis 로 옮기고 점수가 minScore 미만인 키는 버림
+     * 옮기는 도중 이전 세대에 더해진 값은 일부 빠질 수 있음 (감쇠 점수라 영향이 작음)
+     *
+     * @return 남은 키 수
+     */
+    public int rebase(long nowMillis, double minScore) {
+        Generation previous = generation;
+        Generation next = new Generation(nowMillis);
+        generation = next;
+        double factor = Math.exp(-(nowMillis - previous.landmark) * decayPerMilli);
+        previous.scores.forEach((key, adder) -> {
+            double score = adder.sum() * factor;
+            if (score >= minScore) {
+                next.scores.computeIfAbsent(key, k -> new DoubleAdder()).add(score);
+            }
+        });
+        return next.scores.size();
+    }
+
+    /**
+     * 기준 시각 이후 지수 λ(now - landmark) 가 maxExponent 를 넘었는지 (exp 값이 너무 커지기 전에 rebase 필요)
+     */
+    public boolean needsRebase(long nowMillis, double maxExponent) {
+        return (nowMillis - generation.landmark) * decayPerMilli > maxExponent;
+    }
+
+    public int size() {
+        return generation.scores.size();
+    }
+
+    public record Entry(String key, double score) {
+    }
+
+    private static final class Generation {
+        private final long landmark;
+        private final ConcurrentHashMap<String, DoubleAdder> scores = new ConcurrentHashMap<>();
+
+        Generation(long landmark) {
+            this.landmark = landmark;
+        }
+    }
+}
@@ -5,9 +5,10 @@ import com.boot.elastic.Movie;
 import com.boot.entity.Favorite;
 import com.boot.entity.User;
 import com.boot.repository.FavoriteRepository;
+import com.boot.event.MovieEngagementEvent;
+import com.boot.event.UserActivityEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,23 +22,19 @@ import java.util.stream.Collectors;
 public class FavoriteService {
 
     private final FavoriteRepository favoriteRepository;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final ApplicationEventPublisher eventPublisher;
     private final MovieSearchService movieSearchService;
 
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new IllegalStateException("로그인이 필요합니다.");
-        }
-        String userEmail = authentication.getName();
-        return userService.findByEmail(userEmail)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다."));
+        return currentUserService.requireUser();
     }
 
     // 찜 추가/삭제 토글
     public boolean toggleFavorite(String userEmail, String movieId) {
-        User user = userService.findByEmail(userEmail)
+        User user = currentUserService.findUserReference(userEmail)
                 .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다."));
+        eventPublisher.publishEvent(new UserActivityEvent(user.getId(), movieId, UserActivityEvent.Type.FAVORITE));
 
         return favoriteRepository.findByUserAndMovieId(user, movieId)
                 .map(favorite -> {
@@ -48,6 +45,7 @@ public class FavoriteService {
                 .orElseGet(() -> {
                     // 찜하지 않은 경우, 추가
                     favoriteRepository.save(new Favorite(user, movieId));
+                    eventPublisher.publishEvent(new MovieEngagementEvent(movieId, MovieEngagementEvent.Type.FAVORITE));
                     return true; // 찜 추가됨
                 });
     }
@@ -55,7 +53,7 @@ public class FavoriteService {
     // 특정 영화에 대한 찜 상태 확인
     @Transactional(readOnly = true)
     public boolean isFavorite(String userEmail, String movieId) {
-        User user = userService.findByEmail(userEmail)
+        User user = currentUserService.findUserReference(userEmail)
                 .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다."));
         return favoriteRepository.existsByUserAndMovieId(user, movieId);
     }
@@ -63,7 +61,7 @@ public class FavoriteService {
     // 사용자가 찜한 모든 영화 ID 목록 조회
     @Transactional(readOnly = true)
     public List<String> getFavoriteMovieIds(String userEmail) {
-        User user = userService.findByEmail(userEmail)
+        User user = currentUserService.findUserReference(userEmail)
                 .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다."));
         List<Favorite> favorites = favoriteRepository.findByUser(user);
         return favorites.stream()
@@ -0,0 +1,469 @@
+package com.boot.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 근사 최근접 이웃 검색용 HNSW 그래프 (스프링 의존성 없음, MovieVectorService 에서 사용)
+ * - 벡터는 capacity × dimensions 크기의 off-heap float 버퍼(DirectByteBuffer)에 저장해서 힙/GC 부담을 줄임
+ * - 유사도는 내적 (호출하는 쪽에서 L2 정규화해서 넣으면 코사인 유사도)
+ * - 이웃 선택은 논문의 휴리스틱(다양한 방향의 이웃 우선) + 모자라면 가까운 순으로 채움
+ * - add 는 한 스레드에서만 호출, 다 넣은 뒤의 search 는 여러 스레드에서 동시에 호출 가능
+ */
+public final class HnswIndex {
+
+    private final int dimensions;
+    private final int capacity;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final FloatBuffer vectors;
+
+    // links[node][level] = [이웃 수, 이웃1, 이웃2, ...]
+    private final int[][][] links;
+    private int size;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    // 탐색 공간 풀 (인덱스 인스턴스별, 인덱스를 다시 만들면 이전 풀은 인덱스와 함께 정리됨)
+    private final ConcurrentLinkedQueue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param m              노드당 이웃 수 (0층은 2배)
+     * @param efConstruction 그래프를 만들 때 탐색하는 후보 수 (클수록 정확하고 느림)
+     */
+    public HnswIndex(int dimensions, int capacity, int m, int efConstruction, long seed) {
+        if (dimensions < 1 || capacity < 0) {
+            throw new IllegalArgumentException("dimensions 는 1 이상, capacity 는 0 이상이어야 합니다.");
+        }
+        if (m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("m 은 2 이상, efConstruction 은 1 이상이어야 합니다.");
+        }
+        int bufferBytes;
+        try {
+            bufferBytes = Math.multiplyExact(Math.multiplyExact(dimensions, capacity), Float.BYTES);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("벡터 버퍼가 너무 큽니다: " + dimensions + " x " + capacity);
+        }
+        this.dimensions = dimensions;
+        this.capacity = capacity;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+        this.vectors = ByteBuffer.allocateDirect(bufferBytes)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        this.links = new int[capacity][][];
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 벡터 추가
+     *
+     * @return 노드 번호 (추가 순서대로 0, 1, 2, ...)
+     */
+    public int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("벡터 차원이 맞지 않습니다: " + vector.length + " != " + dimensions);
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("인덱스가 가득 찼습니다: " + capacity);
+        }
+        int node = size;
+        vectors.put(node * dimensions, vector);
+
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[1 + (l == 0 ? maxM0 : m)];
+        }
+        size++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        Workspace ws = acquireWorkspace();
+        try {
+            link(node, vector, level, ws);
+        } finally {
+            workspaces.offer(ws);
+        }
+
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+        return node;
+    }
+
+    // 새 노드를 level 층부터 0층까지 이웃과 연결
+    private void link(int node, float[] vector, int level, Workspace ws) {
+        int current = descend(vector, level);
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            int found = searchLayer(vector, current, efConstruction, l, ws);
+            int[] candidates = Arrays.copyOf(ws.resultNodes, found);
+            float[] scores = Arrays.copyOf(ws.resultScores, found);
+            int maxLinks = l == 0 ? maxM0 : m;
+
+            int selected = selectNeighbours(candidates, scores, found, m);
+            int[] own = links[node][l];
+            own[0] = selected;
+            System.arraycopy(candidates, 0, own, 1, selected);
+
+            for (int i = 0; i < selected; i++) {
+                connect(candidates[i], node, scores[i], l, maxLinks);
+            }
+            current = candidates[0];
+        }
+    }
+
+    /**
+     * query 와 유사도가 높은 순으로 최대 k 개
+     *
+     * @param ef 탐색 후보 수 (k 이상, 클수록 정확하고 느림)
+     */
+    public List<Match> search(float[] query, int k, int ef) {
+        return search(query, k, ef, -1);
+    }
+
+    /**
+     * 저장된 노드와 유사한 노드 (자기 자신 제외)
+     */
+    public List<Match> searchSimilar(int node, int k, int ef) {
+        if (node < 0 || node >= size) {
+            return List.of();
+        }
+        return search(vector(node), k, ef, node);
+    }
+
+    /**
+     * 저장된 벡터 복사본
+     */
+    public float[] vector(int node) {
+        float[] copy = new float[dimensions];
+        vectors.get(node * dimensions, copy);
+        return copy;
+    }
+
+    private List<Match> search(float[] query, int k, int ef, int exclude) {
+        if (entryPoint < 0 || k <= 0) {
+            return List.of();
+        }
+        Workspace ws = acquireWorkspace();
+        try {
+            int current = descend(query, 0);
+
+            int wanted = exclude >= 0 ? k + 1 : k;
+            int found = searchLayer(query, current, Math.max(ef, wanted), 0, ws);
+            List<Match> matches = new ArrayList<>(Math.min(k, found));
+            for (int i = 0; i < found && matches.size() < k; i++) {
+                if (ws.resultNodes[i] != exclude) {
+                    matches.add(new Match(ws.resultNodes[i], ws.resultScores[i]));
+                }
+            }
+            return matches;
+        } finally {
+            workspaces.offer(ws);
+        }
+    }
+
+    // 풀에서 꺼내 쓰고 반납 (동시에 탐색하는 스레드 수만큼만 생성)
+    private Workspace acquireWorkspace() {
+        Workspace ws = workspaces.poll();
+        return ws != null ? ws : new Workspace(capacity);
+    }
+
+    // 맨 위층부터 level 층 바로 위까지 가장 가까운 노드 하나만 따라 내려감
+    private int descend(float[] query, int level) {
+        int current = entryPoint;
+        float currentScore = dot(current, query);
+        for (int l = maxLevel; l > level; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] neighbours = links[current][l];
+                for (int i = 1; i <= neighbours[0]; i++) {
+                    float score = dot(neighbours[i], query);
+                    if (score > currentScore) {
+                        currentScore = score;
+                        current = neighbours[i];
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    // 한 층에서 ef 개 후보 탐색, 결과는 ws.resultNodes/resultScores 에 유사도 내림차순으로 담고 개수 반환
+    private int searchLayer(float[] query, int entry, int ef, int level, Workspace ws) {
+        int stamp = ws.nextStamp();
+        ws.ensureResultCapacity(ef);
+        LongHeap candidates = ws.candidates;
+        LongHeap results = ws.results;
+        candidates.clear();
+        results.clear();
+
+        float entryScore = dot(entry, query);
+        ws.visited[entry] = stamp;
+        candidates.push(encode(-entryScore, entry));
+        results.push(encode(entryScore, entry));
+
+        while (!candidates.isEmpty()) {
+            long top = candidates.pop();
+            float score = -decodeScore(top);
+            if (results.size() >= ef && score < decodeScore(results.peek())) {
+                break;
+            }
+            int[] neighbours = links[decodeNode(top)][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (ws.visited[neighbour] == stamp) {
+                    continue;
+                }
+                ws.visited[neighbour] = stamp;
+                float neighbourScore = dot(neighbour, query);
+                if (results.size() < ef || neighbourScore > decodeScore(results.peek())) {
+                    candidates.push(encode(-neighbourScore, neighbour));
+                    results.push(encode(neighbourScore, neighbour));
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+
+        int found = results.size();
+        for (int i = found - 1; i >= 0; i--) {
+            long worst = results.pop();
+            ws.resultNodes[i] = decodeNode(worst);
+            ws.resultScores[i] = decodeScore(worst);
+        }
+        return found;
+    }
+
+    /**
+     * 유사도 내림차순 후보에서 최대 limit 개 선택 (선택된 것들이 배열 앞쪽으로 옴)
+     * - 이미 고른 이웃보다 기준점에 더 가까운 후보만 우선 선택 (한쪽 방향으로 몰린 이웃 방지)
+     * - 그래도 모자라면 버린 후보 중 가까운 순으로 채움
+     */
+    private int selectNeighbours(int[] nodes, float[] scores, int count, int limit) {
+        if (count <= limit) {
+            return count;
+        }
+        int selected = 0;
+        int[] pruned = new int[count];
+        float[] prunedScores = new float[count];
+        int prunedCount = 0;
+        for (int i = 0; i < count && selected < limit; i++) {
+            int candidate = nodes[i];
+            boolean diverse = true;
+            for (int j = 0; j < selected; j++) {
+                if (dot(candidate, nodes[j]) > scores[i]) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                nodes[selected] = candidate;
+                scores[selected] = scores[i];
+                selected++;
+            } else {
+                pruned[prunedCount] = candidate;
+                prunedScores[prunedCount] = scores[i];
+                prunedCount++;
+            }
+        }
+        for (int i = 0; i < prunedCount && selected < limit; i++) {
+            nodes[selected] = pruned[i];
+            scores[selected] = prunedScores[i];
+            selected++;
+        }
+        return selected;
+    }
+
+    // target 의 이웃 목록에 node 추가, 넘치면 target 기준으로 다시 선택
+    private void connect(int target, int node, float score, int level, int maxLinks) {
+        int[] targetLinks = links[target][level];
+        int count = targetLinks[0];
+        if (count < maxLinks) {
+            targetLinks[++targetLinks[0]] = node;
+            return;
+        }
+        int[] nodes = new int[count + 1];
+        float[] scores = new float[count + 1];
+        for (int i = 0; i < count; i++) {
+            nodes[i] = targetLinks[i + 1];
+            scores[i] = dot(target, targetLinks[i + 1]);
+        }
+        nodes[count] = node;
+        scores[count] = score;
+        sortDescending(nodes, scores, count + 1);
+        int selected = selectNeighbours(nodes, scores, count + 1, maxLinks);
+        targetLinks[0] = selected;
+        System.arraycopy(nodes, 0, targetLinks, 1, selected);
+    }
+
+    private static void sortDescending(int[] nodes, float[] scores, int count) {
+        // 이웃 수(최대 2m + 1)가 작아서 삽입 정렬
+        for (int i = 1; i < count; i++) {
+            int node = nodes[i];
+            float score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                nodes[j + 1] = nodes[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            nodes[j + 1] = node;
+            scores[j + 1] = score;
+        }
+    }
+
+    private float dot(int node, float[] query) {
+        int base = node * dimensions;
+        float sum = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vectors.get(base + i) * query[i];
+        }
+        return sum;
+    }
+
+    private float dot(int a, int b) {
+        int baseA = a * dimensions;
+        int baseB = b * dimensions;
+        float sum = 0f;
+        for (int i = 0; i < dimensions; i++) {
+            sum += vectors.get(baseA + i) * vectors.get(baseB + i);
+        }
+        return sum;
+    }
+
+    // (유사도, 노드)를 long 하나로: 상위 32비트는 정렬 가능한 float 비트, 하위 32비트는 노드 번호
+    private static long encode(float score, int node) {
+        int bits = Float.floatToIntBits(score);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (node & 0xffffffffL);
+    }
+
+    private static float decodeScore(long encoded) {
+        int bits = (int) (encoded >> 32);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return Float.intBitsToFloat(bits);
+    }
+
+    private static int decodeNode(long encoded) {
+        return (int) encoded;
+    }
+
+    public record Match(int node, float score) {
+    }
+
+    // 탐색 1회가 독점하는 탐색 공간 (방문 표시는 stamp 로 초기화 없이 재사용)
+    private static final class Workspace {
+        private final int[] visited;
+        private final LongHeap candidates = new LongHeap();
+        private final LongHeap results = new LongHeap();
+        private int[] resultNodes = new int[64];
+        private float[] resultScores = new float[64];
+        private int stamp;
+
+        Workspace(int capacity) {
+            this.visited = new int[capacity];
+        }
+
+        int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(visited, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+
+        void ensureResultCapacity(int ef) {
+            if (resultNodes.length < ef) {
+                resultNodes = new int[ef];
+                resultScores = new float[ef];
+            }
+        }
+    }
+
+    // long 최소 힙
+    private static final class LongHeap {
+        private long[] heap = new long[64];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.boot.service;
+
+import com.boot.dto.HomeFeedResponse;
+import com.boot.dto.MovieDoc;
+import com.boot.dto.MovieSearchRequest;
+import com.boot.elastic.Movie;
+import com.boot.entity.QuickMatchFeedback;
+import com.boot.event.DomainEventSubscriber;
+import com.boot.event.UserActivityEvent;
+import com.boot.repository.FavoriteRepository;
+import com.boot.repository.QuickMatchFeedbackRepository;
+import com.boot.repository.RatingRepository;
+import com.boot.repository.WatchlistRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 홈 피드 (미리 계산해서 Redis 에 저장)
+ * - 후보: 인기 영화 / 현재 상영작 (서버 메모리에 주기적으로 적재, 모든 사용자 공용)
+ * - 점수: 장르 취향(찜/Watchlist/평점/퀵매치에서 계산) + 인기 순위, 이미 본 영화와 퀵매치 DISLIKE 는 제외
+ * - 찜/Watchlist/평점/리뷰/퀵매치 변경 시 커밋 후 이벤트 버스에서 받아 비동기로 다시 계산 (같은 사용자 요청은 하나로 합침)
+ * - 주기 작업: 후보를 새로 적재하고, 지난 주기에 피드를 읽은 사용자만 다시 계산 (나머지는 TTL 로 만료)
+ * - 조회: Redis 1회 + 후보 메모리에 없는 영화만 ES 일괄 조회
+ */
+@Slf4j
+@Service
+public class HomeFeedService implements DomainEventSubscriber<UserActivityEvent> {
+
+    private static final String KEY_PREFIX = "home:feed:";
+    // 지난 주기 동안 피드를 읽은 사용자 (주기 작업에서 다시 계산)
+    private static final String READERS_KEY = "home:feed:readers";
+    private static final String FIELD_FOR_YOU = "forYou";
+    private static final String FIELD_NOW_PLAYING = "nowPlaying";
+    private static final String FIELD_GENERATED_AT = "generatedAt";
+
+    private static final int POPULAR_POOL_SIZE = 300;
+    private static final int NOW_PLAYING_POOL_SIZE = 100;
+    private static final int FOR_YOU_SIZE = 40;
+    private static final int NOW_PLAYING_SIZE = 20;
+    // 취향 계산에 쓰는 최대 영화 수 (가중치 절댓값이 큰 순)
+    private static final int MAX_TASTE_MOVIES = 500;
+    private static final int REFRESH_BATCH_SIZE = 200;
+    private static final List<String> GENRE_FIELDS = List.of("id", "genre_ids");
+
+    // 점수 = 장르 취향 x 0.7 + 인기 순위 x 0.3
+    private static final double AFFINITY_WEIGHT = 0.7;
+    // 신호별 가중치 (평점은 2.5 기준 -0.8 ~ +1.0)
+    private static final double FAVORITE_WEIGHT = 1.0;
+    private static final double WATCHED_WEIGHT = 0.6;
+    private static final double WATCHLIST_WEIGHT = 0.4;
+    private static final double QUICK_MATCH_LIKE_WEIGHT = 0.5;
+    private static final double QUICK_MATCH_DISLIKE_WEIGHT = -0.5;
+    private static final double NEUTRAL_RATING = 2.5;
+
+    private final StringRedisTemplate redisTemplate;
+    private final MovieSearchService movieSearchService;
+    private final CurrentUserService currentUserService;
+    private final FavoriteRepository favoriteRepository;
+    private final WatchlistRepository watchlistRepository;
+    private final RatingRepository ratingRepository;
+    private final QuickMatchFeedbackRepository quickMatchFeedbackRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration ttl;
+    // 이벤트 기반 재계산용 (대기열이 차면 버리고 다음 조회/주기 작업에서 계산)
+    private final ThreadPoolExecutor executor;
+    // 재계산 대기 중인 사용자 (같은 사용자의 연속 이벤트는 한 번만 계산)
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile CandidatePool pool;
+
+    public HomeFeedService(StringRedisTemplate redisTemplate,
+                           MovieSearchService movieSearchService,
+                           CurrentUserService currentUserService,
+                           FavoriteRepository favoriteRepository,
+                           WatchlistRepository watchlistRepository,
+                           RatingRepository ratingRepository,
+                           QuickMatchFeedbackRepository quickMatchFeedbackRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${home.feed.ttl:24h}") Duration ttl,
+                           @Value("${home.feed.parallelism:2}") int parallelism) {
+        this.redisTemplate = redisTemplate;
+        this.movieSearchService = movieSearchService;
+        this.currentUserService = currentUserService;
+        this.favoriteRepository = favoriteRepository;
+        this.watchlistRepository = watchlistRepository;
+        this.ratingRepository = ratingRepository;
+        this.quickMatchFeedbackRepository = quickMatchFeedbackRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttl = ttl;
+
+        int threads = Math.max(1, parallelism);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "home-feed-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 현재 사용자의 홈 피드 (없으면 바로 계산)
+     *
+     * @throws IllegalStateException 로그인하지 않은 사용자
+     */
+    public HomeFeedResponse getFeed() {
+        Long userId = currentUserService.requireUserId();
+        boolean adult = currentUserService.isAdult();
+
+        StoredFeed feed = read(userId);
+        if (feed == null) {
+            feed = materialize(userId);
+        }
+
+        // 후보 메모리에 있는 영화는 그대로, 없는 영화만 ES 에서 한 번에 조회
+        CandidatePool current = currentPool();
+        Set<String> missing = new LinkedHashSet<>();
+        feed.forYou().stream().filter(id -> !current.docs().containsKey(id)).forEach(missing::add);
+        feed.nowPlaying().stream().filter(id -> !current.docs().containsKey(id)).forEach(missing::add);
+        Map<String, MovieDoc> fetched = new HashMap<>();
+        if (!missing.isEmpty()) {
+            // 미성년자에게는 청소년관람불가 영화가 걸러져서 빠짐
+            movieSearchService.getMovieDocsByIds(new ArrayList<>(missing), adult)
+                    .forEach(doc -> fetched.put(doc.getMovieId(), doc));
+        }
+
+        return HomeFeedResponse.builder()
+                .forYou(hydrate(feed.forYou(), current.docs(), fetched))
+                .nowPlaying(hydrate(feed.nowPlaying(), current.docs(), fetched))
+                .generatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(feed.generatedAt()), ZoneId.systemDefault()))
+                .build();
+    }
+
+    @Override
+    public Class<UserActivityEvent> eventType() {
+        return UserActivityEvent.class;
+    }
+
+    // 찜/Watchlist/평점/리뷰/퀵매치 변경 → 묶음 안의 사용자별로 한 번씩 재계산 예약
+    @Override
+    public void onEvents(List<UserActivityEvent> events) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (UserActivityEvent event : events) {
+            userIds.add(event.userId());
+        }
+        userIds.forEach(this::scheduleMaterialize);
+    }
+
+    private void scheduleMaterialize(Long userId) {
+        if (!pending.add(userId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                pending.remove(userId);
+                try {
+                    materialize(userId);
+                } catch (Exception e) {
+                    log.warn("홈 피드 재계산 실패. userId={}, error={}", userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(userId);
+            log.warn("홈 피드 재계산 대기열이 가득 차서 건너뜁니다. userId={}", userId);
+        }
+    }
+
+    /**
+     * 후보를 새로 적재하고, 지난 주기에 피드를 읽은 사용자의 피드를 다시 계산
+     */
+    @Scheduled(fixedDelayString = "${home.feed.refresh-interval-ms:3600000}",
+            initialDelayString = "${home.feed.refresh-interval-ms:3600000}")
+    public void refreshFeeds() {
+        try {
+            pool = loadPool();
+        } catch (Exception e) {
+            log.warn("홈 피드 후보 적재 실패, 기존 후보를 유지합니다: {}", e.getMessage());
+        }
+
+        int refreshed = 0;
+        try {
+            List<String> userIds;
+            while (!(userIds = popReaders()).isEmpty()) {
+                for (String userId : userIds) {
+                    try {
+                        materialize(Long.valueOf(userId));
+                        refreshed++;
+                    } catch (Exception e) {
+                        log.warn("홈 피드 재계산 실패. userId={}, error={}", userId, e.getMessage());
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("홈 피드 재계산 대상 조회 실패: {}", e.getMessage());
+        }
+        log.info("홈 피드 주기 재계산 완료: {}명", refreshed);
+    }
+
+    /**
+     * 사용자 한 명의 피드 계산 후 저장 (Redis 를 쓸 수 없으면 계산 결과만 반환)
+     */
+    private StoredFeed materialize(Long userId) {
+        CandidatePool current = currentPool();
+        Taste taste = readOnlyTransaction.execute(status -> loadTaste(userId));
+        Map<Integer, Double> affinity = genreAffinity(taste, current);
+
+        StoredFeed feed = new StoredFeed(
+                rank(current.popular(), affinity, taste.excluded(), FOR_YOU_SIZE),
+                rank(current.nowPlaying(), affinity, taste.excluded(), NOW_PLAYING_SIZE),
+                System.currentTimeMillis());
+        write(userId, feed);
+        return feed;
+    }
+
+    private Taste loadTaste(Long userId) {
+        Map<String, Double> weights = new HashMap<>();
+        Set<String> excluded = new HashSet<>();
+        favoriteRepository.findMovieIdsByUserId(userId)
+                .forEach(movieId -> weights.merge(movieId, FAVORITE_WEIGHT, Double::sum));
+        watchlistRepository.findStatesByUserId(userId).forEach(w -> {
+            boolean watched = Boolean.TRUE.equals(w.getWatched());
+            weights.merge(w.getMovieId(), watched ? WATCHED_WEIGHT : WATCHLIST_WEIGHT, Double::sum);
+            if (watched) {
+                excluded.add(w.getMovieId());
+            }
+        });
+        ratingRepository.findRatingsByUserId(userId).forEach(r -> {
+            weights.merge(r.getMovieId(), (r.getRating() - NEUTRAL_RATING) / NEUTRAL_RATING, Double::sum);
+            excluded.add(r.getMovieId());
+        });
+        quickMatchFeedbackRepository.findActionsByUserId(userId).forEach(f -> {
+            boolean liked = f.getAction() == QuickMatchFeedback.Action.LIKE;
+            weights.merge(f.getMovieId(), liked ? QUICK_MATCH_LIKE_WEIGHT : QUICK_MATCH_DISLIKE_WEIGHT, Double::sum);
+            if (!liked) {
+                excluded.add(f.getMovieId());
+            }
+        });
+        return new Taste(weights, excluded);
+    }
+
+    // 장르별 취향 (-1 ~ 1), 영화 장르는 후보 메모리에서 먼저 찾고 없는 것만 ES 조회
+    private Map<Integer, Double> genreAffinity(Taste taste, CandidatePool current) {
+        List<Map.Entry<String, Double>> signals = taste.weights().entrySet().stream()
+                .filter(e -> e.getValue() != 0.0)
+                .sorted(Comparator.comparingDouble((Map.Entry<String, Double> e) -> -Math.abs(e.getValue())))
+                .limit(MAX_TASTE_MOVIES)
+                .toList();
+
+        Map<String, List<Integer>> genresById = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Double> signal : signals) {
+            MovieDoc doc = current.docs().get(signal.getKey());
+            if (doc != null) {
+                genresById.put(signal.getKey(), doc.getGenreIds() != null ? doc.getGenreIds() : List.of());
+            } else {
+                missing.add(signal.getKey());
+            }
+        }
+        for (Movie movie : movieSearchService.getMoviesByIds(missing, GENRE_FIELDS)) {
+            genresById.put(movie.getId(), parseGenres(movie.getGenreIds()));
+        }
+
+        Map<Integer, Double> affinity = new HashMap<>();
+        for (Map.Entry<String, Double> signal : signals) {
+            List<Integer> genres = genresById.get(signal.getKey());
+            if (genres == null || genres.isEmpty()) {
+                continue;
+            }
+            double share = signal.getValue() / genres.size();
+            genres.forEach(genre -> affinity.merge(genre, share, Double::sum));
+        }
+        double max = affinity.values().stream().mapToDouble(Math::abs).max().orElse(0.0);
+        if (max > 0) {
+            affinity.replaceAll((genre, value) -> value / max);
+        }
+        return affinity;
+    }
+
+    private List<String> rank(List<Candidate> candidates, Map<Integer, Double> affinity, Set<String> excluded, int size) {
+        record Scored(String movieId, double score) {
+        }
+        List<Scored> scored = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (excluded.contains(candidate.movieId())) {
+                continue;
+            }
+            double genreScore = 0.0;
+            for (int genre : candidate.genreIds()) {
+                genreScore += affinity.getOrDefault(genre, 0.0);
+            }
+            if (candidate.genreIds().length > 0) {
+                genreScore /= candidate.genreIds().length;
+            }
+            double score = AFFINITY_WEIGHT * genreScore + (1 - AFFINITY_WEIGHT) * candidate.popularity();
+            scored.add(new Scored(candidate.movieId(), score));
+        }
+        // 점수가 같으면 인기 순 (후보 목록 순서) 유지
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed());
+        return scored.stream().limit(size).map(Scored::movieId).toList();
+    }
+
+    private CandidatePool currentPool() {
+        CandidatePool current = pool;
+        if (current == null) {
+            synchronized (this) {
+                current = pool;
+                if (current == null) {
+                    current = loadPool();
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // 인기 영화 / 현재 상영작 (청소년관람불가 제외 → 모든 사용자에게 공통으로 사용)
+    private CandidatePool loadPool() {
+        List<MovieDoc> popular = searchPool(POPULAR_POOL_SIZE, false);
+        List<MovieDoc> nowPlaying = searchPool(NOW_PLAYING_POOL_SIZE, true);
+        Map<String, MovieDoc> docs = new HashMap<>();
+        popular.forEach(doc -> docs.put(doc.getMovieId(), doc));
+        nowPlaying.forEach(doc -> docs.put(doc.getMovieId(), doc));
+        log.info("홈 피드 후보 적재: 인기 {}편, 현재 상영 {}편", popular.size(), nowPlaying.size());
+        return new CandidatePool(toCandidates(popular), toCandidates(nowPlaying), Map.copyOf(docs));
+    }
+
+    private List<MovieDoc> searchPool(int size, boolean nowPlaying) {
+        MovieSearchRequest request = new MovieSearchRequest();
+        request.setPage(0);
+        request.setSize(size);
+        request.setSortBy("popularity");
+        request.setSortOrder("desc");
+        if (nowPlaying) {
+            request.setNowPlaying(true);
+        }
+        List<MovieDoc> movies = movieSearchService.search(request).getMovies();
+        if (movies == null) {
+            return List.of();
+        }
+        return movies.stream().filter(doc -> doc.getMovieId() != null).toList();
+    }
+
+    // 인기 점수 = 목록 안 순위 기준 1 → 0
+    private List<Candidate> toCandidates(List<MovieDoc> docs) {
+        List<Candidate> candidates = new ArrayList<>(docs.size());
+        for (int i = 0; i < docs.size(); i++) {
+            MovieDoc doc = docs.get(i);
+            int[] genres = doc.getGenreIds() != null
+                    ? doc.getGenreIds().stream().filter(Objects::nonNull).mapToInt(Integer::intValue).toArray()
+                    : new int[0];
+            candidates.add(new Candidate(doc.getMovieId(), genres, 1.0 - (double) i / docs.size()));
+        }
+        return candidates;
+    }
+
+    private List<Integer> parseGenres(List<String> genreIds) {
+        if (genreIds == null) {
+            return List.of();
+        }
+        List<Integer> genres = new ArrayList<>(genreIds.size());
+        for (String genreId : genreIds) {
+            try {
+                genres.add(Integer.parseInt(genreId));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return genres;
+    }
+
+    private List<MovieDoc> hydrate(List<String> movieIds, Map<String, MovieDoc> poolDocs, Map<String, MovieDoc> fetched) {
+        return movieIds.stream()
+                .map(id -> poolDocs.containsKey(id) ? poolDocs.get(id) : fetched.get(id))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 피드 읽기 + 이번 주기 재계산 대상으로 표시 (한 번에 전송)
+    private StoredFeed read(Long userId) {
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.hGetAll(KEY_PREFIX + userId);
+                redis.sAdd(READERS_KEY, String.valueOf(userId));
+                return null;
+            });
+            @SuppressWarnings("unchecked")
+            Map<String, String> fields = (Map<String, String>) results.get(0);
+            if (fields == null || !fields.containsKey(FIELD_GENERATED_AT)) {
+                return null;
+            }
+            return new StoredFeed(
+                    split(fields.get(FIELD_FOR_YOU)),
+                    split(fields.get(FIELD_NOW_PLAYING)),
+                    Long.parseLong(fields.get(FIELD_GENERATED_AT)));
+        } catch (DataAccessException e) {
+            log.warn("홈 피드 조회 실패, 바로 계산합니다. userId={}, error={}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Long userId, StoredFeed feed) {
+        String key = KEY_PREFIX + userId;
+        Map<String, String> fields = Map.of(
+                FIELD_FOR_YOU, String.join(",", feed.forYou()),
+                FIELD_NOW_PLAYING, String.join(",", feed.nowPlaying()),
+                FIELD_GENERATED_AT, String.valueOf(feed.generatedAt()));
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.hMSet(key, fields);
+                redis.expire(key, ttl.toSeconds());
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("홈 피드 저장 실패. userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private List<String> popReaders() {
+        List<String> userIds = redisTemplate.opsForSet().pop(READERS_KEY, REFRESH_BATCH_SIZE);
+        return userIds != null ? userIds : List.of();
+    }
+
+    private List<String> split(String value) {
+        if (value == null || value.isEmpty()) {
+            return List.of();
+        }
+        return List.of(value.split(","));
+    }
+
+    private record StoredFeed(List<String> forYou, List<String> nowPlaying, long generatedAt) {
+    }
+
+    private record Taste(Map<String, Double> weights, Set<String> excluded) {
+    }
+
+    private record Candidate(String movieId, int[] genreIds, double popularity) {
+    }
+
+    private record CandidatePool(List<Candidate> popular, List<Candidate> nowPlaying, Map<String, MovieDoc> docs) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.boot.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 재시도 요청 중복 처리 방지 (Redis)
+ * - 같은 키로 처음 들어온 요청만 실제로 처리하고, 성공 응답(200)을 TTL 동안 저장
+ * - 처리 중에 들어온 같은 요청은 결과가 저장될 때까지 기다렸다가 저장된 응답을 그대로 반환
+ * - Redis 를 쓸 수 없으면 중복 방지 없이 그대로 처리
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idem:";
+    private static final String IN_PROGRESS_PREFIX = "IN_PROGRESS:";
+    private static final long POLL_INTERVAL_MS = 100;
+
+    // 내가 건 처리 중 표시일 때만 삭제
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+
+    // 내가 건 처리 중 표시일 때만 응답으로 교체 (lockTimeout 이 지나 다른 요청이 처리 중이면 덮어쓰지 않음)
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration responseTtl;
+    private final Duration lockTimeout;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${payment.idempotency.ttl:24h}") Duration responseTtl,
+                            @Value("${payment.idempotency.lock-timeout:60s}") Duration lockTimeout,
+                            @Value("${payment.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.responseTtl = responseTtl;
+        this.lockTimeout = lockTimeout;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * key 기준으로 한 번만 처리
+     *
+     * @param key    작업 + 식별자 (예: "payment:confirm:{orderId}:{paymentKey}")
+     * @param action 실제 처리, 200 응답만 저장되고 나머지(오류/처리 대기)는 재시도 시 다시 처리
+     */
+    public ResponseEntity<?> execute(String key, Supplier<ResponseEntity<?>> action) {
+        String redisKey = KEY_PREFIX + key;
+        String token = IN_PROGRESS_PREFIX + UUID.randomUUID();
+        long deadline = System.currentTimeMillis() + waitTimeout.toMillis();
+
+        try {
+            while (true) {
+                // 1. 처음 들어온 요청이면 처리 중 표시 후 직접 처리
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, token, lockTimeout))) {
+                    break;
+                }
+                // 2. 저장된 응답이 있으면 그대로 반환
+                String value = redisTemplate.opsForValue().get(redisKey);
+                if (value != null && !value.startsWith(IN_PROGRESS_PREFIX)) {
+                    ResponseEntity<?> stored = parse(value);
+                    if (stored != null) {
+                        log.debug("저장된 응답 반환. key={}", key);
+                        return stored;
+                    }
+                }
+                // 3. 먼저 들어온 요청이 처리 중 → 끝날 때까지 대기 (표시가 지워지면 1번에서 다시 시도)
+                if (System.currentTimeMillis() >= deadline) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(Map.of("error", "같은 요청이 처리 중입니다. 잠시 후 다시 시도해주세요."));
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+        } catch (DataAccessException e) {
+            log.warn("멱등 키 저장소 사용 불가, 그대로 처리합니다. key={}, error={}", key, e.getMessage());
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return runAndStore(redisKey, token, action);
+    }
+
+    private ResponseEntity<?> runAndStore(String redisKey, String token, Supplier<ResponseEntity<?>> action) {
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(redisKey, token);
+            throw e;
+        }
+
+        if (response.getStatusCode().value() == HttpStatus.OK.value()) {
+            store(redisKey, token, response);
+        } else {
+            release(redisKey, token);
+        }
+        return response;
+    }
+
+    private void store(String redisKey, String token, ResponseEntity<?> response) {
+        try {
+            String json = objectMapper.writeValueAsString(Map.of(
+                    "status", response.getStatusCode().value(),
+                    "body", response.getBody() != null ? response.getBody() : Map.of()));
+            Long stored = redisTemplate.execute(STORE_SCRIPT, List.of(redisKey),
+                    token, json, String.valueOf(responseTtl.toMillis()));
+            if (stored == null || stored != 1L) {
+                log.warn("처리 중 표시가 만료되어 응답을 저장하지 않습니다. key={}", redisKey);
+            }
+        } catch (Exception e) {
+            log.warn("응답 저장 실패. key={}, error={}", redisKey, e.getMessage());
+            release(redisKey, token);
+        }
+    }
+
+    private ResponseEntity<?> parse(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            Object body = objectMapper.convertValue(node.path("body"), new TypeReference<Map<String, Object>>() {
+            });
+            return ResponseEntity.status(node.path("status").asInt(HttpStatus.OK.value())).body(body);
+        } catch (Exception e) {
+            log.warn("저장된 응답 파싱 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void release(String redisKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(redisKey), token);
+        } catch (DataAccessException e) {
+            // 처리 중 표시는 lockTimeout 후 자동 만료
+            log.warn("멱등 키 해제 실패. key={}, error={}", redisKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.boot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 기반 QR 세션 저장소 (단일 서버용)
+ * - 조회 시 만료 확인 + 주기적으로 만료 세션 정리 → 메모리는 살아있는 세션 수에 비례
+ * - 최대 세션 수를 넘으면 새 세션 생성 거부
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "qr.session.store", havingValue = "memory")
+public class InMemoryQrSessionStore implements QrSessionStore {
+
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final int maxSessions;
+
+    public InMemoryQrSessionStore(@Value("${qr.session.max-sessions:10000}") int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    @Override
+    public void save(String key, String value, Duration ttl) {
+        if (!sessions.containsKey(key) && sessions.size() >= maxSessions) {
+            evictExpired();
+            if (sessions.size() >= maxSessions) {
+                throw new IllegalStateException("QR 로그인 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        }
+        sessions.put(key, new Entry(value, expiresAt(ttl)));
+    }
+
+    @Override
+    public Optional<String> find(String key) {
+        Entry entry = sessions.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            sessions.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public boolean compareAndSet(String key, String expected, String value, Duration ttl) {
+        boolean[] updated = {false};
+        sessions.computeIfPresent(key, (k, entry) -> {
+            if (entry.isExpired(System.nanoTime())) {
+                return null;
+            }
+            if (!Objects.equals(entry.value(), expected)) {
+                return entry;
+            }
+            updated[0] = true;
+            return new Entry(value, expiresAt(ttl));
+        });
+        return updated[0];
+    }
+
+    @Override
+    public void remove(String key) {
+        sessions.remove(key);
+    }
+
+    // 만료 세션 정리 (30초마다)
+    @Scheduled(fixedDelay = 30000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        int before = sessions.size();
+        sessions.values().removeIf(entry -> entry.isExpired(now));
+        int evicted = before - sessions.size();
+        if (evicted > 0) {
+            log.debug("만료된 QR 세션 {}개 정리", evicted);
+        }
+    }
+
+    private static long expiresAt(Duration ttl) {
+        return System.nanoTime() + ttl.toNanos();
+    }
+
+    private record Entry(String value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
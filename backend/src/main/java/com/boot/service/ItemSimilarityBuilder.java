@@ -0,0 +1,387 @@
+package com.boot.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 아이템-아이템 협업 필터링 유사도 계산 (스프링 의존성 없음, ItemSimilarityService 에서 사용)
+ * - (사용자, 영화, 가중치) 상호작용을 사용자×영화 희소 행렬(CSR, int/float 배열)로 만들고
+ *   영화×사용자(CSC)로 전치해서 영화별로 같은 사용자를 공유한 영화와의 코사인 유사도를 계산
+ * - 영화 구간 단위로 ForkJoinPool 에서 병렬 계산, 영화마다 상위 topK 개만 남겨 ItemSimilarityIndex 로 압축
+ * - 같은 (사용자, 영화)가 여러 번 들어오면 가장 큰 가중치 사용
+ * - 상호작용이 maxItemsPerUser 개를 넘는 사용자는 계산 비용(행 길이의 제곱)이 커서 제외
+ * - 한 번 build 하고 버리는 용도 (스레드 안전하지 않음)
+ */
+public final class ItemSimilarityBuilder {
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    // 작업 하나가 맡는 영화 수 (이보다 많으면 반으로 나눔)
+    private static final int SPLIT_THRESHOLD = 32;
+
+    private final int topK;
+    private final int maxItemsPerUser;
+    private final float minScore;
+
+    // 외부 id → 행렬 번호
+    private final Map<Long, Integer> userIndex = new HashMap<>();
+    private final Map<String, Integer> itemIndex = new HashMap<>();
+    private final List<String> itemIds = new ArrayList<>();
+
+    // 입력 상호작용 (행렬 번호 기준)
+    private int[] users = new int[INITIAL_CAPACITY];
+    private int[] items = new int[INITIAL_CAPACITY];
+    private float[] weights = new float[INITIAL_CAPACITY];
+    private int size;
+
+    public ItemSimilarityBuilder(int topK, int maxItemsPerUser, float minScore) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK 는 1 이상이어야 합니다.");
+        }
+        if (maxItemsPerUser < 1) {
+            throw new IllegalArgumentException("maxItemsPerUser 는 1 이상이어야 합니다.");
+        }
+        this.topK = topK;
+        this.maxItemsPerUser = maxItemsPerUser;
+        this.minScore = minScore;
+    }
+
+    /**
+     * 상호작용 추가 (가중치가 0 이하면 무시)
+     */
+    public void add(long userId, String itemId, float weight) {
+        if (itemId == null || !(weight > 0f)) {
+            return;
+        }
+        Integer user = userIndex.get(userId);
+        if (user == null) {
+            user = userIndex.size();
+            userIndex.put(userId, user);
+        }
+        Integer item = itemIndex.get(itemId);
+        if (item == null) {
+            item = itemIds.size();
+            itemIndex.put(itemId, item);
+            itemIds.add(itemId);
+        }
+        if (size == users.length) {
+            int capacity = users.length * 2;
+            users = Arrays.copyOf(users, capacity);
+            items = Arrays.copyOf(items, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        users[size] = user;
+        items[size] = item;
+        weights[size] = weight;
+        size++;
+    }
+
+    // 추가된 상호작용 수 (중복 포함)
+    public int size() {
+        return size;
+    }
+
+    public ItemSimilarityIndex build(ForkJoinPool pool) {
+        int userCount = userIndex.size();
+        int itemCount = itemIds.size();
+        if ((long) itemCount * topK > Integer.MAX_VALUE) {
+            throw new IllegalStateException("영화 수가 너무 많습니다: " + itemCount);
+        }
+
+        // 1. 사용자 → 영화 CSR (행 안에서 영화 순 정렬 후 중복 병합)
+        Matrix matrix = new Matrix(userCount, itemCount);
+        int skippedUsers = buildUserRows(matrix);
+        // 2. 영화 → 사용자 (전치) + 영화별 벡터 크기
+        buildItemColumns(matrix);
+
+        // 3. 영화별 상위 K 이웃 (영화마다 독립 계산 → 결과가 실행 순서와 무관)
+        int[] candidateItems = new int[itemCount * topK];
+        float[] candidateScores = new float[itemCount * topK];
+        int[] counts = new int[itemCount];
+        ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(() -> new Workspace(itemCount, topK));
+        pool.invoke(new NeighbourTask(matrix, workspaces, candidateItems, candidateScores, counts, 0, itemCount));
+
+        // 4. 빈 자리 없이 압축
+        int[] offsets = new int[itemCount + 1];
+        for (int i = 0; i < itemCount; i++) {
+            offsets[i + 1] = offsets[i] + counts[i];
+        }
+        int[] neighbors = new int[offsets[itemCount]];
+        float[] scores = new float[offsets[itemCount]];
+        for (int i = 0; i < itemCount; i++) {
+            System.arraycopy(candidateItems, i * topK, neighbors, offsets[i], counts[i]);
+            System.arraycopy(candidateScores, i * topK, scores, offsets[i], counts[i]);
+        }
+
+        return new ItemSimilarityIndex(itemIndex, itemIds.toArray(new String[0]), offsets, neighbors, scores,
+                userCount, matrix.rowPtr[userCount], skippedUsers);
+    }
+
+    private int buildUserRows(Matrix m) {
+        int[] start = new int[m.userCount + 1];
+        for (int k = 0; k < size; k++) {
+            start[users[k] + 1]++;
+        }
+        for (int u = 0; u < m.userCount; u++) {
+            start[u + 1] += start[u];
+        }
+
+        // 영화 번호(상위 32비트) + 가중치 비트(하위 32비트) → 정렬하면 같은 영화가 붙음
+        long[] packed = new long[size];
+        int[] cursor = Arrays.copyOf(start, m.userCount);
+        for (int k = 0; k < size; k++) {
+            packed[cursor[users[k]]++] = ((long) items[k] << 32) | (Float.floatToRawIntBits(weights[k]) & 0xffffffffL);
+        }
+
+        m.rowPtr = new int[m.userCount + 1];
+        m.colIdx = new int[size];
+        m.rowVal = new float[size];
+        int nnz = 0;
+        int skipped = 0;
+        for (int u = 0; u < m.userCount; u++) {
+            int rowStart = nnz;
+            Arrays.sort(packed, start[u], start[u + 1]);
+            for (int p = start[u]; p < start[u + 1]; p++) {
+                int item = (int) (packed[p] >>> 32);
+                float weight = Float.intBitsToFloat((int) packed[p]);
+                if (nnz > rowStart && m.colIdx[nnz - 1] == item) {
+                    m.rowVal[nnz - 1] = Math.max(m.rowVal[nnz - 1], weight);
+                } else {
+                    m.colIdx[nnz] = item;
+                    m.rowVal[nnz] = weight;
+                    nnz++;
+                }
+            }
+            if (nnz - rowStart > maxItemsPerUser) {
+                nnz = rowStart;
+                skipped++;
+            }
+            m.rowPtr[u + 1] = nnz;
+        }
+        return skipped;
+    }
+
+    private void buildItemColumns(Matrix m) {
+        int nnz = m.rowPtr[m.userCount];
+        m.colPtr = new int[m.itemCount + 1];
+        for (int p = 0; p < nnz; p++) {
+            m.colPtr[m.colIdx[p] + 1]++;
+        }
+        for (int i = 0; i < m.itemCount; i++) {
+            m.colPtr[i + 1] += m.colPtr[i];
+        }
+
+        m.rowIdx = new int[nnz];
+        m.colVal = new float[nnz];
+        m.norms = new float[m.itemCount];
+        int[] cursor = Arrays.copyOf(m.colPtr, m.itemCount);
+        for (int u = 0; u < m.userCount; u++) {
+            for (int p = m.rowPtr[u]; p < m.rowPtr[u + 1]; p++) {
+                int item = m.colIdx[p];
+                int q = cursor[item]++;
+                m.rowIdx[q] = u;
+                m.colVal[q] = m.rowVal[p];
+                m.norms[item] += m.rowVal[p] * m.rowVal[p];
+            }
+        }
+        for (int i = 0; i < m.itemCount; i++) {
+            m.norms[i] = (float) Math.sqrt(m.norms[i]);
+        }
+    }
+
+    // 행렬 두 방향 (CSR: 사용자 → 영화, CSC: 영화 → 사용자)
+    private static final class Matrix {
+        final int userCount;
+        final int itemCount;
+        int[] rowPtr;
+        int[] colIdx;
+        float[] rowVal;
+        int[] colPtr;
+        int[] rowIdx;
+        float[] colVal;
+        float[] norms;
+
+        Matrix(int userCount, int itemCount) {
+            this.userCount = userCount;
+            this.itemCount = itemCount;
+        }
+    }
+
+    // 스레드별 작업 공간 (영화마다 다시 만들지 않고 재사용)
+    private static final class Workspace {
+        final float[] dot;
+        final int[] stamp;
+        final int[] touched;
+        final TopK topK;
+
+        Workspace(int itemCount, int k) {
+            this.dot = new float[itemCount];
+            this.stamp = new int[itemCount];
+            this.touched = new int[itemCount];
+            this.topK = new TopK(k);
+        }
+    }
+
+    private final class NeighbourTask extends RecursiveAction {
+        private final Matrix m;
+        private final ThreadLocal<Workspace> workspaces;
+        private final int[] outItems;
+        private final float[] outScores;
+        private final int[] counts;
+        private final int from;
+        private final int to;
+
+        NeighbourTask(Matrix m, ThreadLocal<Workspace> workspaces, int[] outItems, float[] outScores,
+                      int[] counts, int from, int to) {
+            this.m = m;
+            this.workspaces = workspaces;
+            this.outItems = outItems;
+            this.outScores = outScores;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new NeighbourTask(m, workspaces, outItems, outScores, counts, from, mid),
+                        new NeighbourTask(m, workspaces, outItems, outScores, counts, mid, to));
+                return;
+            }
+            Workspace ws = workspaces.get();
+            for (int i = from; i < to; i++) {
+                counts[i] = computeItem(i, ws);
+            }
+        }
+
+        // 영화 i 와 사용자를 공유한 영화들의 내적 누적 → 코사인 → 상위 K
+        private int computeItem(int i, Workspace ws) {
+            float normI = m.norms[i];
+            if (normI == 0f) {
+                return 0;
+            }
+            int stampValue = i + 1;
+            int touchedCount = 0;
+            for (int p = m.colPtr[i]; p < m.colPtr[i + 1]; p++) {
+                int u = m.rowIdx[p];
+                float weightI = m.colVal[p];
+                for (int q = m.rowPtr[u]; q < m.rowPtr[u + 1]; q++) {
+                    int j = m.colIdx[q];
+                    if (j == i) {
+                        continue;
+                    }
+                    if (ws.stamp[j] != stampValue) {
+                        ws.stamp[j] = stampValue;
+                        ws.dot[j] = 0f;
+                        ws.touched[touchedCount++] = j;
+                    }
+                    ws.dot[j] += weightI * m.rowVal[q];
+                }
+            }
+
+            TopK top = ws.topK;
+            top.clear();
+            for (int t = 0; t < touchedCount; t++) {
+                int j = ws.touched[t];
+                float score = Math.min(1f, ws.dot[j] / (normI * m.norms[j]));
+                if (score >= minScore) {
+                    top.offer(j, score);
+                }
+            }
+            return top.drainDescending(outItems, outScores, i * topK);
+        }
+    }
+
+    /**
+     * 크기 K 최소 힙 (유사도가 같으면 영화 번호가 작은 쪽을 우선)
+     */
+    private static final class TopK {
+        private final int[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            this.ids = new int[k];
+            this.scores = new float[k];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void offer(int id, float score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (isBetter(id, score, ids[0], scores[0])) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        // 가장 낮은 것부터 꺼내 뒤에서부터 채움 → out 에는 내림차순
+        int drainDescending(int[] outIds, float[] outScores, int base) {
+            int n = size;
+            for (int k = n - 1; k >= 0; k--) {
+                outIds[base + k] = ids[0];
+                outScores[base + k] = scores[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return n;
+        }
+
+        private static boolean isBetter(int id, float score, int otherId, float otherScore) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+
+        private void siftUp(int k) {
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (!isBetter(ids[parent], scores[parent], ids[k], scores[k])) {
+                    break;
+                }
+                swap(k, parent);
+                k = parent;
+            }
+        }
+
+        private void siftDown(int k) {
+            while (true) {
+                int left = 2 * k + 1;
+                if (left >= size) {
+                    return;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < size && isBetter(ids[left], scores[left], ids[right], scores[right])) {
+                    worst = right;
+                }
+                if (!isBetter(ids[k], scores[k], ids[worst], scores[worst])) {
+                    return;
+                }
+                swap(k, worst);
+                k = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
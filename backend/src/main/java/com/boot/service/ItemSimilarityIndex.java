@@ -0,0 +1,83 @@
+package com.boot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 영화별 유사 영화 목록 (ItemSimilarityBuilder 결과, 읽기 전용)
+ * - 영화 i 의 이웃은 neighbors[offsets[i] .. offsets[i + 1]) 에 유사도 내림차순으로 저장
+ * - 이웃 한 건당 8바이트 (int 영화 번호 + float 유사도), 요청 처리는 메모리 조회만 수행
+ */
+public final class ItemSimilarityIndex {
+
+    private static final ItemSimilarityIndex EMPTY =
+            new ItemSimilarityIndex(Map.of(), new String[0], new int[1], new int[0], new float[0], 0, 0, 0);
+
+    private final Map<String, Integer> indexById;
+    private final String[] itemIds;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final float[] scores;
+    private final int userCount;
+    private final int interactionCount;
+    private final int skippedUserCount;
+
+    ItemSimilarityIndex(Map<String, Integer> indexById, String[] itemIds, int[] offsets, int[] neighbors,
+                        float[] scores, int userCount, int interactionCount, int skippedUserCount) {
+        this.indexById = indexById;
+        this.itemIds = itemIds;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.scores = scores;
+        this.userCount = userCount;
+        this.interactionCount = interactionCount;
+        this.skippedUserCount = skippedUserCount;
+    }
+
+    public static ItemSimilarityIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 유사도 높은 순으로 최대 limit 개 (모르는 영화면 빈 목록)
+     */
+    public List<Neighbor> neighbors(String itemId, int limit) {
+        Integer index = indexById.get(itemId);
+        if (index == null || limit <= 0) {
+            return List.of();
+        }
+        int from = offsets[index];
+        int to = Math.min(offsets[index + 1], from + limit);
+        List<Neighbor> result = new ArrayList<>(to - from);
+        for (int p = from; p < to; p++) {
+            result.add(new Neighbor(itemIds[neighbors[p]], scores[p]));
+        }
+        return result;
+    }
+
+    public int itemCount() {
+        return itemIds.length;
+    }
+
+    public int neighborCount() {
+        return neighbors.length;
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    // 중복 병합 후 계산에 쓰인 (사용자, 영화) 수
+    public int interactionCount() {
+        return interactionCount;
+    }
+
+    // 상호작용이 너무 많아 계산에서 제외한 사용자 수
+    public int skippedUserCount() {
+        return skippedUserCount;
+    }
+
+    public record Neighbor(String itemId, float score) {
+    }
+}
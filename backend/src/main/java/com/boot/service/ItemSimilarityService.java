@@ -0,0 +1,126 @@
+package com.boot.service;
+
+import com.boot.dto.ItemSimilarityResultDto;
+import com.boot.repository.UserInteractionBulkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 평점/찜/Watchlist/퀵매치 LIKE 기반 아이템-아이템 협업 필터링
+ * - 주기적으로 전체 상호작용을 읽어 ItemSimilarityBuilder 로 영화별 유사 영화 상위 K 개를 계산
+ * - 계산이 끝나면 결과(ItemSimilarityIndex)를 통째로 교체, 조회는 메모리에서만 수행
+ * - 서버마다 각자 계산 (결과가 DB 데이터에서 결정되므로 서버 간 동기화 불필요)
+ */
+@Slf4j
+@Service
+public class ItemSimilarityService {
+
+    // 신호별 가중치 (같은 사용자·영화에 신호가 여러 개면 가장 큰 값)
+    private static final float MAX_RATING = 5.0f;
+    private static final float FAVORITE_WEIGHT = 1.0f;
+    private static final float WATCHED_WEIGHT = 0.6f;
+    private static final float WATCHLIST_WEIGHT = 0.4f;
+    private static final float QUICK_MATCH_LIKE_WEIGHT = 0.5f;
+
+    private final UserInteractionBulkRepository userInteractionBulkRepository;
+    private final int topK;
+    private final int maxItemsPerUser;
+    private final float minScore;
+    private final int parallelism;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile ItemSimilarityIndex index = ItemSimilarityIndex.empty();
+
+    public ItemSimilarityService(UserInteractionBulkRepository userInteractionBulkRepository,
+                                 @Value("${recommend.item-cf.top-k:50}") int topK,
+                                 @Value("${recommend.item-cf.max-items-per-user:1000}") int maxItemsPerUser,
+                                 @Value("${recommend.item-cf.min-score:0.05}") float minScore,
+                                 @Value("${recommend.item-cf.parallelism:4}") int parallelism) {
+        this.userInteractionBulkRepository = userInteractionBulkRepository;
+        this.topK = Math.max(1, topK);
+        this.maxItemsPerUser = Math.max(1, maxItemsPerUser);
+        this.minScore = minScore;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 함께 선호된 영화 id (유사도 높은 순, 학습 전이거나 데이터가 없으면 빈 목록)
+     */
+    public List<String> findSimilarMovieIds(String movieId, int limit) {
+        return index.neighbors(movieId, Math.min(limit, topK)).stream()
+                .map(ItemSimilarityIndex.Neighbor::itemId)
+                .toList();
+    }
+
+    /**
+     * 전체 상호작용으로 유사도 다시 계산
+     *
+     * @throws IllegalStateException 이미 계산 중
+     */
+    public ItemSimilarityResultDto rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("협업 필터링 유사도를 이미 계산 중입니다.");
+        }
+        try {
+            return doRebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recommend.item-cf.rebuild-interval-ms:21600000}",
+            initialDelayString = "${recommend.item-cf.initial-delay-ms:60000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (IllegalStateException e) {
+            log.info("협업 필터링 유사도를 이미 계산 중이라 이번 예약 실행은 건너뜁니다.");
+        } catch (DataAccessException e) {
+            log.warn("협업 필터링 상호작용 조회 실패, 기존 결과를 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    private ItemSimilarityResultDto doRebuild() {
+        long startedAt = System.currentTimeMillis();
+        ItemSimilarityBuilder builder = new ItemSimilarityBuilder(topK, maxItemsPerUser, minScore);
+        userInteractionBulkRepository.forEachRating(
+                (userId, movieId, rating) -> builder.add(userId, movieId, Math.min(1f, rating / MAX_RATING)));
+        userInteractionBulkRepository.forEachFavorite(
+                (userId, movieId, value) -> builder.add(userId, movieId, FAVORITE_WEIGHT));
+        userInteractionBulkRepository.forEachWatchlist(
+                (userId, movieId, watched) -> builder.add(userId, movieId, watched > 0 ? WATCHED_WEIGHT : WATCHLIST_WEIGHT));
+        userInteractionBulkRepository.forEachQuickMatchLike(
+                (userId, movieId, value) -> builder.add(userId, movieId, QUICK_MATCH_LIKE_WEIGHT));
+        long loadedAt = System.currentTimeMillis();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ItemSimilarityIndex built;
+        try {
+            built = builder.build(pool);
+        } finally {
+            pool.shutdown();
+        }
+        index = built;
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("협업 필터링 유사도 계산 완료: 사용자 {}명, 영화 {}편, 상호작용 {}건, 제외 사용자 {}명, 이웃 {}쌍 (조회 {}ms, 계산 {}ms)",
+                built.userCount(), built.itemCount(), built.interactionCount(), built.skippedUserCount(),
+                built.neighborCount(), loadedAt - startedAt, elapsed - (loadedAt - startedAt));
+
+        return ItemSimilarityResultDto.builder()
+                .users(built.userCount())
+                .movies(built.itemCount())
+                .interactions(built.interactionCount())
+                .skippedUsers(built.skippedUserCount())
+                .neighbors(built.neighborCount())
+                .elapsedMillis(elapsed)
+                .build();
+    }
+}
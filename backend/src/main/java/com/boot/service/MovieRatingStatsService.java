@@ -0,0 +1,228 @@
+package com.boot.service;
+
+import com.boot.dto.MovieRatingStatsDto;
+import com.boot.dto.RatingStatsVerifyResultDto;
+import com.boot.repository.MovieRatingStatsBulkRepository;
+import com.boot.repository.MovieRatingStatsBulkRepository.StatsRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 영화별 내부 평점/리뷰 집계 (상세 페이지의 평균 평점 / 평점 수 / 리뷰 수 / 0.5점 단위 분포)
+ * - 평점·리뷰를 쓰는 트랜잭션 안에서 이전 값과 새 값의 차이만 movie_rating_stats 에 더함 (리뷰/평점 전체 조회 없음)
+ * - 조회는 Redis 캐시 → 없으면 집계 행 1건 조회, 변경 시 커밋 후 캐시 삭제
+ * - 주기 검증: 원본 테이블 GROUP BY 결과와 비교하고, 다른 영화는 집계 행을 잠근 뒤 다시 계산해서 덮어씀
+ *   (잠금 후에도 다르면 실제 어긋남으로 기록, 처음 실행하면 기존 데이터 백필 역할)
+ */
+@Slf4j
+@Service
+public class MovieRatingStatsService {
+
+    private static final String KEY_PREFIX = "movie:rating-stats:";
+
+    private final MovieRatingStatsBulkRepository statsRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final AtomicBoolean verifying = new AtomicBoolean();
+
+    public MovieRatingStatsService(MovieRatingStatsBulkRepository statsRepository,
+                                   StringRedisTemplate redisTemplate,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${movie.rating-stats.ttl:10m}") Duration ttl) {
+        this.statsRepository = statsRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+    }
+
+    /**
+     * 평점/리뷰 변경 반영 (평점 쓰기 뒤, 같은 트랜잭션에서 호출)
+     *
+     * @param reviewDelta 리뷰 작성 +1 / 삭제 -1 / 그 외 0
+     * @param oldRating   이전 평점 (새로 매긴 경우 null)
+     * @param newRating   새 평점 (삭제한 경우 null)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(String movieId, int reviewDelta, Double oldRating, Double newRating) {
+        long ratingDelta = (newRating != null ? 1 : 0) - (oldRating != null ? 1 : 0);
+        double sumDelta = (newRating != null ? newRating : 0) - (oldRating != null ? oldRating : 0);
+        long[] histogramDelta = new long[MovieRatingStatsBulkRepository.HISTOGRAM_SIZE];
+        if (oldRating != null) {
+            histogramDelta[bucket(oldRating)]--;
+        }
+        if (newRating != null) {
+            histogramDelta[bucket(newRating)]++;
+        }
+        if (reviewDelta == 0 && ratingDelta == 0 && Arrays.stream(histogramDelta).allMatch(d -> d == 0)) {
+            return;
+        }
+        statsRepository.applyDelta(movieId, reviewDelta, ratingDelta, sumDelta, histogramDelta);
+        evictAfterCommit(movieId);
+    }
+
+    public MovieRatingStatsDto getStats(String movieId) {
+        String key = KEY_PREFIX + movieId;
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return objectMapper.readValue(cached, MovieRatingStatsDto.class);
+            }
+        } catch (Exception e) {
+            log.warn("평점 집계 캐시 조회 실패, DB 에서 조회합니다. movieId={}, error={}", movieId, e.getMessage());
+        }
+
+        MovieRatingStatsDto stats = toDto(statsRepository.find(movieId).orElseGet(() -> StatsRow.empty(movieId)));
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(stats), ttl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("평점 집계 캐시 저장 실패. movieId={}, error={}", movieId, e.getMessage());
+        }
+        return stats;
+    }
+
+    /**
+     * 원본 테이블과 비교해서 어긋난 집계를 바로잡음
+     *
+     * @throws IllegalStateException 이미 검증 중
+     */
+    public RatingStatsVerifyResultDto verify() {
+        if (!verifying.compareAndSet(false, true)) {
+            throw new IllegalStateException("평점 집계를 이미 검증 중입니다.");
+        }
+        try {
+            return doVerify();
+        } finally {
+            verifying.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${movie.rating-stats.verify-interval-ms:21600000}",
+            initialDelayString = "${movie.rating-stats.initial-delay-ms:120000}")
+    public void scheduledVerify() {
+        try {
+            verify();
+        } catch (IllegalStateException e) {
+            log.info("평점 집계를 이미 검증 중이라 이번 예약 실행은 건너뜁니다.");
+        } catch (RuntimeException e) {
+            log.warn("평점 집계 검증 실패: {}", e.getMessage());
+        }
+    }
+
+    private RatingStatsVerifyResultDto doVerify() {
+        long startedAt = System.currentTimeMillis();
+        // 1) 잠금 없이 전체 비교 (검증 중 들어온 변경 때문에 다를 수도 있음)
+        Map<String, StatsRow> expected = statsRepository.computeAll();
+        Map<String, StatsRow> stored = statsRepository.findAll();
+        Set<String> movieIds = new HashSet<>(expected.keySet());
+        movieIds.addAll(stored.keySet());
+
+        int suspected = 0;
+        int corrected = 0;
+        for (String movieId : movieIds) {
+            StatsRow expectedRow = expected.getOrDefault(movieId, StatsRow.empty(movieId));
+            StatsRow storedRow = stored.getOrDefault(movieId, StatsRow.empty(movieId));
+            if (expectedRow.sameValues(storedRow)) {
+                continue;
+            }
+            suspected++;
+            // 2) 집계 행을 잠그고 다시 계산 (진행 중인 평점 트랜잭션은 커밋될 때까지 대기)
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> correct(movieId)))) {
+                corrected++;
+                evict(movieId);
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        if (corrected > 0) {
+            log.warn("평점 집계 어긋남 {}건을 바로잡았습니다. (비교 {}편, 의심 {}건, {}ms)", corrected, movieIds.size(), suspected, elapsed);
+        } else {
+            log.info("평점 집계 검증 완료: 영화 {}편, 의심 {}건, 어긋남 없음 ({}ms)", movieIds.size(), suspected, elapsed);
+        }
+        return RatingStatsVerifyResultDto.builder()
+                .movies(movieIds.size())
+                .suspected(suspected)
+                .corrected(corrected)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // 잠근 상태에서 다시 비교, 바로잡았으면 true
+    private boolean correct(String movieId) {
+        Optional<StatsRow> locked = statsRepository.lock(movieId);
+        StatsRow actual = statsRepository.compute(movieId);
+        StatsRow current = locked.orElseGet(() -> StatsRow.empty(movieId));
+        if (actual.sameValues(current)) {
+            return false;
+        }
+        if (actual.isEmpty()) {
+            statsRepository.delete(movieId);
+        } else {
+            statsRepository.replace(actual);
+        }
+        return true;
+    }
+
+    private MovieRatingStatsDto toDto(StatsRow row) {
+        Double average = row.ratingCount() > 0
+                ? Math.round(row.ratingSum() / row.ratingCount() * 100) / 100.0
+                : null;
+        return MovieRatingStatsDto.builder()
+                .movieId(row.movieId())
+                .reviewCount(row.reviewCount())
+                .ratingCount(row.ratingCount())
+                .averageRating(average)
+                .histogram(Arrays.stream(row.histogram()).boxed().toList())
+                .build();
+    }
+
+    // 0.5점 단위 칸 번호 0~9 (MovieRatingStatsBulkRepository 의 SQL 식과 같게 반올림)
+    private static int bucket(double rating) {
+        int bucket = (int) Math.floor(rating * 2 + 0.5);
+        return Math.min(Math.max(bucket, 1), MovieRatingStatsBulkRepository.HISTOGRAM_SIZE) - 1;
+    }
+
+    // 커밋 전에 지우면 이전 값이 다시 캐시될 수 있음
+    private void evictAfterCommit(String movieId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(movieId);
+                }
+            });
+        } else {
+            evict(movieId);
+        }
+    }
+
+    private void evict(String movieId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + movieId);
+        } catch (Exception e) {
+            log.warn("평점 집계 캐시 삭제 실패. movieId={}, error={}", movieId, e.getMessage());
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.boot.service;
 
+import com.boot.dto.KeysetCursor;
 import com.boot.dto.MovieReviewDto;
 import com.boot.dto.ReviewListResponse;
 import com.boot.dto.ReviewSummaryDto;
 import com.boot.dto.ReviewWithSummaryResponse;
 import com.boot.entity.MovieReviewSummary;
-import com.boot.entity.Review;
 import com.boot.repository.MovieReviewSummaryRepository;
 import com.boot.repository.ReviewRepository;
+import com.boot.repository.ReviewRepository.ReviewListView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,42 +23,55 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MovieReviewQueryService {
 
+    public static final int MAX_REVIEW_PAGE_SIZE = 50;
+    // AI 요약에 쓰는 최대 리뷰 수
+    private static final int SUMMARY_SAMPLE_SIZE = 30;
+    // 리뷰 + 요약 API 의 내부 리뷰 최대 수
+    private static final int REVIEWS_WITH_SUMMARY_LIMIT = 100;
+
     private final ReviewRepository reviewRepository;          // 기존 JPA Repo 사용
     private final ExternalReviewService externalReviewService;
     private final ReviewAiSummaryService reviewAiSummaryService;
     private final MovieReviewSummaryRepository movieReviewSummaryRepository;
 
-    // 리뷰만 반환 (대표 N개)
-    public ReviewListResponse getReviewList(String movieId, int limit) {
-
-        // 1) 내부 리뷰
-        List<Review> internalReviews = reviewRepository.findByMovieId(movieId);
-        List<MovieReviewDto> internalDtos = internalReviews.stream()
-                .map(r -> MovieReviewDto.builder()
-                        .source("INTERNAL")
-                        .author(r.getUser().getName())
-                        .content(r.getComment())
-                        .rating(r.getRating() != null ? r.getRating().doubleValue() : null)
-                        .createdAt(r.getCreatedAt() != null ? r.getCreatedAt().toString() : null)
-                        .build())
-                .toList();
-
-        // 2) TMDB 리뷰
-        List<MovieReviewDto> tmdbDtos = externalReviewService.getTmdbReviews(movieId);
-
-        // 3) 합치기
-        List<MovieReviewDto> all = new ArrayList<>();
-        all.addAll(internalDtos);
-        all.addAll(tmdbDtos);
-
-        // 4) limit 만큼만 잘라서 반환 (대표 리뷰 용도)
-        List<MovieReviewDto> limited = all.stream()
-                .limit(limit)
-                .toList();
+    /**
+     * 리뷰 목록 (내부 리뷰 최신순, 첫 페이지에서 내부 리뷰가 limit 보다 적으면 TMDB 리뷰로 채움)
+     * - 내부 리뷰는 작성자 이름까지 한 번의 쿼리로 limit + 1 건만 조회 (리뷰가 아무리 많아도 페이지 크기만큼만)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @throws IllegalArgumentException 잘못된 커서
+     */
+    public ReviewListResponse getReviewList(String movieId, int limit, String cursor) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_REVIEW_PAGE_SIZE));
+        boolean firstPage = cursor == null || cursor.isBlank();
+
+        // 1) 내부 리뷰 (한 건 더 조회해서 다음 페이지 존재 여부 판단)
+        List<ReviewListView> views = firstPage
+                ? reviewRepository.findFirstPageViewsByMovieId(movieId, PageRequest.of(0, pageSize + 1))
+                : findPageAfter(movieId, KeysetCursor.parse(cursor), pageSize + 1);
+        boolean hasNext = views.size() > pageSize;
+        List<ReviewListView> page = hasNext ? views.subList(0, pageSize) : views;
+
+        List<MovieReviewDto> reviews = new ArrayList<>(pageSize);
+        page.forEach(view -> reviews.add(toDto(view)));
+
+        // 2) 첫 페이지인데 내부 리뷰가 모자라면 TMDB 리뷰로 채움 (대표 리뷰 용도)
+        if (firstPage && !hasNext && reviews.size() < pageSize) {
+            externalReviewService.getTmdbReviews(movieId).stream()
+                    .limit(pageSize - reviews.size())
+                    .forEach(reviews::add);
+        }
 
+        String nextCursor = null;
+        if (hasNext) {
+            ReviewListView last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
         return ReviewListResponse.builder()
                 .movieId(movieId)
-                .reviews(limited)
+                .reviews(reviews)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
                 .build();
     }
 
@@ -92,17 +107,8 @@ public class MovieReviewQueryService {
     }
 
     private ReviewSummaryDto createSummary(String movieId) {
-        // 1) 내부 리뷰
-        List<Review> internalReviews = reviewRepository.findByMovieId(movieId);
-        List<MovieReviewDto> internalDtos = internalReviews.stream()
-                .map(r -> MovieReviewDto.builder()
-                        .source("INTERNAL")
-                        .author(r.getUser().getName())
-                        .content(r.getComment())
-                        .rating(r.getRating() != null ? r.getRating().doubleValue() : null)
-                        .createdAt(r.getCreatedAt() != null ? r.getCreatedAt().toString() : null)
-                        .build())
-                .toList();
+        // 1) 내부 리뷰 (최신 SUMMARY_SAMPLE_SIZE 건만)
+        List<MovieReviewDto> internalDtos = findLatest(movieId, SUMMARY_SAMPLE_SIZE);
 
         // 2) TMDB 리뷰
         List<MovieReviewDto> tmdbDtos = new ArrayList<>();
@@ -120,7 +126,7 @@ public class MovieReviewQueryService {
 
         // 4) 너무 많으면 30개까지만 요약에 사용
         List<MovieReviewDto> limited = all.stream()
-                .limit(30)
+                .limit(SUMMARY_SAMPLE_SIZE)
                 .toList();
 
         // 리뷰가 아예 없으면 빈 요약 리턴
@@ -158,18 +164,8 @@ public class MovieReviewQueryService {
 
     // 추후 삭제 예정
     public ReviewWithSummaryResponse getReviewsWithSummary(String movieId) {
-        // 1) 내부 리뷰
-        List<Review> internalReviews = reviewRepository.findByMovieId(movieId);
-
-        List<MovieReviewDto> internalDtos = internalReviews.stream()
-                .map(r -> MovieReviewDto.builder()
-                        .source("INTERNAL")
-                        .author(r.getUser().getName())
-                        .content(r.getComment())
-                        .rating(r.getRating() != null ? r.getRating().doubleValue() : null)
-                        .createdAt(r.getCreatedAt() != null ? r.getCreatedAt().toString() : null)
-                        .build())
-                .toList();
+        // 1) 내부 리뷰 (최신 REVIEWS_WITH_SUMMARY_LIMIT 건까지)
+        List<MovieReviewDto> internalDtos = findLatest(movieId, REVIEWS_WITH_SUMMARY_LIMIT);
 
         // 2) TMDB 리뷰
         List<MovieReviewDto> tmdbDtos = externalReviewService.getTmdbReviews(movieId);
@@ -181,7 +177,7 @@ public class MovieReviewQueryService {
 
         // 4) AI 요약 (너무 많으면 30개까지만 사용)
         List<MovieReviewDto> limited = allReviews.stream()
-                .limit(30)
+                .limit(SUMMARY_SAMPLE_SIZE)
                 .toList();
 
         ReviewSummaryDto summary = reviewAiSummaryService.summarize(limited);
@@ -192,4 +188,25 @@ public class MovieReviewQueryService {
                 .summary(summary)
                 .build();
     }
+
+    // 최신 내부 리뷰 limit 건 (작성자 이름 projection, 쿼리 1회)
+    private List<MovieReviewDto> findLatest(String movieId, int limit) {
+        return reviewRepository.findFirstPageViewsByMovieId(movieId, PageRequest.of(0, limit)).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    private List<ReviewListView> findPageAfter(String movieId, KeysetCursor after, int limit) {
+        return reviewRepository.findPageViewsByMovieIdBefore(movieId, after.createdAt(), after.id(), PageRequest.of(0, limit));
+    }
+
+    private MovieReviewDto toDto(ReviewListView r) {
+        return MovieReviewDto.builder()
+                .source("INTERNAL")
+                .author(r.getAuthor())
+                .content(r.getComment())
+                .rating(r.getRating() != null ? r.getRating().doubleValue() : null)
+                .createdAt(r.getCreatedAt() != null ? r.getCreatedAt().toString() : null)
+                .build();
+    }
 }
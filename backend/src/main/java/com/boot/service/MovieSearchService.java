@@ -1,10 +1,13 @@
 package com.boot.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import co.elastic.clients.elasticsearch._types.SortOrder;
@@ -15,6 +18,7 @@ import co.elastic.clients.elasticsearch.core.search.Suggestion; // Corrected imp
 import co.elastic.clients.elasticsearch._types.SuggestMode; // Corrected import for SuggestMode
 
 import com.boot.dto.*;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.boot.dto.AutocompleteResponse.Item;
 import org.springframework.stereotype.Service;
 
@@ -38,6 +42,8 @@ import com.boot.dto.MovieSearchResponse;
 public class MovieSearchService {
     private static final Logger logger = LoggerFactory.getLogger(MovieSearchService.class); // Logger 인스턴스 생성
     private final ElasticsearchClient elasticsearchClient;
+    private static final Set<String> ADULT_CERTIFICATIONS = Set.of("18", "19+", "19", "청소년관람불가");
+
     private static final List<GenreOption> GENRE_OPTIONS = List.of(
             new GenreOption(28, "액션"),
             new GenreOption(12, "모험"),
@@ -199,6 +205,11 @@ public class MovieSearchService {
                     )
             );
         }
+        // 이미 본 영화 제외 (_id 조회라 목록이 길어도 가벼움, 페이지 크기가 그대로 유지됨)
+        if (request.getExcludedMovieIds() != null && !request.getExcludedMovieIds().isEmpty()) {
+            bool.mustNot(mn -> mn
+                    .ids(i -> i.values(request.getExcludedMovieIds())));
+        }
 
 
         try {
@@ -370,18 +381,32 @@ public class MovieSearchService {
         }
     }
 
-    // 다수 영화 ID로 조회 (Recap 기능용)
+    // 다수 영화 ID로 조회 (전체 필드)
     public List<Movie> getMoviesByIds(List<String> ids) {
+        return getMoviesByIds(ids, null);
+    }
+
+    /**
+     * 필요한 필드만 골라서 다수 영화 조회 (overview 등 큰 필드를 건너뛰어 응답 크기를 줄임)
+     *
+     * @param fields ES 문서 필드명 (예: "runtime", "genre_ids"), null 이거나 비어 있으면 전체 필드
+     */
+    public List<Movie> getMoviesByIds(List<String> ids, List<String> fields) {
         if (ids == null || ids.isEmpty()) {
             return List.of();
         }
         try {
-            SearchResponse<Movie> response = elasticsearchClient.search(s -> s
-                            .index("movies")
-                            .size(ids.size()) // 요청한 ID 개수만큼 조회
-                            .query(q -> q
-                                    .ids(i -> i
-                                            .values(ids))),
+            SearchResponse<Movie> response = elasticsearchClient.search(s -> {
+                        s.index("movies")
+                                .size(ids.size()) // 요청한 ID 개수만큼 조회
+                                .query(q -> q
+                                        .ids(i -> i
+                                                .values(ids)));
+                        if (fields != null && !fields.isEmpty()) {
+                            s.source(src -> src.filter(f -> f.includes(fields)));
+                        }
+                        return s;
+                    },
                     Movie.class);
 
             return response.hits().hits().stream()
@@ -394,6 +419,64 @@ public class MovieSearchService {
         }
     }
 
+    /**
+     * id 순서를 유지한 영화 목록 (협업 필터링 추천 표시용, 미성년자는 청소년관람불가 제외)
+     */
+    public List<MovieDoc> getMovieDocsByIds(List<String> ids, boolean adult) {
+        Map<String, Movie> moviesById = getMoviesByIds(ids).stream()
+                .collect(Collectors.toMap(Movie::getId, m -> m, (a, b) -> a));
+        return ids.stream()
+                .map(moviesById::get)
+                .filter(Objects::nonNull)
+                .filter(m -> adult || !isAdultOnly(m.getCertification()))
+                .map(this::toMovieDoc)
+                .toList();
+    }
+
+    /**
+     * 청소년관람불가 등급인지 (이미 조회한 목록을 미성년자용으로 거를 때)
+     */
+    public static boolean isAdultOnly(String certification) {
+        return ADULT_CERTIFICATIONS.contains(certification);
+    }
+
+    /**
+     * 전체 영화를 id 순으로 batchSize 개씩 훑어서 필요한 필드만 원본 JSON 으로 전달 (search_after)
+     * Movie 클래스에 없는 필드(director, actors, companies 등)도 읽을 수 있음
+     */
+    public void forEachMovieSource(List<String> fields, int batchSize, Consumer<JsonNode> consumer) {
+        List<FieldValue> after = null;
+        try {
+            while (true) {
+                List<FieldValue> searchAfter = after;
+                SearchResponse<JsonNode> response = elasticsearchClient.search(s -> {
+                    s.index("movies")
+                            .size(batchSize)
+                            .source(src -> src.filter(f -> f.includes(fields)))
+                            .sort(sort -> sort.field(f -> f.field("id").order(SortOrder.Asc)));
+                    if (searchAfter != null) {
+                        s.searchAfter(searchAfter);
+                    }
+                    return s;
+                }, JsonNode.class);
+
+                List<Hit<JsonNode>> hits = response.hits().hits();
+                for (Hit<JsonNode> hit : hits) {
+                    if (hit.source() != null) {
+                        consumer.accept(hit.source());
+                    }
+                }
+                if (hits.size() < batchSize) {
+                    return;
+                }
+                after = hits.get(hits.size() - 1).sort();
+            }
+        } catch (IOException e) {
+            logger.error("전체 영화 조회 중 오류 발생: {}", e.getMessage(), e);
+            throw new UncheckedIOException("전체 영화 조회 실패: " + e.getMessage(), e);
+        }
+    }
+
     // 퀵매치용 : 인기 + 평점 순으로 상위 N개의 영화 가져오기
     public List<MovieDoc> findPopularMovies(int size) {
         MovieSearchRequest req = new MovieSearchRequest();
@@ -0,0 +1,180 @@
+package com.boot.service;
+
+import com.boot.dto.MovieVectorResultDto;
+import com.boot.service.MovieVectorizer.MovieContent;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 영화 콘텐츠 벡터 기반 유사 영화 추천 (ES more_like_this 대체 모드)
+ * - 주기적으로 전체 영화의 줄거리/장르/감독/배우/제작사를 읽어 MovieVectorizer 로 벡터화하고 HnswIndex 로 색인
+ * - 벡터는 off-heap 버퍼, 조회는 메모리 그래프 탐색만 수행 (요청마다 ES 유사도 계산 없음)
+ * - 다 만든 뒤 통째로 교체, 서버마다 각자 계산 (ES 데이터에서 결정되므로 동기화 불필요)
+ */
+@Slf4j
+@Service
+public class MovieVectorService {
+
+    private static final List<String> CONTENT_FIELDS =
+            List.of("id", "overview", "genre_ids", "director", "actors", "companies");
+    private static final int SCAN_BATCH_SIZE = 1000;
+    // 서버마다 같은 그래프가 만들어지도록 고정
+    private static final long GRAPH_SEED = 42L;
+
+    private final MovieSearchService movieSearchService;
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public MovieVectorService(MovieSearchService movieSearchService,
+                              @Value("${recommend.vector.dimensions:256}") int dimensions,
+                              @Value("${recommend.vector.m:16}") int m,
+                              @Value("${recommend.vector.ef-construction:200}") int efConstruction,
+                              @Value("${recommend.vector.ef-search:100}") int efSearch) {
+        this.movieSearchService = movieSearchService;
+        this.dimensions = dimensions;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.efSearch = Math.max(1, efSearch);
+    }
+
+    /**
+     * 콘텐츠가 비슷한 영화 id (유사도 높은 순, 색인 전이거나 모르는 영화면 빈 목록)
+     */
+    public List<String> findSimilarMovieIds(String movieId, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || limit <= 0) {
+            return List.of();
+        }
+        Integer node = current.nodeById().get(movieId);
+        if (node == null) {
+            return List.of();
+        }
+        return current.index().searchSimilar(node, limit, Math.max(efSearch, limit)).stream()
+                .map(match -> current.movieIds()[match.node()])
+                .toList();
+    }
+
+    /**
+     * 전체 영화로 벡터/그래프 다시 생성
+     *
+     * @throws IllegalStateException 이미 생성 중
+     */
+    public MovieVectorResultDto rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("영화 벡터 인덱스를 이미 생성 중입니다.");
+        }
+        try {
+            return doRebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recommend.vector.rebuild-interval-ms:86400000}",
+            initialDelayString = "${recommend.vector.initial-delay-ms:90000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (IllegalStateException e) {
+            log.info("영화 벡터 인덱스를 이미 생성 중이라 이번 예약 실행은 건너뜁니다.");
+        } catch (RuntimeException e) {
+            log.warn("영화 벡터 인덱스 생성 실패, 기존 인덱스를 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    private MovieVectorResultDto doRebuild() {
+        long startedAt = System.currentTimeMillis();
+        MovieVectorizer vectorizer = new MovieVectorizer(dimensions);
+
+        // 1) 특징 추출 + 문서 빈도 (벡터화는 전체 빈도가 나온 뒤에)
+        List<String> movieIds = new ArrayList<>();
+        List<Map<String, Integer>> features = new ArrayList<>();
+        AtomicInteger empty = new AtomicInteger();
+        movieSearchService.forEachMovieSource(CONTENT_FIELDS, SCAN_BATCH_SIZE, source -> {
+            String movieId = source.path("id").asText(null);
+            if (movieId == null) {
+                return;
+            }
+            Map<String, Integer> movieFeatures = vectorizer.features(new MovieContent(
+                    source.path("overview").asText(null),
+                    texts(source.path("genre_ids")),
+                    texts(source.path("director")),
+                    texts(source.path("actors")),
+                    texts(source.path("companies"))));
+            if (movieFeatures.isEmpty()) {
+                empty.incrementAndGet();
+                return;
+            }
+            vectorizer.count(movieFeatures);
+            movieIds.add(movieId);
+            features.add(movieFeatures);
+        });
+        long loadedAt = System.currentTimeMillis();
+
+        // 2) 벡터화하면서 바로 그래프에 추가 (특징 맵은 쓰고 바로 버림)
+        HnswIndex index = new HnswIndex(dimensions, movieIds.size(), m, efConstruction, GRAPH_SEED);
+        Map<String, Integer> nodeById = new HashMap<>(movieIds.size() * 2);
+        for (int i = 0; i < movieIds.size(); i++) {
+            int node = index.add(vectorizer.vectorize(features.get(i)));
+            features.set(i, null);
+            nodeById.put(movieIds.get(i), node);
+        }
+        snapshot = new Snapshot(index, movieIds.toArray(String[]::new), nodeById);
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        long offHeapBytes = (long) movieIds.size() * dimensions * Float.BYTES;
+        log.info("영화 벡터 인덱스 생성 완료: 영화 {}편 (정보 없음 {}편), {}차원, 벡터 {}KB (조회 {}ms, 색인 {}ms)",
+                movieIds.size(), empty.get(), dimensions, offHeapBytes / 1024, loadedAt - startedAt, elapsed - (loadedAt - startedAt));
+
+        return MovieVectorResultDto.builder()
+                .movies(movieIds.size())
+                .dimensions(dimensions)
+                .emptyMovies(empty.get())
+                .offHeapBytes(offHeapBytes)
+                .loadMillis(loadedAt - startedAt)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // 문자열 / 숫자 / 배열 / 객체 배열({"name": ...}) 모두 문자열 목록으로
+    private static List<String> texts(JsonNode node) {
+        if (node == null || node.isMissingNode() || node.isNull()) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                String value = element.isObject() ? element.path("name").asText(null) : element.asText(null);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        } else if (node.isObject()) {
+            String value = node.path("name").asText(null);
+            if (value != null) {
+                values.add(value);
+            }
+        } else {
+            values.add(node.asText());
+        }
+        return values;
+    }
+
+    private record Snapshot(HnswIndex index, String[] movieIds, Map<String, Integer> nodeById) {
+    }
+}
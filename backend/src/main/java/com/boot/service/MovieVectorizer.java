@@ -0,0 +1,197 @@
+package com.boot.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 영화 콘텐츠 벡터 생성 (외부 모델 없이 feature hashing, 스프링 의존성 없음)
+ * - 줄거리 단어 / 장르 / 감독 / 배우 / 제작사를 특징으로 뽑고, 해시로 고정 차원 벡터의 한 칸(+/- 부호)에 더함
+ * - 특징 가중치는 (1 + log tf) × idf, 전체 영화로 문서 빈도를 센 뒤 벡터화 (많은 영화에 나오는 특징일수록 약하게)
+ * - 필드 묶음마다 따로 정규화한 뒤 필드별 가중치로 합쳐서, 줄거리가 긴 영화라도 장르/인물 영향이 유지되도록 함
+ * - 줄거리는 한국어 형태소 분석 없이 공백 단위 단어 + 한글은 2글자 조각으로 나눔
+ * - 사용 순서: features → count (전체 영화) → vectorize (스레드 안전하지 않음)
+ */
+public final class MovieVectorizer {
+
+    private static final float OVERVIEW_WEIGHT = 1.0f;
+    private static final float GENRE_WEIGHT = 1.2f;
+    private static final float DIRECTOR_WEIGHT = 0.6f;
+    private static final float ACTOR_WEIGHT = 0.8f;
+    private static final float COMPANY_WEIGHT = 0.4f;
+    // 주연 위주로만 사용 (단역까지 넣으면 잡음이 커짐)
+    private static final int MAX_ACTORS = 5;
+
+    private static final char OVERVIEW = 'w';
+    private static final char GENRE = 'g';
+    private static final char DIRECTOR = 'd';
+    private static final char ACTOR = 'a';
+    private static final char COMPANY = 'c';
+    private static final char[] FIELDS = {OVERVIEW, GENRE, DIRECTOR, ACTOR, COMPANY};
+
+    private final int dimensions;
+    private final Map<String, Integer> documentFrequency = new HashMap<>();
+    private int documents;
+
+    public MovieVectorizer(int dimensions) {
+        if (dimensions < 8) {
+            throw new IllegalArgumentException("dimensions 는 8 이상이어야 합니다.");
+        }
+        this.dimensions = dimensions;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * 영화 하나의 특징 → 등장 횟수 (키는 "필드:값")
+     */
+    public Map<String, Integer> features(MovieContent content) {
+        Map<String, Integer> features = new HashMap<>();
+        if (content.overview() != null) {
+            for (String token : content.overview().toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                addOverviewToken(features, token);
+            }
+        }
+        addAll(features, GENRE, content.genres(), Integer.MAX_VALUE);
+        addAll(features, DIRECTOR, content.directors(), Integer.MAX_VALUE);
+        addAll(features, ACTOR, content.actors(), MAX_ACTORS);
+        addAll(features, COMPANY, content.companies(), Integer.MAX_VALUE);
+        return features;
+    }
+
+    /**
+     * 문서 빈도 집계 (vectorize 전에 모든 영화에 대해 한 번씩)
+     */
+    public void count(Map<String, Integer> features) {
+        documents++;
+        for (String feature : features.keySet()) {
+            documentFrequency.merge(feature, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * L2 정규화된 벡터 (특징이 하나도 없으면 0 벡터)
+     */
+    public float[] vectorize(Map<String, Integer> features) {
+        float[] vector = new float[dimensions];
+        float[] field = new float[dimensions];
+        for (char name : FIELDS) {
+            Arrays.fill(field, 0f);
+            boolean any = false;
+            for (Map.Entry<String, Integer> entry : features.entrySet()) {
+                String feature = entry.getKey();
+                if (feature.charAt(0) != name) {
+                    continue;
+                }
+                float weight = (float) ((1 + Math.log(entry.getValue())) * idf(feature));
+                long hash = hash(feature);
+                int slot = (int) Long.remainderUnsigned(hash >>> 1, dimensions);
+                field[slot] += (hash & 1) == 0 ? weight : -weight;
+                any = true;
+            }
+            if (any && normalize(field)) {
+                float fieldWeight = fieldWeight(name);
+                for (int i = 0; i < dimensions; i++) {
+                    vector[i] += field[i] * fieldWeight;
+                }
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+
+    private double idf(String feature) {
+        int df = documentFrequency.getOrDefault(feature, 0);
+        return Math.log((documents + 1.0) / (df + 1.0)) + 1.0;
+    }
+
+    private void addOverviewToken(Map<String, Integer> features, String token) {
+        if (token.length() < 2) {
+            return;
+        }
+        if (containsHangul(token)) {
+            // 조사/어미가 붙어 있어도 겹치도록 2글자 조각 사용 (예: "복수를" → "복수", "수를")
+            for (int i = 0; i + 2 <= token.length(); i++) {
+                features.merge(OVERVIEW + ":" + token.substring(i, i + 2), 1, Integer::sum);
+            }
+        } else {
+            features.merge(OVERVIEW + ":" + token, 1, Integer::sum);
+        }
+    }
+
+    private static void addAll(Map<String, Integer> features, char field, List<String> values, int limit) {
+        if (values == null) {
+            return;
+        }
+        int added = 0;
+        for (String value : values) {
+            if (added >= limit) {
+                break;
+            }
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            features.merge(field + ":" + value.trim().toLowerCase(Locale.ROOT), 1, Integer::sum);
+            added++;
+        }
+    }
+
+    private static boolean containsHangul(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.UnicodeScript.of(token.charAt(i)) == Character.UnicodeScript.HANGUL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float fieldWeight(char field) {
+        return switch (field) {
+            case GENRE -> GENRE_WEIGHT;
+            case DIRECTOR -> DIRECTOR_WEIGHT;
+            case ACTOR -> ACTOR_WEIGHT;
+            case COMPANY -> COMPANY_WEIGHT;
+            default -> OVERVIEW_WEIGHT;
+        };
+    }
+
+    // 0 벡터면 false
+    private static boolean normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return false;
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return true;
+    }
+
+    // 64비트 FNV-1a + 비트 섞기 (String.hashCode 보다 충돌이 적고 서버마다 결과가 같음)
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * 벡터화에 쓰는 영화 정보 (없는 필드는 null)
+     */
+    public record MovieContent(String overview, List<String> genres, List<String> directors,
+                               List<String> actors, List<String> companies) {
+    }
+}
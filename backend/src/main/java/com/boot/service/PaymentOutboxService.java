@@ -0,0 +1,280 @@
+package com.boot.service;
+
+import com.boot.dto.PaymentConfirmRequest;
+import com.boot.entity.Payment;
+import com.boot.entity.PaymentOutbox;
+import com.boot.repository.BookingRepository;
+import com.boot.repository.PaymentOutboxRepository;
+import com.boot.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 결제 승인/취소의 DB 상태 전이 (짧은 트랜잭션만 담당, 외부 호출 없음)
+ * 1. 요청 기록: Payment 상태 + outbox 를 같은 트랜잭션에 저장
+ * 2. (트랜잭션 밖) 토스 호출 - PaymentService
+ * 3. 결과 반영: complete / reject / scheduleRetry
+ * - 승인 결과가 나오기 전의 취소는 토스에 바로 보내지 않고, 승인이 성공하면 그때 환불 요청을 기록
+ *   (먼저 보낸 취소가 거절된 뒤 승인 재시도가 성공하면 취소된 예매에 결제만 남기 때문)
+ */
+@Slf4j
+@Service
+@Transactional
+public class PaymentOutboxService {
+
+    private static final int MAX_ATTEMPTS = 10;
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final BookingRepository bookingRepository;
+    // 호출 중인 요청을 재처리 워커가 가로채지 않도록 비워두는 시간 (토스 응답 타임아웃보다 길게)
+    private final Duration claimTimeout;
+
+    public PaymentOutboxService(PaymentRepository paymentRepository,
+                                PaymentOutboxRepository paymentOutboxRepository,
+                                BookingRepository bookingRepository,
+                                @Value("${toss.payments.claim-timeout:60s}") Duration claimTimeout) {
+        this.paymentRepository = paymentRepository;
+        this.paymentOutboxRepository = paymentOutboxRepository;
+        this.bookingRepository = bookingRepository;
+        this.claimTimeout = claimTimeout;
+    }
+
+    /**
+     * 결제 승인 요청 기록 (Payment: IN_PROGRESS)
+     *
+     * @return 이미 승인된 결제면 payment 만 채워진 결과
+     * @throws IllegalStateException 같은 결제가 승인 처리 중
+     */
+    public ConfirmIntent recordConfirm(PaymentConfirmRequest request) {
+        Optional<Payment> existing = paymentRepository.findByPaymentKey(request.getPaymentKey());
+        Payment payment;
+        if (existing.isPresent()) {
+            payment = existing.get();
+            if (payment.getStatus() == Payment.PaymentStatus.DONE) {
+                return new ConfirmIntent(null, payment);
+            }
+            if (payment.getStatus() == Payment.PaymentStatus.IN_PROGRESS) {
+                throw new IllegalStateException("결제 승인 처리 중입니다.");
+            }
+            if (payment.getStatus() == Payment.PaymentStatus.CANCELED) {
+                throw new IllegalStateException("이미 취소된 결제입니다.");
+            }
+        } else {
+            payment = new Payment();
+            payment.setPaymentKey(request.getPaymentKey());
+        }
+        payment.setOrderId(request.getOrderId());
+        payment.setUserId(request.getUserId());
+        payment.setBookingId(request.getBookingId());
+        payment.setAmount(request.getAmount());
+        payment.setMethod(request.getMethod());
+        payment.setOrderName(request.getOrderName());
+        payment.setCancelReason(null);
+        payment.setStatus(Payment.PaymentStatus.IN_PROGRESS);
+        paymentRepository.save(payment);
+
+        PaymentOutbox outbox = createClaimed(request.getPaymentKey(), PaymentOutbox.Operation.CONFIRM, null);
+        return new ConfirmIntent(outbox.getId(), payment);
+    }
+
+    /**
+     * 결제 취소 요청 기록 (호출 측 트랜잭션이 있으면 함께 커밋됨)
+     *
+     * @return 새로 기록된 요청 id, 이미 같은 취소가 처리 중이거나 승인 결과를 기다리는 중이면 null
+     * (재처리 워커가 마무리, 승인 대기 중이면 승인 성공 시 complete 에서 환불 요청을 기록)
+     * @throws IllegalArgumentException 결제 정보 없음
+     * @throws IllegalStateException    이미 취소된 결제
+     */
+    public Long recordCancel(String paymentKey, String cancelReason) {
+        Payment payment = paymentRepository.findByPaymentKey(paymentKey)
+                .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다."));
+        if (payment.getStatus() == Payment.PaymentStatus.CANCELED) {
+            throw new IllegalStateException("이미 취소된 결제입니다.");
+        }
+        if (findPending(paymentKey, PaymentOutbox.Operation.CANCEL).isPresent()) {
+            return null;
+        }
+        if (payment.getStatus() == Payment.PaymentStatus.IN_PROGRESS
+                && findPending(paymentKey, PaymentOutbox.Operation.CONFIRM).isPresent()) {
+            // 취소 의사만 남겨둠 (승인 실패면 환불할 것이 없고, 성공하면 complete 에서 환불 요청)
+            payment.setCancelReason(cancelReason);
+            log.info("결제 승인 결과 대기 중 취소 요청 - 승인 성공 시 환불 예정. paymentKey={}", paymentKey);
+            return null;
+        }
+        return createClaimed(paymentKey, PaymentOutbox.Operation.CANCEL, cancelReason).getId();
+    }
+
+    /**
+     * 재처리 워커가 요청을 가져감 (다른 인스턴스와 동시에 잡으면 @Version 충돌로 한쪽만 성공)
+     *
+     * @return 이번에 처리할 권한을 얻었으면 true
+     */
+    public boolean claim(Long outboxId) {
+        PaymentOutbox outbox = paymentOutboxRepository.findById(outboxId).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        if (outbox == null || !outbox.isPending() || outbox.getNextAttemptAt().isAfter(now)) {
+            return false;
+        }
+        outbox.startAttempt(now.plus(claimTimeout));
+        paymentOutboxRepository.saveAndFlush(outbox);
+        return true;
+    }
+
+    /**
+     * 토스 호출에 필요한 값 (외부 호출 전에 읽어 두고 트랜잭션은 바로 종료)
+     */
+    @Transactional(readOnly = true)
+    public TossCall loadCall(Long outboxId) {
+        PaymentOutbox outbox = paymentOutboxRepository.findById(outboxId)
+                .orElseThrow(() -> new IllegalArgumentException("결제 요청 기록을 찾을 수 없습니다."));
+        Payment payment = paymentRepository.findByPaymentKey(outbox.getPaymentKey())
+                .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다."));
+        return new TossCall(outbox.getOperation(), payment.getPaymentKey(), payment.getOrderId(),
+                payment.getAmount(), outbox.getCancelReason(), idempotencyKey(outbox));
+    }
+
+    // 재시도해도 같은 outbox 행이면 같은 키 → 토스에서 한 번만 처리
+    private String idempotencyKey(PaymentOutbox outbox) {
+        return outbox.getOperation().name().toLowerCase() + "-" + outbox.getId();
+    }
+
+    /**
+     * 토스 처리 성공 반영
+     */
+    public Payment complete(Long outboxId) {
+        PaymentOutbox outbox = paymentOutboxRepository.findById(outboxId)
+                .orElseThrow(() -> new IllegalArgumentException("결제 요청 기록을 찾을 수 없습니다."));
+        Payment payment = paymentRepository.findByPaymentKey(outbox.getPaymentKey())
+                .orElseThrow(() -> new IllegalArgumentException("결제 정보를 찾을 수 없습니다."));
+        if (!outbox.isPending()) {
+            return payment;
+        }
+
+        if (outbox.getOperation() == PaymentOutbox.Operation.CONFIRM) {
+            boolean refundRequired = needsRefundAfterConfirm(payment);
+            payment.setStatus(Payment.PaymentStatus.DONE);
+            payment.setApprovedAt(LocalDateTime.now());
+            if (refundRequired) {
+                requestRefund(payment);
+            }
+        } else {
+            payment.setStatus(Payment.PaymentStatus.CANCELED);
+            payment.setCancelReason(outbox.getCancelReason());
+            payment.setCanceledAt(LocalDateTime.now());
+        }
+        outbox.complete();
+        return payment;
+    }
+
+    /**
+     * 토스가 거절한 요청 반영 (재시도해도 같은 결과)
+     */
+    public void reject(Long outboxId, String error) {
+        PaymentOutbox outbox = paymentOutboxRepository.findById(outboxId).orElse(null);
+        if (outbox == null || !outbox.isPending()) {
+            return;
+        }
+        outbox.fail(error);
+        if (outbox.getOperation() == PaymentOutbox.Operation.CONFIRM) {
+            paymentRepository.findByPaymentKey(outbox.getPaymentKey()).ifPresent(payment -> {
+                if (payment.getStatus() == Payment.PaymentStatus.IN_PROGRESS) {
+                    payment.setStatus(Payment.PaymentStatus.ABORTED);
+                }
+            });
+        } else {
+            // 예매는 이미 취소된 상태일 수 있으므로 수동 환불 확인 필요
+            log.error("결제 취소 거절 - 수동 확인 필요. paymentKey={}, error={}", outbox.getPaymentKey(), error);
+        }
+    }
+
+    /**
+     * 결과 미확인 (타임아웃/5xx) → 지수 백오프로 재시도 예약, 한도 초과 시 FAILED
+     */
+    public void scheduleRetry(Long outboxId, String error) {
+        PaymentOutbox outbox = paymentOutboxRepository.findById(outboxId).orElse(null);
+        if (outbox == null || !outbox.isPending()) {
+            return;
+        }
+        if (outbox.getAttempts() >= MAX_ATTEMPTS) {
+            outbox.fail(error);
+            log.error("토스 요청 재시도 한도 초과 - 수동 확인 필요. paymentKey={}, operation={}, error={}",
+                    outbox.getPaymentKey(), outbox.getOperation(), error);
+            return;
+        }
+        long factor = 1L << Math.min(outbox.getAttempts() - 1, 10);
+        Duration backoff = BASE_BACKOFF.multipliedBy(Math.max(1, factor));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        outbox.retryAt(LocalDateTime.now().plus(backoff), error);
+    }
+
+    private Optional<PaymentOutbox> findPending(String paymentKey, PaymentOutbox.Operation operation) {
+        return paymentOutboxRepository.findFirstByPaymentKeyAndOperationAndStatus(
+                paymentKey, operation, PaymentOutbox.Status.PENDING);
+    }
+
+    // 승인 대기 중에 취소 요청이 들어왔거나, 결제/예매가 이미 취소된 상태에서 승인이 성공한 경우
+    private boolean needsRefundAfterConfirm(Payment payment) {
+        if (payment.getCancelReason() != null || payment.getStatus() == Payment.PaymentStatus.CANCELED) {
+            return true;
+        }
+        return payment.getBookingId() != null && bookingRepository.findById(payment.getBookingId())
+                .map(booking -> "CANCELLED".equals(booking.getBookingStatus()))
+                .orElse(false);
+    }
+
+    // 승인된 결제의 환불 요청 기록 (바로 재처리 대상, 토스 호출은 PaymentReconciler 가 트랜잭션 밖에서 수행)
+    private void requestRefund(Payment payment) {
+        if (findPending(payment.getPaymentKey(), PaymentOutbox.Operation.CANCEL).isPresent()) {
+            return;
+        }
+        String cancelReason = payment.getCancelReason() != null ? payment.getCancelReason() : "취소된 예매의 결제 환불";
+        paymentOutboxRepository.save(PaymentOutbox.builder()
+                .paymentKey(payment.getPaymentKey())
+                .operation(PaymentOutbox.Operation.CANCEL)
+                .cancelReason(cancelReason)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.warn("취소된 예매의 결제가 승인되어 환불을 요청합니다. paymentKey={}, bookingId={}",
+                payment.getPaymentKey(), payment.getBookingId());
+    }
+
+    // 요청 스레드가 바로 호출할 것이므로 처음부터 claim 된 상태로 저장
+    private PaymentOutbox createClaimed(String paymentKey, PaymentOutbox.Operation operation, String cancelReason) {
+        LocalDateTime claimUntil = LocalDateTime.now().plus(claimTimeout);
+        PaymentOutbox outbox = PaymentOutbox.builder()
+                .paymentKey(paymentKey)
+                .operation(operation)
+                .cancelReason(cancelReason)
+                .nextAttemptAt(claimUntil)
+                .build();
+        outbox.startAttempt(claimUntil);
+        return paymentOutboxRepository.save(outbox);
+    }
+
+    /**
+     * outboxId == null 이면 이미 승인 완료된 결제
+     */
+    public record ConfirmIntent(Long outboxId, Payment payment) {
+        public boolean alreadyDone() {
+            return outboxId == null;
+        }
+    }
+
+    /**
+     * idempotencyKey: outbox 행 단위 (같은 결제의 부분 취소가 여러 번이어도 서로 다른 요청으로 처리됨)
+     */
+    public record TossCall(PaymentOutbox.Operation operation, String paymentKey, String orderId,
+                           Integer amount, String cancelReason, String idempotencyKey) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.boot.service;
+
+import com.boot.entity.PaymentOutbox;
+import com.boot.repository.PaymentOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 결제 outbox 재처리 워커
+ * - 요청 기록 후 토스 호출 전/도중에 서버가 죽었거나, 타임아웃으로 결과를 모르는 요청을 다시 처리
+ * - 같은 Idempotency-Key 로 재호출하므로 토스에서는 한 번만 처리됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentReconciler {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final PaymentOutboxService paymentOutboxService;
+    private final PaymentService paymentService;
+
+    // 30초마다 재시도 시각이 지난 요청 처리
+    @Scheduled(fixedDelay = 30000)
+    public void reconcile() {
+        List<Long> dueIds = paymentOutboxRepository.findDueIds(
+                PaymentOutbox.Status.PENDING, LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+
+        for (Long outboxId : dueIds) {
+            try {
+                if (!paymentOutboxService.claim(outboxId)) {
+                    continue;
+                }
+                PaymentService.ProcessResult result = paymentService.process(outboxId);
+                log.info("결제 요청 재처리. outboxId={}, result={}", outboxId, result.status());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // 다른 인스턴스가 먼저 가져감
+                log.debug("결제 요청 재처리 건너뜀 (이미 처리 중). outboxId={}", outboxId);
+            } catch (Exception e) {
+                log.error("결제 요청 재처리 실패. outboxId={}, error={}", outboxId, e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -3,134 +3,138 @@ package com.boot.service;
 import com.boot.dto.PaymentCancelRequest;
 import com.boot.dto.PaymentConfirmRequest;
 import com.boot.entity.Payment;
+import com.boot.entity.PaymentOutbox;
 import com.boot.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * 결제 승인/취소
+ * - 토스 호출은 DB 트랜잭션 밖에서 수행 (느린 PG 응답이 JDBC 커넥션을 붙잡지 않도록)
+ * - 요청 기록 → 토스 호출 → 결과 반영 순서, 중간에 실패하면 PaymentReconciler 가 이어서 처리
+ */
+@Slf4j
 @Service
 public class PaymentService {
 
     @Autowired
     private PaymentRepository paymentRepository;
 
-    @Value("${toss.payments.secret.key:test_sk_zXLkKEypNArWmo50nX3lmeaxYG5R}")
-    private String tossSecretKey;
+    @Autowired
+    private PaymentOutboxService paymentOutboxService;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private TossPaymentsClient tossPaymentsClient;
 
     /**
      * 결제 승인 및 DB 저장
+     * 결과 미확인(타임아웃 등)이면 pending=true 로 응답하고 재처리 워커가 마무리
      */
-    @Transactional
     public Map<String, Object> confirmPayment(PaymentConfirmRequest request) {
+        // 1. 승인 요청 기록 (짧은 트랜잭션)
+        PaymentOutboxService.ConfirmIntent intent;
         try {
-            // 1. 토스페이먼츠에 결제 승인 요청
-            String url = "https://api.tosspayments.com/v1/payments/confirm";
-
-            String auth = tossSecretKey + ":";
-            String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Basic " + encodedAuth);
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("paymentKey", request.getPaymentKey());
-            body.put("orderId", request.getOrderId());
-            body.put("amount", request.getAmount());
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-            Map<String, Object> tossResponse = response.getBody();
-
-            // 2. DB에 결제 정보 저장
-            Payment payment = new Payment();
-            payment.setPaymentKey(request.getPaymentKey());
-            payment.setOrderId(request.getOrderId());
-            payment.setUserId(request.getUserId());
-            payment.setBookingId(request.getBookingId());
-            payment.setAmount(request.getAmount());
-            payment.setMethod(request.getMethod());
-            payment.setOrderName(request.getOrderName());
-            payment.setStatus(Payment.PaymentStatus.DONE);
-            payment.setApprovedAt(LocalDateTime.now());
-
-            paymentRepository.save(payment);
-
-            // 3. 응답 반환
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("payment", payment);
-            result.put("tossResponse", tossResponse);
-
-            return result;
-
-        } catch (Exception e) {
-            throw new RuntimeException("결제 승인 실패: " + e.getMessage());
+            intent = paymentOutboxService.recordConfirm(request);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 paymentKey 로 동시에 들어온 요청
+            throw new IllegalStateException("결제 승인 처리 중입니다.");
         }
+        if (intent.alreadyDone()) {
+            return toResult(ProcessResult.done(intent.payment(), null));
+        }
+
+        // 2~3. 토스 호출 후 결과 반영
+        ProcessResult result = process(intent.outboxId());
+        if (result.status() == ProcessStatus.REJECTED) {
+            throw new RuntimeException("결제 승인 실패: " + result.error());
+        }
+        return toResult(result);
     }
 
     /**
      * 결제 취소 및 DB 업데이트
      */
-    @Transactional
     public Map<String, Object> cancelPayment(PaymentCancelRequest request) {
-        try {
-            // 1. DB에서 결제 정보 조회
-            Payment payment = paymentRepository.findByPaymentKey(request.getPaymentKey())
-                    .orElseThrow(() -> new RuntimeException("결제 정보를 찾을 수 없습니다."));
-
-            // 2. 이미 취소된 결제인지 확인
-            if (payment.getStatus() == Payment.PaymentStatus.CANCELED) {
-                throw new RuntimeException("이미 취소된 결제입니다.");
-            }
-
-            // 3. 토스페이먼츠에 취소 요청
-            String url = "https://api.tosspayments.com/v1/payments/" + request.getPaymentKey() + "/cancel";
+        // 1. 취소 요청 기록 (짧은 트랜잭션)
+        Long outboxId = paymentOutboxService.recordCancel(request.getPaymentKey(), request.getCancelReason());
+        if (outboxId == null) {
+            return toResult(ProcessResult.pending("결제 취소가 접수되어 처리 중입니다."));
+        }
 
-            String auth = tossSecretKey + ":";
-            String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+        // 2~3. 토스 호출 후 결과 반영
+        ProcessResult result = process(outboxId);
+        if (result.status() == ProcessStatus.REJECTED) {
+            throw new RuntimeException("결제 취소 실패: " + result.error());
+        }
+        return toResult(result);
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Basic " + encodedAuth);
+    /**
+     * 기록된 요청 하나를 처리 (트랜잭션 밖에서 호출해야 함)
+     * 요청 스레드와 PaymentReconciler 가 공용으로 사용
+     */
+    public ProcessResult process(Long outboxId) {
+        PaymentOutboxService.TossCall call = paymentOutboxService.loadCall(outboxId);
 
-            Map<String, String> body = new HashMap<>();
-            body.put("cancelReason", request.getCancelReason());
+        Map<String, Object> tossResponse;
+        try {
+            tossResponse = call.operation() == PaymentOutbox.Operation.CONFIRM
+                    ? tossPaymentsClient.confirm(call.paymentKey(), call.orderId(), call.amount(), call.idempotencyKey())
+                    : tossPaymentsClient.cancel(call.paymentKey(), call.cancelReason(), call.idempotencyKey());
+        } catch (TossPaymentsClient.TossPaymentException e) {
+            if (e.isRejected()) {
+                paymentOutboxService.reject(outboxId, e.getMessage());
+                return ProcessResult.rejected(e.getMessage());
+            }
+            log.warn("토스 결과 미확인, 재시도 예약. paymentKey={}, operation={}, error={}",
+                    call.paymentKey(), call.operation(), e.getMessage());
+            paymentOutboxService.scheduleRetry(outboxId, e.getMessage());
+            return ProcessResult.pending("결제 결과를 확인 중입니다. 잠시 후 다시 확인해주세요.");
+        }
 
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(body, headers);
+        Payment payment = paymentOutboxService.complete(outboxId);
+        return ProcessResult.done(payment, tossResponse);
+    }
 
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-            Map<String, Object> tossResponse = response.getBody();
+    private Map<String, Object> toResult(ProcessResult result) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", result.status() == ProcessStatus.DONE);
+        if (result.status() == ProcessStatus.PENDING) {
+            response.put("pending", true);
+            response.put("message", result.error());
+        }
+        if (result.payment() != null) {
+            response.put("payment", result.payment());
+        }
+        if (result.tossResponse() != null) {
+            response.put("tossResponse", result.tossResponse());
+        }
+        return response;
+    }
 
-            // 4. DB 상태 업데이트
-            payment.setStatus(Payment.PaymentStatus.CANCELED);
-            payment.setCancelReason(request.getCancelReason());
-            payment.setCanceledAt(LocalDateTime.now());
-            paymentRepository.save(payment);
+    public enum ProcessStatus {
+        DONE,     // 토스 처리 완료 + DB 반영
+        REJECTED, // 토스가 거절
+        PENDING   // 결과 미확인 → 재처리 대기
+    }
 
-            // 5. 응답 반환
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("payment", payment);
-            result.put("tossResponse", tossResponse);
+    public record ProcessResult(ProcessStatus status, Payment payment, Map<String, Object> tossResponse, String error) {
+        static ProcessResult done(Payment payment, Map<String, Object> tossResponse) {
+            return new ProcessResult(ProcessStatus.DONE, payment, tossResponse, null);
+        }
 
-            return result;
+        static ProcessResult rejected(String error) {
+            return new ProcessResult(ProcessStatus.REJECTED, null, null, error);
+        }
 
-        } catch (Exception e) {
-            throw new RuntimeException("결제 취소 실패: " + e.getMessage());
+        static ProcessResult pending(String message) {
+            return new ProcessResult(ProcessStatus.PENDING, null, null, message);
         }
     }
 
@@ -9,13 +9,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
 import java.util.UUID;
@@ -26,20 +25,22 @@ public class QrAuthService {
     private static final String QR_SESSION_KEY_PREFIX = "qr:session:";
     private static final Duration QR_SESSION_TIMEOUT = Duration.ofMinutes(5); // 5분 만료
 
-    private final StringRedisTemplate redisTemplate;
+    private final QrSessionStore sessionStore;
     private final ObjectMapper objectMapper;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
     private final UserService userService; // UserService 주입
+    private final QrStatusNotifier qrStatusNotifier;
 
-    public QrAuthService(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+    public QrAuthService(QrSessionStore sessionStore, ObjectMapper objectMapper,
                          JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService,
-                         UserService userService) { // 생성자에 UserService 추가
-        this.redisTemplate = redisTemplate;
+                         UserService userService, QrStatusNotifier qrStatusNotifier) { // 생성자에 UserService 추가
+        this.sessionStore = sessionStore;
         this.objectMapper = objectMapper;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
         this.userService = userService;
+        this.qrStatusNotifier = qrStatusNotifier;
     }
 
     @Data
@@ -58,8 +59,8 @@ public class QrAuthService {
         QrSessionState initialState = new QrSessionState(QrAuthStatus.PENDING, null, null);
         try {
             String sessionJson = objectMapper.writeValueAsString(initialState);
-            redisTemplate.opsForValue().set(redisKey, sessionJson, QR_SESSION_TIMEOUT);
-            System.out.println("Generated QR session in Redis: " + sessionId);
+            sessionStore.save(redisKey, sessionJson, QR_SESSION_TIMEOUT);
+            System.out.println("Generated QR session: " + sessionId);
         } catch (JsonProcessingException e) {
             System.err.println("Error serializing QR session state: " + e.getMessage());
             throw new RuntimeException("Failed to generate QR session.", e);
@@ -69,11 +70,10 @@ public class QrAuthService {
 
     public boolean authenticateSession(String sessionId, String mobileAuthToken, String username, String password) {
         String redisKey = QR_SESSION_KEY_PREFIX + sessionId;
-        ValueOperations<String, String> ops = redisTemplate.opsForValue();
-        String sessionJson = ops.get(redisKey);
+        String sessionJson = sessionStore.find(redisKey).orElse(null);
 
         if (sessionJson == null) {
-            System.out.println("Session " + sessionId + " not found or expired in Redis.");
+            System.out.println("Session " + sessionId + " not found or expired.");
             return false;
         }
 
@@ -92,7 +92,7 @@ public class QrAuthService {
             if (StringUtils.hasText(mobileAuthToken)) {
                 // 기존 로직: 모바일 토큰으로 인증
                 if (!jwtTokenProvider.validateToken(mobileAuthToken)) {
-                    updateSessionStatus(redisKey, sessionState, QrAuthStatus.FAILED, null, null);
+                    updateSessionStatus(redisKey, sessionJson, sessionState, QrAuthStatus.FAILED, null, null);
                     System.out.println("Session " + sessionId + " authentication failed: Invalid mobileAuthToken.");
                     return false;
                 }
@@ -111,20 +111,23 @@ public class QrAuthService {
                     userIdentifier = username;
                     webJwtToken = tokenInfo.getAccessToken(); // 로그인 성공 후 발급된 토큰 사용
                 } catch (AuthenticationException | IllegalArgumentException e) {
-                    updateSessionStatus(redisKey, sessionState, QrAuthStatus.FAILED, null, null);
+                    updateSessionStatus(redisKey, sessionJson, sessionState, QrAuthStatus.FAILED, null, null);
                     System.out.println("Session " + sessionId + " authentication failed for user " + username + ": " + e.getMessage());
                     return false;
                 }
             } else {
                 // 인증 정보가 전혀 없는 경우
-                updateSessionStatus(redisKey, sessionState, QrAuthStatus.FAILED, null, null);
+                updateSessionStatus(redisKey, sessionJson, sessionState, QrAuthStatus.FAILED, null, null);
                 System.out.println("Session " + sessionId + " authentication failed: No credentials provided.");
                 return false;
             }
 
-            // 2. 인증 성공 후 세션 상태 업데이트
-            updateSessionStatus(redisKey, sessionState, QrAuthStatus.AUTHENTICATED, userIdentifier, webJwtToken);
-            System.out.println("Session " + sessionId + " authenticated by user: " + userIdentifier + " in Redis.");
+            // 2. 인증 성공 후 세션 상태 업데이트 (그 사이 다른 요청이 먼저 처리했으면 실패)
+            if (!updateSessionStatus(redisKey, sessionJson, sessionState, QrAuthStatus.AUTHENTICATED, userIdentifier, webJwtToken)) {
+                System.out.println("Session " + sessionId + " was already processed by another request.");
+                return false;
+            }
+            System.out.println("Session " + sessionId + " authenticated by user: " + userIdentifier + ".");
             return true;
 
         } catch (JsonProcessingException e) {
@@ -133,8 +136,11 @@ public class QrAuthService {
         } catch (Exception e) {
             // 예상치 못한 오류 발생 시 FAILED 처리
             try {
-                QrSessionState sessionState = objectMapper.readValue(ops.get(redisKey), QrSessionState.class);
-                updateSessionStatus(redisKey, sessionState, QrAuthStatus.FAILED, null, null);
+                String currentJson = sessionStore.find(redisKey).orElseThrow();
+                QrSessionState sessionState = objectMapper.readValue(currentJson, QrSessionState.class);
+                if (sessionState.getStatus() == QrAuthStatus.PENDING) {
+                    updateSessionStatus(redisKey, currentJson, sessionState, QrAuthStatus.FAILED, null, null);
+                }
             } catch (Exception innerEx) {
                 System.err.println("Failed to update session to FAILED after an exception: " + innerEx.getMessage());
             }
@@ -143,16 +149,24 @@ public class QrAuthService {
         }
     }
 
-    private void updateSessionStatus(String redisKey, QrSessionState sessionState, QrAuthStatus status, String userId, String jwtToken) throws JsonProcessingException {
+    // 조회한 뒤 바뀌지 않았을 때만 상태 변경 (같은 세션을 두 번 인증하지 않도록)
+    private boolean updateSessionStatus(String redisKey, String expectedJson, QrSessionState sessionState, QrAuthStatus status, String userId, String jwtToken) throws JsonProcessingException {
         sessionState.setStatus(status);
         sessionState.setUserId(userId);
         sessionState.setJwtToken(jwtToken);
-        redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(sessionState), QR_SESSION_TIMEOUT);
+        if (!sessionStore.compareAndSet(redisKey, expectedJson, objectMapper.writeValueAsString(sessionState), QR_SESSION_TIMEOUT)) {
+            return false;
+        }
+
+        // 상태 변경을 기다리는 웹 클라이언트에 바로 알림
+        String sessionId = redisKey.substring(QR_SESSION_KEY_PREFIX.length());
+        qrStatusNotifier.publish(toStatusResponse(sessionId, sessionState));
+        return true;
     }
 
     public QrSessionStatusResponse getSessionStatus(String sessionId) {
         String redisKey = QR_SESSION_KEY_PREFIX + sessionId;
-        String sessionJson = redisTemplate.opsForValue().get(redisKey);
+        String sessionJson = sessionStore.find(redisKey).orElse(null);
 
         if (sessionJson == null) {
             return new QrSessionStatusResponse(sessionId, QrAuthStatus.EXPIRED, null, "Session not found or expired.");
@@ -160,11 +174,23 @@ public class QrAuthService {
 
         try {
             QrSessionState sessionState = objectMapper.readValue(sessionJson, QrSessionState.class);
-            String token = (sessionState.getStatus() == QrAuthStatus.AUTHENTICATED) ? sessionState.getJwtToken() : null;
-            return new QrSessionStatusResponse(sessionId, sessionState.getStatus(), token, "Current status: " + sessionState.getStatus().name());
+            return toStatusResponse(sessionId, sessionState);
         } catch (JsonProcessingException e) {
             System.err.println("Error deserializing QR session state for " + sessionId + ": " + e.getMessage());
             throw new RuntimeException("Failed to get QR session status.", e);
         }
     }
+
+    /**
+     * 세션 상태 변경 구독 (SSE)
+     * 연결 직후 현재 상태를 보내고, 이후 상태가 바뀌면 바로 전송. 최종 상태가 되면 연결 종료
+     */
+    public SseEmitter subscribeSessionStatus(String sessionId) {
+        return qrStatusNotifier.subscribe(sessionId, QR_SESSION_TIMEOUT, () -> getSessionStatus(sessionId));
+    }
+
+    private QrSessionStatusResponse toStatusResponse(String sessionId, QrSessionState sessionState) {
+        String token = (sessionState.getStatus() == QrAuthStatus.AUTHENTICATED) ? sessionState.getJwtToken() : null;
+        return new QrSessionStatusResponse(sessionId, sessionState.getStatus(), token, "Current status: " + sessionState.getStatus().name());
+    }
 }
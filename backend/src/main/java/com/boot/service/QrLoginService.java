@@ -1,17 +1,27 @@
 package com.boot.service;
 
 import com.boot.dto.QrSessionDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.time.Duration;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class QrLoginService {
 
-    // 세션 정보를 메모리에 저장 (실제 프로덕션에서는 Redis 등을 사용하는 것이 좋습니다)
-    private final Map<String, QrSessionDto> qrSessions = new ConcurrentHashMap<>();
+    private static final String QR_LOGIN_KEY_PREFIX = "qr:login:";
+    private static final Duration QR_LOGIN_TIMEOUT = Duration.ofMinutes(5); // 5분 만료
+
+    // 세션 정보는 만료 시간이 있는 공용 저장소에 보관 (QrAuthService 와 같은 저장소)
+    private final QrSessionStore sessionStore;
+    private final ObjectMapper objectMapper;
+
+    public QrLoginService(QrSessionStore sessionStore, ObjectMapper objectMapper) {
+        this.sessionStore = sessionStore;
+        this.objectMapper = objectMapper;
+    }
 
     /**
      * 새로운 QR 로그인 세션을 생성합니다.
@@ -20,17 +30,19 @@ public class QrLoginService {
     public QrSessionDto createSession() {
         String sessionId = UUID.randomUUID().toString();
         QrSessionDto session = new QrSessionDto(sessionId, "PENDING", null);
-        qrSessions.put(sessionId, session);
+        sessionStore.save(QR_LOGIN_KEY_PREFIX + sessionId, write(session), QR_LOGIN_TIMEOUT);
         return session;
     }
 
     /**
      * 세션의 현재 상태를 조회합니다.
      * @param sessionId 세션 ID
-     * @return 세션 정보
+     * @return 세션 정보 (없거나 만료되었으면 null)
      */
     public QrSessionDto getSessionStatus(String sessionId) {
-        return qrSessions.get(sessionId);
+        return sessionStore.find(QR_LOGIN_KEY_PREFIX + sessionId)
+                .map(this::read)
+                .orElse(null);
     }
 
     /**
@@ -41,16 +53,36 @@ public class QrLoginService {
      * @return 처리 결과
      */
     public boolean scanSession(String sessionId, String userToken) {
-        QrSessionDto session = qrSessions.get(sessionId);
-        if (session != null && "PENDING".equals(session.getStatus())) {
-            session.setStatus("SCANNED");
-            // 실제 앱에서는 토큰 유효성 검증 후 사용자 정보를 연결해야 합니다.
-            // 여기서는 시뮬레이션을 위해 바로 토큰을 저장하고 상태를 변경합니다.
-            session.setUserToken(userToken);
-            session.setStatus("COMPLETED");
-            qrSessions.put(sessionId, session);
-            return true;
+        String key = QR_LOGIN_KEY_PREFIX + sessionId;
+        String sessionJson = sessionStore.find(key).orElse(null);
+        if (sessionJson == null) {
+            return false;
+        }
+        QrSessionDto session = read(sessionJson);
+        if (!"PENDING".equals(session.getStatus())) {
+            return false;
+        }
+        // 실제 앱에서는 토큰 유효성 검증 후 사용자 정보를 연결해야 합니다.
+        // 여기서는 시뮬레이션을 위해 바로 토큰을 저장하고 상태를 변경합니다.
+        session.setUserToken(userToken);
+        session.setStatus("COMPLETED");
+        // 동시에 들어온 스캔 중 하나만 성공
+        return sessionStore.compareAndSet(key, sessionJson, write(session), QR_LOGIN_TIMEOUT);
+    }
+
+    private String write(QrSessionDto session) {
+        try {
+            return objectMapper.writeValueAsString(session);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize QR login session.", e);
+        }
+    }
+
+    private QrSessionDto read(String sessionJson) {
+        try {
+            return objectMapper.readValue(sessionJson, QrSessionDto.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read QR login session.", e);
         }
-        return false;
     }
 }
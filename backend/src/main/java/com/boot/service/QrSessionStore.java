@@ -0,0 +1,31 @@
+package com.boot.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * QR 로그인 세션 저장소 (TTL 만료)
+ * - 값은 각 서비스가 직렬화한 문자열(JSON), 키 이름공간도 각 서비스가 지정
+ * - qr.session.store=redis (기본): 여러 서버가 공유, memory: 단일 서버용 (최대 개수 제한)
+ */
+public interface QrSessionStore {
+
+    /**
+     * 세션 저장 (있으면 덮어씀)
+     *
+     * @throws IllegalStateException 저장 가능한 세션 수 초과
+     */
+    void save(String key, String value, Duration ttl);
+
+    // 만료되지 않은 세션 값
+    Optional<String> find(String key);
+
+    /**
+     * 현재 값이 expected 일 때만 변경 (상태 전이를 한 번만 적용)
+     *
+     * @return 변경했으면 true, 값이 다르거나 만료됐으면 false
+     */
+    boolean compareAndSet(String key, String expected, String value, Duration ttl);
+
+    void remove(String key);
+}
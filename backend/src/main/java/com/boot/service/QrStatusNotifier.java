@@ -0,0 +1,228 @@
+package com.boot.service;
+
+import com.boot.dto.QrSessionStatusResponse;
+import com.boot.dto.QrSessionStatusResponse.QrAuthStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * QR 로그인 상태 변경 알림 (SSE + Redis pub/sub)
+ * - 웹 클라이언트가 연결하면 세션별 채널(qr:status:{sessionId})을 구독하고, 상태가 바뀌면 바로 전송
+ * - 어느 서버에서 인증되든 publish 된 메시지를 받으므로 로드밸런서 뒤에서도 동작
+ * - 대기 중에는 요청이 오가지 않음 (주기적 상태 조회 불필요)
+ * - 채널 구독은 비동기로 걸리므로, 구독 확인(onChannelSubscribed) 시 상태를 한 번 더 읽어 그 사이 바뀐 상태를 보냄
+ * - 세션 TTL 만료는 publish 되지 않으므로 주기적으로 대기 중인 세션을 확인해 EXPIRED 를 보냄
+ */
+@Slf4j
+@Component
+public class QrStatusNotifier {
+
+    private static final String CHANNEL_PREFIX = "qr:status:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    // 이 서버에 연결된 세션별 SSE 연결과 구독 정보
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    public QrStatusNotifier(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+    }
+
+    /**
+     * 상태 변경 알림 (authenticateSession 에서 호출)
+     */
+    public void publish(QrSessionStatusResponse status) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + status.getSessionId(), objectMapper.writeValueAsString(status));
+        } catch (Exception e) {
+            // 알림 실패해도 상태는 저장되어 있으므로 재연결 시 현재 상태를 받음
+            log.warn("QR 상태 알림 실패. sessionId={}, error={}", status.getSessionId(), e.getMessage());
+        }
+    }
+
+    /**
+     * SSE 연결 등록
+     * 구독을 먼저 건 뒤 현재 상태를 보내고, Redis 가 구독을 확인하면 상태를 한 번 더 읽어 보냄
+     * (구독이 실제로 걸리기 전에 publish 된 상태 변경도 놓치지 않음)
+     *
+     * @param currentStatus 구독 후 조회할 현재 상태
+     */
+    public SseEmitter subscribe(String sessionId, Duration timeout, Supplier<QrSessionStatusResponse> currentStatus) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Runnable cleanup = () -> remove(sessionId, emitter);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(() -> {
+            // 연결 만료 시점이면 세션도 만료됐으므로 마지막 상태(EXPIRED)를 보내고 종료
+            sendFinalStatus(emitter, currentStatus);
+            cleanup.run();
+            emitter.complete();
+        });
+        emitter.onError(e -> cleanup.run());
+
+        boolean registered = false;
+        try {
+            Subscription subscription = subscriptions.compute(sessionId, (id, existing) -> {
+                Subscription s = existing != null ? existing : new Subscription(id, currentStatus);
+                s.emitters.add(emitter);
+                return s;
+            });
+            // 리스너 등록(Redis 구독 요청)은 맵 잠금 밖에서
+            subscription.ensureListening();
+            send(emitter, currentStatus.get());
+            registered = true;
+        } finally {
+            // 현재 상태 조회 실패 등으로 등록을 끝내지 못하면 구독과 연결을 정리
+            if (!registered) {
+                cleanup.run();
+                emitter.complete();
+            }
+        }
+        return emitter;
+    }
+
+    private void onMessage(String sessionId, String payload) {
+        Subscription subscription = subscriptions.get(sessionId);
+        if (subscription == null) {
+            return;
+        }
+        QrSessionStatusResponse status;
+        try {
+            status = objectMapper.readValue(payload, QrSessionStatusResponse.class);
+        } catch (IOException e) {
+            log.warn("QR 상태 메시지 파싱 실패. sessionId={}, error={}", sessionId, e.getMessage());
+            return;
+        }
+        for (SseEmitter emitter : subscription.emitters) {
+            send(emitter, status);
+        }
+    }
+
+    // 최종 상태(인증 성공/실패/만료)면 전송 후 연결 종료
+    private void send(SseEmitter emitter, QrSessionStatusResponse status) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status));
+            if (status.getStatus() != QrAuthStatus.PENDING) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 이미 끊긴 연결
+            emitter.completeWithError(e);
+        }
+    }
+
+    // 구독 확인 후 현재 상태를 다시 읽어서, 구독 전에 이미 최종 상태가 되었으면 전송
+    private void recheck(Subscription subscription) {
+        QrSessionStatusResponse status;
+        try {
+            status = subscription.currentStatus.get();
+        } catch (RuntimeException e) {
+            log.warn("QR 상태 재확인 실패. sessionId={}, error={}", subscription.sessionId, e.getMessage());
+            return;
+        }
+        if (status.getStatus() == QrAuthStatus.PENDING) {
+            return;
+        }
+        for (SseEmitter emitter : subscription.emitters) {
+            send(emitter, status);
+        }
+    }
+
+    /**
+     * 세션 TTL 만료 감지 (5초마다)
+     * 만료는 publish 되지 않으므로, 이 서버에서 기다리는 세션의 상태를 다시 읽어 EXPIRED 를 보내고 연결 종료
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void checkExpired() {
+        for (Subscription subscription : subscriptions.values()) {
+            recheck(subscription);
+        }
+    }
+
+    private void sendFinalStatus(SseEmitter emitter, Supplier<QrSessionStatusResponse> currentStatus) {
+        try {
+            send(emitter, currentStatus.get());
+        } catch (RuntimeException e) {
+            log.warn("QR 최종 상태 전송 실패. error={}", e.getMessage());
+        }
+    }
+
+    private void remove(String sessionId, SseEmitter emitter) {
+        Subscription[] removed = new Subscription[1];
+        subscriptions.computeIfPresent(sessionId, (id, s) -> {
+            s.emitters.remove(emitter);
+            if (s.emitters.isEmpty()) {
+                removed[0] = s;
+                return null;
+            }
+            return s;
+        });
+        // 리스너 해제도 맵 잠금 밖에서 (이후 ensureListening 이 와도 다시 등록하지 않음)
+        if (removed[0] != null) {
+            removed[0].stopListening();
+        }
+    }
+
+    private final class Subscription implements MessageListener, SubscriptionListener {
+        private final ChannelTopic topic;
+        private final String sessionId;
+        private final Supplier<QrSessionStatusResponse> currentStatus;
+        private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+        private boolean listening;
+        private boolean closed;
+
+        private Subscription(String sessionId, Supplier<QrSessionStatusResponse> currentStatus) {
+            this.sessionId = sessionId;
+            this.currentStatus = currentStatus;
+            this.topic = new ChannelTopic(CHANNEL_PREFIX + sessionId);
+        }
+
+        synchronized void ensureListening() {
+            if (!listening && !closed) {
+                listenerContainer.addMessageListener(this, topic);
+                listening = true;
+            }
+        }
+
+        synchronized void stopListening() {
+            closed = true;
+            if (listening) {
+                listenerContainer.removeMessageListener(this, topic);
+                listening = false;
+            }
+        }
+
+        // 구독이 실제로 걸린 시점 (이후 publish 는 모두 onMessage 로 받음)
+        @Override
+        public void onChannelSubscribed(byte[] channel, long count) {
+            recheck(this);
+        }
+
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            QrStatusNotifier.this.onMessage(sessionId, new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+}
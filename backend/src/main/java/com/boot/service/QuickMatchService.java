@@ -4,10 +4,13 @@ import com.boot.dto.*;
 import com.boot.elastic.Movie;
 import com.boot.entity.QuickMatchFeedback;
 import com.boot.entity.QuickMatchSession;
+import com.boot.event.MovieEngagementEvent;
+import com.boot.event.UserActivityEvent;
 import com.boot.repository.QuickMatchFeedbackRepository;
 import com.boot.repository.QuickMatchSessionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +27,7 @@ public class QuickMatchService {
     private final QuickMatchFeedbackRepository feedbackRepository;
     private final MovieSearchService movieSearchService;
     private final AiRecommendationService aiRecommendationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 장르 ID → 이름 매핑
     private static final Map<Integer, String> GENRE_NAME_MAP = Map.ofEntries(
@@ -188,6 +192,12 @@ public class QuickMatchService {
                     .build();
 
             feedbackRepository.save(feedback);
+            if (userId != null) {
+                eventPublisher.publishEvent(new UserActivityEvent(userId, movieId, UserActivityEvent.Type.QUICK_MATCH));
+            }
+            if (action == QuickMatchFeedback.Action.LIKE) {
+                eventPublisher.publishEvent(new MovieEngagementEvent(movieId, MovieEngagementEvent.Type.QUICK_MATCH_LIKE));
+            }
 
             // 처음 보는 영화일 때만 카운트 증가
             session.setRatedCount(session.getRatedCount() + 1);
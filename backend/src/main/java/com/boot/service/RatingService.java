@@ -3,8 +3,10 @@ package com.boot.service;
 import com.boot.entity.Rating;
 import com.boot.entity.User;
 import com.boot.repository.RatingRepository;
-import com.boot.repository.UserRepository;
+import com.boot.event.MovieEngagementEvent;
+import com.boot.event.UserActivityEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,19 +21,24 @@ import java.util.stream.Collectors;
 public class RatingService {
 
     private final RatingRepository ratingRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieRatingStatsService movieRatingStatsService;
 
     // 별점 추가 또는 수정
     public void addOrUpdateRating(String userEmail, String movieId, double rating) { // Long -> String
-        User user = userRepository.findByEmail(userEmail)
+        User user = currentUserService.findUserReference(userEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+        eventPublisher.publishEvent(new UserActivityEvent(user.getId(), movieId, UserActivityEvent.Type.RATING));
 
         ratingRepository.findByUserAndMovieId(user, movieId)
                 .ifPresentOrElse(
                         existingRating -> {
                             // 이미 별점이 존재하면, 점수만 업데이트
+                            double oldRating = existingRating.getRating();
                             existingRating.setRating(rating);
                             ratingRepository.save(existingRating);
+                            movieRatingStatsService.recordChange(movieId, 0, oldRating, rating);
                         },
                         () -> {
                             // 별점이 없으면, 새로 생성 (기본 생성자 및 setter 사용)
@@ -40,13 +47,15 @@ public class RatingService {
                             newRating.setMovieId(movieId); // movieId는 String 타입이므로 그대로 사용
                             newRating.setRating(rating);
                             ratingRepository.save(newRating);
+                            movieRatingStatsService.recordChange(movieId, 0, null, rating);
+                            eventPublisher.publishEvent(new MovieEngagementEvent(movieId, MovieEngagementEvent.Type.RATING));
                         });
     }
 
     // 사용자가 매긴 모든 별점 정보 조회 (UserProfileService에서 사용)
     @Transactional(readOnly = true)
     public Map<String, Integer> getUserRatings(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
+        User user = currentUserService.findUserReference(userEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
 
         List<Rating> ratings = ratingRepository.findByUserId(user.getId());
@@ -61,7 +70,7 @@ public class RatingService {
     // 기존 메서드 이름 변경 (혼동 방지)
     @Transactional(readOnly = true)
     public Map<String, Double> getRatingsByUser(String userEmail) { // Map<Long, Double> -> Map<String, Double>
-        User user = userRepository.findByEmail(userEmail)
+        User user = currentUserService.findUserReference(userEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
 
         List<Rating> ratings = ratingRepository.findByUserId(user.getId());
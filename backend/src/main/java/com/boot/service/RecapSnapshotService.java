@@ -0,0 +1,248 @@
+package com.boot.service;
+
+import com.boot.dto.RecapGenerationResultDto;
+import com.boot.dto.RecapResponseDto;
+import com.boot.entity.RecapSnapshot;
+import com.boot.event.DomainEventSubscriber;
+import com.boot.event.UserActivityEvent;
+import com.boot.repository.RecapSnapshotBulkRepository;
+import com.boot.repository.RecapSnapshotBulkRepository.ActiveUserRow;
+import com.boot.repository.RecapSnapshotBulkRepository.SnapshotState;
+import com.boot.repository.RecapSnapshotRepository;
+import com.boot.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 연간 리캡 스냅샷 관리
+ * - 조회: 스냅샷이 최신이면 그대로 반환, 아니면 (스냅샷 이후 활동이 있었거나 로직 버전이 바뀐 경우) 다시 계산 후 저장
+ * - 배치: 활동이 있는 전체 사용자를 parallelism 개 파티션으로 나눠 병렬 계산 (이미 최신인 사용자는 건너뜀)
+ * - 찜/Watchlist/평점/리뷰 변경(UserActivityEvent) → 커밋 후 이벤트 버스에서 묶음으로 받아 사용자들의 last_activity_at 을 한 번에 갱신
+ */
+@Slf4j
+@Service
+public class RecapSnapshotService implements DomainEventSubscriber<UserActivityEvent> {
+
+    private static final int MIN_RECAP_YEAR = 2000;
+
+    private final RecapService recapService;
+    private final RecapSnapshotRepository recapSnapshotRepository;
+    private final RecapSnapshotBulkRepository recapSnapshotBulkRepository;
+    private final CurrentUserService currentUserService;
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+    private final AtomicBoolean batchRunning = new AtomicBoolean();
+
+    public RecapSnapshotService(RecapService recapService,
+                                RecapSnapshotRepository recapSnapshotRepository,
+                                RecapSnapshotBulkRepository recapSnapshotBulkRepository,
+                                CurrentUserService currentUserService,
+                                ObjectMapper objectMapper,
+                                @Value("${recap.batch.parallelism:4}") int parallelism) {
+        this.recapService = recapService;
+        this.recapSnapshotRepository = recapSnapshotRepository;
+        this.recapSnapshotBulkRepository = recapSnapshotBulkRepository;
+        this.currentUserService = currentUserService;
+        this.objectMapper = objectMapper;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 현재 사용자의 리캡 (스냅샷 우선)
+     *
+     * @param year null 이면 기본 연도
+     * @throws IllegalArgumentException 지원하지 않는 연도
+     */
+    public RecapResponseDto getRecap(Integer year) {
+        int recapYear = resolveYear(year);
+        AuthenticatedUser principal = currentUserService.require();
+        Long userId = principal.getUserId();
+
+        RecapResponseDto snapshot = recapSnapshotRepository.findByUserIdAndRecapYear(userId, recapYear)
+                .filter(s -> isFresh(s.getVersion(), s.getPayload() != null, s.getGeneratedAt(), s.getLastActivityAt()))
+                .map(RecapSnapshot::getPayload)
+                .map(this::read)
+                .orElse(null);
+        if (snapshot != null) {
+            // 이름은 스냅샷 이후 바뀌었을 수 있음
+            snapshot.setUserName(principal.getName());
+            return snapshot;
+        }
+        return generate(userId, principal.getName(), recapYear);
+    }
+
+    /**
+     * 활동이 있는 전체 사용자의 스냅샷 생성 (최신 스냅샷은 건너뜀)
+     *
+     * @param year null 이면 기본 연도
+     * @throws IllegalArgumentException 지원하지 않는 연도
+     * @throws IllegalStateException    이미 배치가 실행 중
+     */
+    public RecapGenerationResultDto generateAll(Integer year) {
+        int recapYear = resolveYear(year);
+        if (!batchRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("리캡 생성 작업이 이미 실행 중입니다.");
+        }
+        try {
+            return runBatch(recapYear);
+        } finally {
+            batchRunning.set(false);
+        }
+    }
+
+    // 리캡 시즌(기본 12월)에는 매일 새벽 미리 계산
+    @Scheduled(cron = "${recap.batch.cron:0 0 4 * 12 *}")
+    public void scheduledGenerate() {
+        try {
+            generateAll(null);
+        } catch (IllegalStateException e) {
+            log.info("리캡 생성 작업이 이미 실행 중이라 이번 예약 실행은 건너뜁니다.");
+        }
+    }
+
+    @Override
+    public Class<UserActivityEvent> eventType() {
+        return UserActivityEvent.class;
+    }
+
+    // 이벤트 버스 스레드에서 호출, 묶음 안의 사용자를 한 트랜잭션으로 기록
+    @Override
+    @Transactional
+    public void onEvents(List<UserActivityEvent> events) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (UserActivityEvent event : events) {
+            if (event.changesMovieState()) {
+                userIds.add(event.userId());
+            }
+        }
+        try {
+            // 활동이 일어난 해의 스냅샷 행을 만들고, 다른 연도 스냅샷은 기존 행만 갱신
+            recapSnapshotBulkRepository.touchActivity(userIds, Year.now().getValue());
+        } catch (DataAccessException e) {
+            log.warn("리캡 활동 시각 기록 실패. users={}, error={}", userIds.size(), e.getMessage());
+        }
+    }
+
+    private RecapGenerationResultDto runBatch(int year) {
+        long startedAt = System.currentTimeMillis();
+        List<ActiveUserRow> users = recapSnapshotBulkRepository.findActiveUsers();
+        Map<Long, SnapshotState> states = recapSnapshotBulkRepository.findStatesByYear(year);
+
+        // id 순으로 돌아가며 배정 → 파티션 크기 균등
+        List<List<ActiveUserRow>> partitions = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < users.size(); i++) {
+            partitions.get(i % parallelism).add(users.get(i));
+        }
+
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (List<ActiveUserRow> partition : partitions) {
+                if (partition.isEmpty()) {
+                    continue;
+                }
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (ActiveUserRow user : partition) {
+                        SnapshotState state = states.get(user.id());
+                        if (state != null && isFresh(state.version(), state.hasPayload(), state.generatedAt(), state.lastActivityAt())) {
+                            skipped.incrementAndGet();
+                            continue;
+                        }
+                        try {
+                            generate(user.id(), user.name(), year);
+                            generated.incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                            log.error("리캡 생성 실패. userId={}, error={}", user.id(), e.getMessage(), e);
+                        }
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("리캡 생성 완료: {}년, 대상 {}명, 생성 {}건, 건너뜀 {}건, 실패 {}건 ({}ms)",
+                year, users.size(), generated.get(), skipped.get(), failed.get(), elapsed);
+
+        return RecapGenerationResultDto.builder()
+                .year(year)
+                .activeUsers(users.size())
+                .generated(generated.get())
+                .skipped(skipped.get())
+                .failed(failed.get())
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // 계산 시작 시각을 먼저 잡아 두고 계산 → 그 사이 활동이 있었으면 다음 조회 때 다시 계산됨
+    private RecapResponseDto generate(Long userId, String userName, int year) {
+        LocalDateTime startedAt = recapSnapshotBulkRepository.now();
+        RecapResponseDto recap = recapService.buildRecap(userId, userName, year);
+        try {
+            String payload = objectMapper.writeValueAsString(recap);
+            recapSnapshotBulkRepository.upsertSnapshot(userId, year,
+                    RecapService.RECAP_VERSION, payload, startedAt);
+        } catch (JsonProcessingException | DataAccessException e) {
+            // 저장 실패해도 계산 결과는 그대로 응답
+            log.warn("리캡 스냅샷 저장 실패. userId={}, error={}", userId, e.getMessage());
+        }
+        return recap;
+    }
+
+    private int resolveYear(Integer year) {
+        if (year == null) {
+            return RecapService.defaultRecapYear(LocalDate.now());
+        }
+        if (year < MIN_RECAP_YEAR || year > Year.now().getValue()) {
+            throw new IllegalArgumentException("지원하지 않는 리캡 연도입니다: " + year);
+        }
+        return year;
+    }
+
+    private RecapResponseDto read(String payload) {
+        try {
+            return objectMapper.readValue(payload, RecapResponseDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("리캡 스냅샷 파싱 실패, 다시 계산합니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // 현재 계산 로직 버전으로, 마지막 활동 이후에 만든 스냅샷인지
+    private static boolean isFresh(Integer version, boolean hasPayload, LocalDateTime generatedAt, LocalDateTime lastActivityAt) {
+        return hasPayload
+                && version != null && version == RecapService.RECAP_VERSION
+                && generatedAt != null
+                && (lastActivityAt == null || generatedAt.isAfter(lastActivityAt));
+    }
+}
@@ -5,9 +5,10 @@ import com.boot.entity.Review;
 import com.boot.entity.User;
 import com.boot.repository.RatingRepository; // RatingRepository import
 import com.boot.repository.ReviewRepository;
+import com.boot.event.MovieEngagementEvent;
+import com.boot.event.UserActivityEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +21,15 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ReviewService {
 
+    // 리뷰 평점은 1~10 (별 반 개 단위), rating 테이블은 0.5~5.0 → 2로 나눠서 저장
+    private static final double REVIEW_RATING_SCALE = 2.0;
+
     private final ReviewRepository reviewRepository;
     private final RatingRepository ratingRepository; // RatingRepository 주입
     private final UserService userService; // User 정보를 가져오기 위해 주입
+    private final CurrentUserService currentUserService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MovieRatingStatsService movieRatingStatsService;
 
     // UserService getter (ReviewController에서 사용)
     public UserService getUserService() {
@@ -31,13 +38,7 @@ public class ReviewService {
 
     // 현재 로그인한 사용자 정보 가져오기
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new IllegalStateException("로그인된 사용자 정보를 찾을 수 없습니다.");
-        }
-        String userEmail = authentication.getName();
-        return userService.findByEmail(userEmail) // UserService에 findByEmail 메서드가 있다고 가정
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userEmail));
+        return currentUserService.requireUser();
     }
 
     // 리뷰 생성
@@ -61,7 +62,7 @@ public class ReviewService {
                 .build();
         Review savedReview = reviewRepository.save(review);
         
-        updateRating(currentUser, movieId, rating); // Rating 테이블 업데이트
+        updateRating(currentUser, movieId, rating, 1); // Rating 테이블 업데이트 + 리뷰 수 +1
         return savedReview;
     }
 
@@ -92,7 +93,7 @@ public class ReviewService {
         review.setComment(newComment);
         review.setUpdatedAt(LocalDateTime.now());
         Review updatedReview = reviewRepository.save(review);
-        updateRating(currentUser, review.getMovieId(), newRating); // Rating 테이블 업데이트
+        updateRating(currentUser, review.getMovieId(), newRating, 0); // Rating 테이블 업데이트
         return updatedReview;
     }
 
@@ -106,8 +107,14 @@ public class ReviewService {
         if (!review.getUser().getId().equals(currentUser.getId())) {
             throw new SecurityException("리뷰를 삭제할 권한이 없습니다.");
         }
+        // 집계에서 뺄 이전 평점
+        Double oldRating = ratingRepository.findByUserAndMovieId(currentUser, review.getMovieId())
+                .map(Rating::getRating)
+                .orElse(null);
         reviewRepository.delete(review);
         ratingRepository.deleteByUserAndMovieId(currentUser, review.getMovieId()); // Rating 테이블에서도 삭제
+        movieRatingStatsService.recordChange(review.getMovieId(), -1, oldRating, null);
+        eventPublisher.publishEvent(new UserActivityEvent(currentUser.getId(), review.getMovieId(), UserActivityEvent.Type.REVIEW));
     }
 
     // 특정 영화에 대한 특정 사용자의 리뷰 조회
@@ -128,15 +135,20 @@ public class ReviewService {
      * Rating 테이블에 평점을 생성하거나 업데이트하는 헬퍼 메서드
      * @param user 현재 사용자
      * @param movieIdStr 영화 ID (String)
-     * @param ratingValue 평점 값
+     * @param reviewRating 리뷰 평점 (1~10)
+     * @param reviewDelta 리뷰 수 증감 (작성 +1, 수정 0)
      */
-    private void updateRating(User user, String movieIdStr, Integer ratingValue) {
+    private void updateRating(User user, String movieIdStr, Integer reviewRating, int reviewDelta) {
+        eventPublisher.publishEvent(new UserActivityEvent(user.getId(), movieIdStr, UserActivityEvent.Type.REVIEW));
+        double ratingValue = reviewRating / REVIEW_RATING_SCALE;
         Optional<Rating> existingRating = ratingRepository.findByUserAndMovieId(user, movieIdStr);
 
         if (existingRating.isPresent()) {
             Rating ratingToUpdate = existingRating.get();
+            double oldRating = ratingToUpdate.getRating();
             ratingToUpdate.setRating(ratingValue);
             ratingRepository.save(ratingToUpdate);
+            movieRatingStatsService.recordChange(movieIdStr, reviewDelta, oldRating, ratingValue);
         } else {
             // 기본 생성자를 사용하고 setter로 값을 설정합니다.
             Rating newRating = new Rating();
@@ -144,6 +156,8 @@ public class ReviewService {
             newRating.setMovieId(movieIdStr);
             newRating.setRating(ratingValue);
             ratingRepository.save(newRating);
+            movieRatingStatsService.recordChange(movieIdStr, reviewDelta, null, ratingValue);
+            eventPublisher.publishEvent(new MovieEngagementEvent(movieIdStr, MovieEngagementEvent.Type.RATING));
         }
     }
 }
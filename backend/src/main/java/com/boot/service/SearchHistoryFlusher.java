@@ -0,0 +1,104 @@
+package com.boot.service;
+
+import com.boot.repository.SearchHistoryBulkRepository;
+import com.boot.repository.SearchHistoryBulkRepository.SearchHistoryRow;
+import com.boot.service.SearchHistoryStore.UserHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 검색 기록 → search_history 반영 (write-behind)
+ * - 변경된 사용자만 골라서 사용자 단위로 삭제 후 다시 INSERT (Redis 가 원본)
+ * - 반영에 실패하면 해당 사용자를 다시 dirty 로 돌려서 다음 주기에 재시도
+ * - 스냅샷을 읽은 뒤 전체 삭제된 사용자(세대 번호 변경)는 다시 쓰지 않음
+ *   (기존 행을 지운 뒤 세대를 확인하므로, 확인 이후의 전체 삭제는 이 트랜잭션이 끝난 뒤 DB 삭제가 실행됨)
+ */
+@Slf4j
+@Component
+public class SearchHistoryFlusher {
+
+    private final SearchHistoryStore searchHistoryStore;
+    private final SearchHistoryBulkRepository searchHistoryBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SearchHistoryFlusher(SearchHistoryStore searchHistoryStore,
+                                SearchHistoryBulkRepository searchHistoryBulkRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${search.history.flush-batch-size:500}") int batchSize) {
+        this.searchHistoryStore = searchHistoryStore;
+        this.searchHistoryBulkRepository = searchHistoryBulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // 변경된 검색 기록 DB 반영 (기본 5초마다)
+    @Scheduled(fixedDelayString = "${search.history.flush-interval-ms:5000}")
+    public void flush() {
+        List<Long> userIds;
+        try {
+            userIds = searchHistoryStore.popDirty(batchSize);
+        } catch (Exception e) {
+            log.warn("검색 기록 반영 대상 조회 실패: {}", e.getMessage());
+            return;
+        }
+        while (!userIds.isEmpty()) {
+            if (!flushBatch(userIds)) {
+                return;
+            }
+            if (userIds.size() < batchSize) {
+                return;
+            }
+            userIds = searchHistoryStore.popDirty(batchSize);
+        }
+    }
+
+    private boolean flushBatch(List<Long> userIds) {
+        try {
+            Map<Long, UserHistory> snapshot = searchHistoryStore.findAll(userIds);
+            Set<Long> superseded = new HashSet<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> existing = searchHistoryBulkRepository.findExistingUserIds(userIds);
+                searchHistoryBulkRepository.deleteByUserIds(userIds);
+                Map<Long, Long> generations = searchHistoryStore.findGenerations(userIds);
+                List<SearchHistoryRow> rows = new ArrayList<>();
+                snapshot.forEach((userId, history) -> {
+                    if (!existing.contains(userId)) {
+                        return;
+                    }
+                    if (history.generation() != generations.getOrDefault(userId, 0L)) {
+                        superseded.add(userId);
+                        return;
+                    }
+                    history.queries().forEach((query, id) ->
+                            rows.add(new SearchHistoryRow(userId, query, SearchHistoryStore.toCreatedAt(id))));
+                });
+                searchHistoryBulkRepository.batchInsert(rows, batchSize);
+            });
+            if (!superseded.isEmpty()) {
+                // 전체 삭제 이후 새로 쌓인 기록은 다음 주기에 반영
+                searchHistoryStore.markDirty(superseded);
+            }
+            log.debug("검색 기록 DB 반영: 사용자 {}명, 전체 삭제로 건너뜀 {}명", userIds.size(), superseded.size());
+            return true;
+        } catch (Exception e) {
+            log.warn("검색 기록 DB 반영 실패, 다음 주기에 재시도합니다. users={}, error={}", userIds.size(), e.getMessage());
+            try {
+                searchHistoryStore.markDirty(userIds);
+            } catch (Exception redisError) {
+                log.error("검색 기록 반영 대상 복구 실패: {}", redisError.getMessage());
+            }
+            return false;
+        }
+    }
+}
@@ -2,91 +2,120 @@ package com.boot.service;
 
 import com.boot.dto.SearchHistoryDto; // SearchHistoryDto 임포트
 import com.boot.entity.SearchHistory;
-import com.boot.entity.User;
+import com.boot.repository.SearchHistoryBulkRepository;
 import com.boot.repository.SearchHistoryRepository;
+import com.boot.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SearchHistoryService {
 
     private final SearchHistoryRepository searchHistoryRepository;
-    private final UserService userService;
+    private final SearchHistoryBulkRepository searchHistoryBulkRepository;
+    private final SearchHistoryStore searchHistoryStore;
+    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
+    private final TrendingSearchService trendingSearchService;
     private static final int MAX_HISTORY_ITEMS = 10; // 최대 검색 기록 개수
 
-    // 현재 로그인한 사용자 정보 가져오기
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new IllegalStateException("로그인된 사용자 정보를 찾을 수 없습니다.");
-        }
-        String userEmail = authentication.getName();
-        return userService.findByEmail(userEmail)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userEmail));
-    }
-
     // 검색어 추가 (최대 개수 제한, 중복 제거)
-    @Transactional
+    // Redis ZSET 에 바로 기록하고 DB 는 SearchHistoryFlusher 가 모아서 반영 (Redis 장애 시 DB 에 직접 기록)
     public void addSearchQuery(String query) {
         if (query == null || query.trim().isEmpty()) {
             return;
         }
-        User currentUser = getCurrentUser();
+        Long userId = currentUserService.requireUserId();
         String trimmedQuery = query.trim();
 
-        // 중복 검색어 제거 (기존에 같은 검색어가 있으면 삭제 후 새로 추가)
-        searchHistoryRepository.findByUserAndQuery(currentUser, trimmedQuery)
-                .ifPresent(searchHistoryRepository::delete);
-
-        // 새 검색어 추가
-        SearchHistory newSearch = SearchHistory.builder()
-                .user(currentUser)
-                .query(trimmedQuery)
-                .build();
-        searchHistoryRepository.save(newSearch);
-
-        // 최대 개수 초과 시 가장 오래된 검색어 삭제
-        List<SearchHistory> history = searchHistoryRepository.findByUserOrderByCreatedAtDesc(currentUser);
-        if (history.size() > MAX_HISTORY_ITEMS) {
-            searchHistoryRepository.delete(history.get(history.size() - 1)); // 가장 오래된 항목 삭제
+        try {
+            boolean cached = searchHistoryStore.record(userId, trimmedQuery, System.currentTimeMillis(), MAX_HISTORY_ITEMS);
+            if (!cached) {
+                // Redis 에 기록이 없던 사용자 → 기존 DB 기록을 합쳐 둠
+                searchHistoryStore.hydrate(userId, loadFromDatabase(userId), MAX_HISTORY_ITEMS);
+            }
+        } catch (DataAccessException e) {
+            log.warn("검색 기록 Redis 저장 실패, DB 에 직접 기록합니다. userId={}, error={}", userId, e.getMessage());
+            searchHistoryBulkRepository.recordLatest(userId, trimmedQuery, LocalDateTime.now(), MAX_HISTORY_ITEMS);
         }
+        trendingSearchService.record(trimmedQuery);
     }
 
-    // 현재 사용자의 검색 기록 가져오기 (ID와 함께 DTO 반환)
-    @Transactional(readOnly = true)
+    // 현재 사용자의 검색 기록 가져오기 (id 는 검색 시각 기반 기록 id, 삭제 시 사용)
     public List<SearchHistoryDto> getSearchHistory() { // 반환 타입 변경
-        User currentUser = getCurrentUser();
-        return searchHistoryRepository.findByUserOrderByCreatedAtDesc(currentUser).stream()
-                .map(SearchHistoryDto::fromEntity) // DTO로 변환
+        Long userId = currentUserService.requireUserId();
+        Map<String, Long> queries;
+        try {
+            if (!searchHistoryStore.exists(userId)) {
+                Map<String, Long> stored = loadFromDatabase(userId);
+                if (stored.isEmpty()) {
+                    return List.of();
+                }
+                searchHistoryStore.hydrate(userId, stored, MAX_HISTORY_ITEMS);
+            }
+            queries = searchHistoryStore.find(userId);
+        } catch (DataAccessException e) {
+            log.warn("검색 기록 Redis 조회 실패, DB 에서 조회합니다. userId={}, error={}", userId, e.getMessage());
+            queries = loadFromDatabase(userId);
+        }
+        return queries.entrySet().stream()
+                .limit(MAX_HISTORY_ITEMS)
+                .map(e -> SearchHistoryDto.builder()
+                        .id(e.getValue())
+                        .query(e.getKey())
+                        .build())
                 .collect(Collectors.toList());
     }
 
     // 특정 검색 기록 삭제
-    @Transactional
     public void deleteSearchHistoryItem(Long historyId) {
-        User currentUser = getCurrentUser();
-        SearchHistory searchHistory = searchHistoryRepository.findById(historyId)
-                .orElseThrow(() -> new NoSuchElementException("검색 기록을 찾을 수 없습니다: " + historyId));
-
-        if (!searchHistory.getUser().getId().equals(currentUser.getId())) {
-            throw new SecurityException("검색 기록을 삭제할 권한이 없습니다.");
+        Long userId = currentUserService.requireUserId();
+        long removed;
+        try {
+            removed = searchHistoryStore.remove(userId, historyId);
+        } catch (DataAccessException e) {
+            log.warn("검색 기록 Redis 삭제 실패, DB 에서 삭제합니다. userId={}, error={}", userId, e.getMessage());
+            // 같은 시각에 저장된 다른 검색어까지 지우지 않도록 검색어 하나를 찾아서 삭제
+            removed = searchHistoryBulkRepository.findQueryByUserIdAndCreatedAt(userId, SearchHistoryStore.toCreatedAt(historyId))
+                    .map(query -> searchHistoryBulkRepository.deleteByUserIdAndQuery(userId, query))
+                    .orElse(0);
+        }
+        if (removed == 0) {
+            throw new NoSuchElementException("검색 기록을 찾을 수 없습니다: " + historyId);
         }
-        searchHistoryRepository.delete(searchHistory);
     }
 
-    // 모든 검색 기록 삭제
+    // 모든 검색 기록 삭제 (DB 도 바로 삭제, 반영 중인 flush 가 끝날 때까지 기다린 뒤 지움)
     @Transactional
     public void clearSearchHistory() {
-        User currentUser = getCurrentUser();
-        searchHistoryRepository.deleteByUser(currentUser);
+        Long userId = currentUserService.requireUserId();
+        try {
+            searchHistoryStore.clear(userId);
+        } catch (DataAccessException e) {
+            log.warn("검색 기록 Redis 삭제 실패, DB 기록만 삭제합니다. userId={}, error={}", userId, e.getMessage());
+        }
+        searchHistoryBulkRepository.deleteByUserIds(List.of(userId));
+    }
+
+    // DB 에 저장된 검색 기록 (검색어 → 기록 id, 최신순)
+    private Map<String, Long> loadFromDatabase(Long userId) {
+        Map<String, Long> queries = new LinkedHashMap<>();
+        for (SearchHistory history : searchHistoryRepository.findByUserOrderByCreatedAtDesc(userRepository.getReferenceById(userId))) {
+            LocalDateTime createdAt = history.getCreatedAt() != null ? history.getCreatedAt() : LocalDateTime.now();
+            queries.putIfAbsent(history.getQuery(), SearchHistoryStore.toId(createdAt));
+        }
+        return queries;
     }
 }
@@ -0,0 +1,229 @@
+package com.boot.service;
+
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자별 최근 검색어 (Redis ZSET, score = 기록 id)
+ * - 기록 id 는 검색 시각 epoch millis * 1000 + 순번(INCR, 0~999) → 같은 밀리초에 들어온 검색도 겹치지 않음
+ *   (마이크로초 단위 시각과 같은 값이라 DB created_at 에 그대로 저장/복원됨)
+ * - 같은 검색어는 ZADD 로 시각만 갱신되므로 별도 중복 제거가 필요 없음
+ * - 변경된 사용자 id 는 dirty 집합에 모아두고 SearchHistoryFlusher 가 DB 에 반영
+ * - 전체 삭제 시 사용자별 세대 번호를 올림 → 이미 읽어 둔 이전 세대 기록은 반영하지 않음
+ */
+@Component
+public class SearchHistoryStore {
+
+    private static final String KEY_PREFIX = "search:history:";
+    private static final String DIRTY_KEY = "search:history:dirty";
+    private static final String SEQUENCE_KEY = "search:history:seq";
+    private static final String GENERATION_KEY_PREFIX = "search:history:gen:";
+    private static final long SEQUENCE_RANGE = 1000;
+    // 이보다 작은 score 는 순번을 붙이기 전의 epoch millis 기록
+    private static final long LEGACY_ID_LIMIT = 100_000_000_000_000L;
+
+    // 추가 + 개수 제한을 한 번에 처리, 키가 원래 있었으면 dirty 표시 후 1 반환
+    // 키가 없었으면(Redis 재시작 등) 0 반환 → 호출 측이 DB 기록을 채운 뒤 dirty 표시
+    // id 는 문자열로 이어 붙임 (Lua 숫자를 문자열로 바꾸면 16자리 값이 지수 표기로 잘림)
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>(
+            "local existed = redis.call('EXISTS', KEYS[1]) " +
+            "local seq = redis.call('INCR', KEYS[3]) % " + SEQUENCE_RANGE + " " +
+            "redis.call('ZADD', KEYS[1], ARGV[1] .. string.format('%03d', seq), ARGV[2]) " +
+            "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1)) " +
+            "if existed == 1 then redis.call('SADD', KEYS[2], ARGV[4]) end " +
+            "return existed",
+            Long.class);
+
+    // 세대 번호 올리고 기록 삭제, dirty 표시
+    private static final RedisScript<Long> CLEAR_SCRIPT = new DefaultRedisScript<>(
+            "local generation = redis.call('INCR', KEYS[2]) " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('SADD', KEYS[3], ARGV[1]) " +
+            "return generation",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public SearchHistoryStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 검색어 기록 (Redis 1회 왕복)
+     *
+     * @param timestamp 검색 시각 epoch millis (순번은 Redis 에서 붙임)
+     * @return 기존 기록이 Redis 에 있었으면 true, 없었으면 false (hydrate 필요)
+     */
+    public boolean record(Long userId, String query, long timestamp, int maxItems) {
+        Long existed = redisTemplate.execute(RECORD_SCRIPT, List.of(key(userId), DIRTY_KEY, SEQUENCE_KEY),
+                String.valueOf(timestamp), query, String.valueOf(maxItems), String.valueOf(userId));
+        return existed != null && existed == 1L;
+    }
+
+    /**
+     * DB 기록으로 채우기 (이미 있는 검색어는 Redis 쪽 시각 유지) 후 dirty 표시
+     *
+     * @param queries 검색어 → 기록 id (toId)
+     */
+    public void hydrate(Long userId, Map<String, Long> queries, int maxItems) {
+        String key = key(userId);
+        if (!queries.isEmpty()) {
+            Set<TypedTuple<String>> tuples = queries.entrySet().stream()
+                    .map(e -> (TypedTuple<String>) new DefaultTypedTuple<>(e.getKey(), e.getValue().doubleValue()))
+                    .collect(Collectors.toSet());
+            redisTemplate.opsForZSet().addIfAbsent(key, tuples);
+            redisTemplate.opsForZSet().removeRange(key, 0, -(maxItems + 1));
+        }
+        markDirty(List.of(userId));
+    }
+
+    public boolean exists(Long userId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key(userId)));
+    }
+
+    // 최신순 검색어 → 기록 id
+    public Map<String, Long> find(Long userId) {
+        Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key(userId), 0, -1);
+        Map<String, Long> result = new LinkedHashMap<>();
+        if (tuples != null) {
+            for (TypedTuple<String> tuple : tuples) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    result.put(tuple.getValue(), tuple.getScore().longValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 기록 id 로 검색어 삭제
+     *
+     * @return 삭제된 개수
+     */
+    public long remove(Long userId, long id) {
+        Long removed = redisTemplate.opsForZSet().removeRangeByScore(key(userId), id, id);
+        if (removed != null && removed > 0) {
+            markDirty(List.of(userId));
+            return removed;
+        }
+        return 0;
+    }
+
+    // 전체 삭제 (세대 번호를 올려서 반영 중이던 이전 기록이 DB 에 다시 쓰이지 않게 함)
+    public void clear(Long userId) {
+        redisTemplate.execute(CLEAR_SCRIPT, List.of(key(userId), generationKey(userId), DIRTY_KEY),
+                String.valueOf(userId));
+    }
+
+    /**
+     * 사용자별 현재 세대 번호 (전체 삭제 횟수, 없으면 0)
+     */
+    public Map<Long, Long> findGenerations(List<Long> userIds) {
+        Map<Long, Long> generations = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return generations;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(userIds.stream().map(this::generationKey).toList());
+        for (int i = 0; i < userIds.size(); i++) {
+            generations.put(userIds.get(i), parseGeneration(values != null ? values.get(i) : null));
+        }
+        return generations;
+    }
+
+    // DB 반영 대상 사용자 꺼내기 (꺼낸 뒤 반영에 실패하면 markDirty 로 되돌림)
+    public List<Long> popDirty(int count) {
+        List<String> ids = redisTemplate.opsForSet().pop(DIRTY_KEY, count);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    public void markDirty(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            redisTemplate.opsForSet().add(DIRTY_KEY, userIds.stream().map(String::valueOf).toArray(String[]::new));
+        }
+    }
+
+    /**
+     * 여러 사용자의 기록과 세대 번호를 한 번에 조회 (pipeline)
+     */
+    public Map<Long, UserHistory> findAll(List<Long> userIds) {
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                connection.zSetCommands().zRevRangeWithScores(key(userId).getBytes(StandardCharsets.UTF_8), 0, -1);
+                connection.stringCommands().get(generationKey(userId).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        Map<Long, UserHistory> snapshot = new LinkedHashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            Map<String, Long> queries = new LinkedHashMap<>();
+            Object result = results.get(i * 2);
+            if (result instanceof Collection<?> tuples) {
+                for (Object item : new ArrayList<>(tuples)) {
+                    if (item instanceof TypedTuple<?> tuple && tuple.getValue() != null && tuple.getScore() != null) {
+                        queries.put(String.valueOf(tuple.getValue()), tuple.getScore().longValue());
+                    }
+                }
+            }
+            Object generation = results.get(i * 2 + 1);
+            snapshot.put(userIds.get(i), new UserHistory(queries, parseGeneration(generation != null ? generation.toString() : null)));
+        }
+        return snapshot;
+    }
+
+    /**
+     * 기록 id → 검색 시각 (DB created_at, 순번은 마이크로초 자리)
+     */
+    public static LocalDateTime toCreatedAt(long id) {
+        Instant instant = id < LEGACY_ID_LIMIT
+                ? Instant.ofEpochMilli(id)
+                : Instant.EPOCH.plus(id, ChronoUnit.MICROS);
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    /**
+     * 검색 시각 → 기록 id (toCreatedAt 의 역변환)
+     */
+    public static long toId(LocalDateTime createdAt) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, createdAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static long parseGeneration(String value) {
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private String generationKey(Long userId) {
+        return GENERATION_KEY_PREFIX + userId;
+    }
+
+    /**
+     * 한 사용자의 기록 스냅샷 (검색어 → 기록 id, 읽은 시점의 세대 번호)
+     */
+    public record UserHistory(Map<String, Long> queries, long generation) {
+    }
+}
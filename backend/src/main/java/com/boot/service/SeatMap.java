@@ -0,0 +1,88 @@
+package com.boot.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 상영관 좌석 점유 비트맵 (A~P행 × 1~15번)
+ * - 행마다 int 하나, 하위 15비트가 좌석 1~15번 (1 = 예매됨)
+ * - 연속 빈 좌석 탐색을 문자열 비교 없이 비트 연산으로 처리
+ */
+public final class SeatMap {
+
+    public static final int ROWS = 16;
+    public static final int SEATS_PER_ROW = 15;
+    private static final int FULL_ROW = (1 << SEATS_PER_ROW) - 1;
+
+    private final int[] occupied = new int[ROWS];
+
+    private SeatMap() {
+    }
+
+    /**
+     * 예매된 좌석 문자열 목록으로 비트맵 생성 ("A1,A2" 형식도 허용)
+     * 좌석 배치에 없는 값은 무시 (createBooking 의 중복 검사에도 걸리지 않는 값)
+     */
+    public static SeatMap fromBookedSeats(Collection<String> bookedSeats) {
+        SeatMap map = new SeatMap();
+        for (String seats : bookedSeats) {
+            if (seats == null) {
+                continue;
+            }
+            for (String seat : seats.split(",")) {
+                map.mark(seat);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * row 행에서 count 석이 연속으로 비어 있는 시작 위치 비트마스크
+     * (비트 i 가 1 이면 i+1번 ~ i+count번 좌석이 모두 빈 좌석)
+     */
+    public int freeRunStarts(int row, int count) {
+        if (count < 1 || count > SEATS_PER_ROW) {
+            return 0;
+        }
+        int free = ~occupied[row] & FULL_ROW;
+        int runs = free;
+        for (int k = 1; k < count; k++) {
+            runs &= free >>> k;
+        }
+        return runs;
+    }
+
+    /**
+     * (row, 시작 col) 부터 count 석의 좌석 코드 목록 ("K6", "K7", ...)
+     */
+    public static List<String> seatCodes(int row, int startCol, int count) {
+        List<String> codes = new ArrayList<>(count);
+        char rowLabel = (char) ('A' + row);
+        for (int col = startCol; col < startCol + count; col++) {
+            codes.add(rowLabel + String.valueOf(col + 1));
+        }
+        return codes;
+    }
+
+    // 좌석 코드 파싱 → 비트 표시 (createBooking 과 동일하게 정확히 일치하는 값만 인정)
+    private void mark(String seat) {
+        if (seat.length() < 2 || seat.length() > 3) {
+            return;
+        }
+        int row = seat.charAt(0) - 'A';
+        if (row < 0 || row >= ROWS) {
+            return;
+        }
+        int number;
+        try {
+            number = Integer.parseInt(seat.substring(1));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (number < 1 || number > SEATS_PER_ROW || seat.charAt(1) == '0' || seat.charAt(1) == '+') {
+            return;
+        }
+        occupied[row] |= 1 << (number - 1);
+    }
+}
@@ -0,0 +1,292 @@
+package com.boot.service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 정수 영화 ID 집합 (Roaring 방식 압축 비트맵, 스레드 안전하지 않음)
+ * - 상위 16비트로 묶음을 나누고, 묶음 안의 하위 16비트는 개수에 따라 정렬 배열 / 비트맵으로 저장
+ * - 4096개 이하면 정렬 배열 (1건당 2바이트), 넘으면 8KB 비트맵
+ * - 사용자가 본 영화 수백 건 = 수백 바이트 수준이라 Redis 에 통째로 저장해도 작음
+ */
+public final class SeenMovieBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final byte TYPE_ARRAY = 0;
+    private static final byte TYPE_BITMAP = 1;
+
+    // 상위 16비트 (오름차순) 와 묶음
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * @return 새로 추가되었으면 true
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char high = (char) (value >>> 16);
+        int index = Arrays.binarySearch(keys, 0, size, high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high, new Container());
+        }
+        return containers[index].add((char) value);
+    }
+
+    /**
+     * @return 있던 값을 지웠으면 true
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        boolean removed = container.remove((char) value);
+        if (container.cardinality == 0) {
+            removeContainer(index);
+        }
+        return removed;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 전체 값 (오름차순)
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int p = 0;
+        for (int i = 0; i < size; i++) {
+            p = containers[i].copyTo(keys[i] << 16, values, p);
+        }
+        return values;
+    }
+
+    /**
+     * 직렬화: [묶음 수] + 묶음별 [상위 16비트, 종류, 개수, 값]
+     */
+    public byte[] toBytes() {
+        int length = Integer.BYTES;
+        for (int i = 0; i < size; i++) {
+            length += Character.BYTES + 1 + Integer.BYTES + containers[i].payloadBytes();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            Container container = containers[i];
+            buffer.putChar(keys[i]);
+            buffer.put(container.bits != null ? TYPE_BITMAP : TYPE_ARRAY);
+            buffer.putInt(container.cardinality);
+            if (container.bits != null) {
+                for (long word : container.bits) {
+                    buffer.putLong(word);
+                }
+            } else {
+                for (int k = 0; k < container.cardinality; k++) {
+                    buffer.putChar(container.array[k]);
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 맞지 않는 데이터
+     */
+    public static SeenMovieBitmap fromBytes(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int count = buffer.getInt();
+            if (count < 0 || count > 1 << 15) {
+                throw new IllegalArgumentException("잘못된 비트맵 데이터입니다.");
+            }
+            SeenMovieBitmap bitmap = new SeenMovieBitmap();
+            bitmap.keys = new char[Math.max(4, count)];
+            bitmap.containers = new Container[Math.max(4, count)];
+            for (int i = 0; i < count; i++) {
+                char key = buffer.getChar();
+                byte type = buffer.get();
+                int cardinality = buffer.getInt();
+                Container container = new Container();
+                container.cardinality = cardinality;
+                if (type == TYPE_BITMAP) {
+                    container.array = null;
+                    container.bits = new long[BITMAP_WORDS];
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        container.bits[w] = buffer.getLong();
+                    }
+                } else if (cardinality >= 0 && cardinality <= ARRAY_MAX) {
+                    container.array = new char[Math.max(4, cardinality)];
+                    for (int k = 0; k < cardinality; k++) {
+                        container.array[k] = buffer.getChar();
+                    }
+                } else {
+                    throw new IllegalArgumentException("잘못된 비트맵 데이터입니다.");
+                }
+                bitmap.keys[i] = key;
+                bitmap.containers[i] = container;
+            }
+            bitmap.size = count;
+            return bitmap;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("잘못된 비트맵 데이터입니다.", e);
+        }
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("음수 ID 는 저장할 수 없습니다: " + value);
+        }
+    }
+
+    // 하위 16비트 묶음: array (정렬, 앞 cardinality 개 사용) 또는 bits 중 하나만 사용
+    private static final class Container {
+        private char[] array = new char[4];
+        private long[] bits;
+        private int cardinality;
+
+        boolean add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                long word = bits[low >>> 6];
+                if ((word & mask) != 0) {
+                    return false;
+                }
+                bits[low >>> 6] = word | mask;
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_MAX) {
+                toBitmap();
+                return add(low);
+            }
+            index = -index - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.max(4, Math.min(ARRAY_MAX, cardinality * 2)));
+            }
+            System.arraycopy(array, index, array, index + 1, cardinality - index);
+            array[index] = low;
+            cardinality++;
+            return true;
+        }
+
+        boolean remove(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                long word = bits[low >>> 6];
+                if ((word & mask) == 0) {
+                    return false;
+                }
+                bits[low >>> 6] = word & ~mask;
+                if (--cardinality <= ARRAY_MAX) {
+                    toArray();
+                }
+                return true;
+            }
+            int index = Arrays.binarySearch(array, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(array, index + 1, array, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, low) >= 0;
+        }
+
+        int copyTo(int high, int[] target, int position) {
+            if (bits != null) {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        target[position++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (int k = 0; k < cardinality; k++) {
+                    target[position++] = high | array[k];
+                }
+            }
+            return position;
+        }
+
+        int payloadBytes() {
+            return bits != null ? BITMAP_WORDS * Long.BYTES : cardinality * Character.BYTES;
+        }
+
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int k = 0; k < cardinality; k++) {
+                bits[array[k] >>> 6] |= 1L << array[k];
+            }
+            array = null;
+        }
+
+        private void toArray() {
+            char[] values = new char[cardinality];
+            int p = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    values[p++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            array = values;
+            bits = null;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.boot.service;
+
+import com.boot.dto.MovieSearchRequest;
+import com.boot.event.DomainEventSubscriber;
+import com.boot.event.UserActivityEvent;
+import com.boot.repository.FavoriteRepository;
+import com.boot.repository.RatingRepository;
+import com.boot.repository.WatchlistRepository;
+import com.boot.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 사용자가 이미 본 영화 (평점 / 찜 / 시청 완료) - 검색의 "본 영화 제외" 옵션용
+ * - 사용자별 압축 비트맵(SeenMovieBitmap) 하나를 Redis 에 저장, 검색 1회당 GET 1회
+ * - 캐시가 없을 때만 테이블별 ID 조회 1회씩으로 채움
+ * - 찜/Watchlist/평점/리뷰가 바뀌면 커밋 후 이벤트 버스에서 받아 해당 영화 1건만 다시 확인해서 비트를 켜고 끔 (WATCH/MULTI 로 동시 수정 방지)
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class SeenMovieService implements DomainEventSubscriber<UserActivityEvent> {
+
+    private static final String KEY_PREFIX = "user:seen-movies:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final FavoriteRepository favoriteRepository;
+    private final WatchlistRepository watchlistRepository;
+    private final RatingRepository ratingRepository;
+    private final CurrentUserService currentUserService;
+    private final Duration ttl;
+
+    public SeenMovieService(StringRedisTemplate redisTemplate,
+                            FavoriteRepository favoriteRepository,
+                            WatchlistRepository watchlistRepository,
+                            RatingRepository ratingRepository,
+                            CurrentUserService currentUserService,
+                            @Value("${user.seen-movies.ttl:6h}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.favoriteRepository = favoriteRepository;
+        this.watchlistRepository = watchlistRepository;
+        this.ratingRepository = ratingRepository;
+        this.currentUserService = currentUserService;
+        this.ttl = ttl;
+    }
+
+    /**
+     * excludeSeen 요청이면 현재 사용자가 본 영화 ID 를 제외 목록으로 채움 (비로그인은 무시)
+     * - excludedMovieIds 는 쿼리 파라미터로도 바인딩되므로 항상 먼저 비움 (클라이언트가 보낸 값은 사용하지 않음)
+     */
+    public void applyExcludeSeen(MovieSearchRequest request) {
+        request.setExcludedMovieIds(null);
+        if (!Boolean.TRUE.equals(request.getExcludeSeen())) {
+            return;
+        }
+        Optional<AuthenticatedUser> user = currentUserService.find();
+        if (user.isEmpty()) {
+            return;
+        }
+        int[] movieIds = getBitmap(user.get().getUserId()).toArray();
+        List<String> excluded = new ArrayList<>(movieIds.length);
+        for (int movieId : movieIds) {
+            excluded.add(Integer.toString(movieId));
+        }
+        request.setExcludedMovieIds(excluded);
+    }
+
+    @Override
+    public Class<UserActivityEvent> eventType() {
+        return UserActivityEvent.class;
+    }
+
+    // 묶음 안에서 같은 사용자/영화는 한 번만 확인
+    @Override
+    public void onEvents(List<UserActivityEvent> events) {
+        Set<Change> changes = new LinkedHashSet<>();
+        for (UserActivityEvent event : events) {
+            if (event.changesMovieState() && event.movieId() != null) {
+                changes.add(new Change(event.userId(), event.movieId()));
+            }
+        }
+        changes.forEach(change -> refresh(change.userId(), change.movieId()));
+    }
+
+    // 해당 영화 1건만 다시 확인해서 비트맵 갱신 (커밋 후에 확인해야 바뀐 상태를 읽음)
+    private void refresh(Long userId, String rawMovieId) {
+        Integer movieId = parseMovieId(rawMovieId);
+        if (movieId == null) {
+            return;
+        }
+        boolean seen = isSeen(userId, rawMovieId);
+        byte[] key = key(userId);
+        try {
+            Boolean applied = redisTemplate.execute((RedisCallback<Boolean>) connection -> {
+                connection.watch(key);
+                byte[] raw = connection.stringCommands().get(key);
+                if (raw == null) {
+                    // 캐시 없음 → 다음 검색 때 DB 에서 채움
+                    connection.unwatch();
+                    return true;
+                }
+                SeenMovieBitmap bitmap = SeenMovieBitmap.fromBytes(raw);
+                if (!(seen ? bitmap.add(movieId) : bitmap.remove(movieId))) {
+                    connection.unwatch();
+                    return true;
+                }
+                connection.multi();
+                connection.stringCommands().set(key, bitmap.toBytes(), Expiration.from(ttl), SetOption.upsert());
+                List<Object> results = connection.exec();
+                return results != null && !results.isEmpty();
+            });
+            if (!Boolean.TRUE.equals(applied)) {
+                // 같은 사용자의 다른 변경과 겹침 → 지우고 다음 검색 때 다시 채움
+                delete(userId);
+            }
+        } catch (Exception e) {
+            log.warn("본 영화 비트맵 갱신 실패, 캐시를 삭제합니다. userId={}, error={}", userId, e.getMessage());
+            delete(userId);
+        }
+    }
+
+    private SeenMovieBitmap getBitmap(Long userId) {
+        byte[] key = key(userId);
+        try {
+            byte[] raw = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(key));
+            if (raw != null) {
+                return SeenMovieBitmap.fromBytes(raw);
+            }
+        } catch (Exception e) {
+            log.warn("본 영화 비트맵 조회 실패, DB 에서 조회합니다. userId={}, error={}", userId, e.getMessage());
+        }
+
+        SeenMovieBitmap bitmap = load(userId);
+        try {
+            // 이미 다른 요청이 채웠으면 그대로 둠
+            redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                    connection.stringCommands().set(key, bitmap.toBytes(), Expiration.from(ttl), SetOption.ifAbsent()));
+        } catch (Exception e) {
+            log.warn("본 영화 비트맵 저장 실패. userId={}, error={}", userId, e.getMessage());
+        }
+        return bitmap;
+    }
+
+    // 테이블별 ID 조회 1회씩
+    private SeenMovieBitmap load(Long userId) {
+        SeenMovieBitmap bitmap = new SeenMovieBitmap();
+        addAll(bitmap, ratingRepository.findMovieIdsByUserId(userId));
+        addAll(bitmap, favoriteRepository.findMovieIdsByUserId(userId));
+        addAll(bitmap, watchlistRepository.findWatchedMovieIdsByUserId(userId));
+        return bitmap;
+    }
+
+    private void addAll(SeenMovieBitmap bitmap, List<String> movieIds) {
+        for (String movieId : movieIds) {
+            Integer id = parseMovieId(movieId);
+            if (id != null) {
+                bitmap.add(id);
+            }
+        }
+    }
+
+    private boolean isSeen(Long userId, String movieId) {
+        return ratingRepository.existsByUserIdAndMovieId(userId, movieId)
+                || favoriteRepository.existsByUserIdAndMovieId(userId, movieId)
+                || watchlistRepository.existsByUserIdAndMovieIdAndWatchedTrue(userId, movieId);
+    }
+
+    // 영화 ID 는 TMDB 숫자 ID (숫자가 아니면 비트맵에 넣을 수 없어 제외 대상에서 빠짐)
+    private Integer parseMovieId(String movieId) {
+        try {
+            int id = Integer.parseInt(movieId);
+            return id >= 0 ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void delete(Long userId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("본 영화 비트맵 삭제 실패. userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private byte[] key(Long userId) {
+        return (KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Change(Long userId, String movieId) {
+    }
+}
@@ -0,0 +1,287 @@
+package com.boot.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import com.boot.dto.ShowtimeGenerationResultDto;
+import com.boot.elastic.Movie;
+import com.boot.repository.ShowtimeBulkRepository;
+import com.boot.repository.ShowtimeBulkRepository.ScreenRow;
+import com.boot.repository.ShowtimeBulkRepository.ShowtimeRow;
+import com.boot.repository.ShowtimeBulkRepository.SlotKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 상영관별 시간표 일괄 생성 (etl/generate_showtime_slots.py 대체)
+ * - 슬롯/가격 규칙은 스크립트와 동일 (조조/일반/심야, 금~일·공휴일 주말 요금, 상영관·일자별 4~6회차)
+ * - end_time 은 ES 영화 러닝타임 기준, 영화관 단위로 병렬 처리 + JDBC batch INSERT
+ * - 상영관·날짜별 난수 시드를 고정해서 다시 돌려도 같은 결과 (예매가 걸린 시간표는 건드리지 않음)
+ */
+@Slf4j
+@Service
+public class ShowtimeGenerationService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    // 기존 데이터와 동일하게 KST → UTC(-9시간)로 저장
+    private static final int DB_OFFSET_HOURS = 9;
+    private static final int DEFAULT_RUNTIME = 120;
+    private static final int MIN_SLOTS_PER_DAY = 4;
+    private static final int MAX_SLOTS_PER_DAY = 6;
+
+    // 시간대 슬롯 정의 (조조/일반/심야)
+    private static final List<TimeSlot> TIME_SLOTS = List.of(
+            new TimeSlot(SlotType.EARLY, LocalTime.of(8, 0)),
+            new TimeSlot(SlotType.EARLY, LocalTime.of(9, 0)),
+            new TimeSlot(SlotType.REGULAR, LocalTime.of(11, 0)),
+            new TimeSlot(SlotType.REGULAR, LocalTime.of(13, 30)),
+            new TimeSlot(SlotType.REGULAR, LocalTime.of(16, 0)),
+            new TimeSlot(SlotType.REGULAR, LocalTime.of(18, 30)),
+            new TimeSlot(SlotType.REGULAR, LocalTime.of(20, 30)),
+            new TimeSlot(SlotType.REGULAR, LocalTime.of(22, 30)),
+            new TimeSlot(SlotType.LATE, LocalTime.of(23, 30))
+    );
+
+    private final ShowtimeBulkRepository showtimeBulkRepository;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ShowtimeTimetableCache timetableCache;
+    private final TransactionTemplate transactionTemplate;
+    private final List<String> movieIds;
+    private final int parallelism;
+    private final int batchSize;
+    // 주말 요금 적용 공휴일
+    private final Set<LocalDate> holidays;
+
+    public ShowtimeGenerationService(ShowtimeBulkRepository showtimeBulkRepository,
+                                     ElasticsearchClient elasticsearchClient,
+                                     ShowtimeTimetableCache timetableCache,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${showtime.generator.movie-ids:tmdb_1379266,tmdb_1084242,tmdb_1228246,tmdb_1242898,tmdb_1555417,tmdb_701387}") List<String> movieIds,
+                                     @Value("${showtime.generator.parallelism:4}") int parallelism,
+                                     @Value("${showtime.generator.batch-size:1000}") int batchSize,
+                                     @Value("${showtime.generator.holidays:}") List<String> holidays) {
+        this.showtimeBulkRepository = showtimeBulkRepository;
+        this.elasticsearchClient = elasticsearchClient;
+        this.timetableCache = timetableCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.movieIds = List.copyOf(movieIds);
+        this.parallelism = Math.max(1, parallelism);
+        this.batchSize = Math.max(1, batchSize);
+        this.holidays = holidays.stream()
+                .map(String::trim)
+                .filter(date -> !date.isEmpty())
+                .map(LocalDate::parse)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 오늘(KST)부터 days 일간 시간표 생성
+     */
+    public ShowtimeGenerationResultDto generate(int days) {
+        return generate(LocalDate.now(KST), days);
+    }
+
+    /**
+     * startDate 부터 days 일간 모든 상영관 시간표 생성 (재실행해도 같은 결과)
+     */
+    public ShowtimeGenerationResultDto generate(LocalDate startDate, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("생성 일수는 1 이상이어야 합니다.");
+        }
+        long startedAt = System.currentTimeMillis();
+
+        Map<Long, List<ScreenRow>> screensByTheater = showtimeBulkRepository.findAllScreens().stream()
+                .collect(Collectors.groupingBy(ScreenRow::theaterId, LinkedHashMap::new, Collectors.toList()));
+        Map<String, Integer> runtimes = loadRuntimes();
+
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger inserted = new AtomicInteger();
+        AtomicInteger kept = new AtomicInteger();
+        AtomicInteger failedTheaters = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (Map.Entry<Long, List<ScreenRow>> entry : screensByTheater.entrySet()) {
+                Long theaterId = entry.getKey();
+                List<ScreenRow> screens = entry.getValue();
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        TheaterResult result = transactionTemplate.execute(
+                                status -> generateForTheater(theaterId, screens, startDate, days, runtimes));
+                        if (result != null) {
+                            deleted.addAndGet(result.deleted());
+                            inserted.addAndGet(result.inserted());
+                            kept.addAndGet(result.kept());
+                        }
+                        timetableCache.evictTheater(theaterId);
+                    } catch (Exception e) {
+                        failedTheaters.incrementAndGet();
+                        log.error("시간표 생성 실패. theaterId={}, error={}", theaterId, e.getMessage(), e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        int screenCount = screensByTheater.values().stream().mapToInt(List::size).sum();
+        log.info("시간표 생성 완료: 영화관 {}곳, 상영관 {}개, {}일, 삭제 {}건, 생성 {}건, 유지 {}건, 실패 영화관 {}곳 ({}ms)",
+                screensByTheater.size(), screenCount, days, deleted.get(), inserted.get(), kept.get(),
+                failedTheaters.get(), elapsed);
+
+        return ShowtimeGenerationResultDto.builder()
+                .startDate(startDate)
+                .days(days)
+                .theaters(screensByTheater.size())
+                .screens(screenCount)
+                .deleted(deleted.get())
+                .inserted(inserted.get())
+                .kept(kept.get())
+                .failedTheaters(failedTheaters.get())
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    private TheaterResult generateForTheater(Long theaterId, List<ScreenRow> screens, LocalDate startDate,
+                                             int days, Map<String, Integer> runtimes) {
+        LocalDateTime from = toDbTime(startDate.atStartOfDay());
+        LocalDateTime to = toDbTime(startDate.plusDays(days).atStartOfDay());
+
+        // 1. 예매 없는 기존 시간표 정리 → 2. 남은(예매 걸린) 슬롯은 건너뛰고 생성
+        int deleted = showtimeBulkRepository.deleteUnbookedByTheaterAndRange(theaterId, from, to, batchSize);
+        Set<SlotKey> existing = showtimeBulkRepository.findSlotKeysByTheaterAndRange(theaterId, from, to);
+
+        List<ShowtimeRow> rows = new ArrayList<>();
+        for (ScreenRow screen : screens) {
+            for (int i = 0; i < days; i++) {
+                LocalDate date = startDate.plusDays(i);
+                for (ShowtimeRow row : buildDailyRows(screen, date, runtimes)) {
+                    if (!existing.contains(new SlotKey(row.screenId(), row.startTime()))) {
+                        rows.add(row);
+                    }
+                }
+            }
+        }
+
+        int inserted = rows.isEmpty() ? 0 : showtimeBulkRepository.batchInsert(rows, batchSize);
+        return new TheaterResult(deleted, inserted, existing.size());
+    }
+
+    // 상영관·날짜 하나의 회차 목록 (시드 고정 → 항상 같은 슬롯/영화)
+    private List<ShowtimeRow> buildDailyRows(ScreenRow screen, LocalDate date, Map<String, Integer> runtimes) {
+        Random random = new Random(screen.id() * 1_000_003L + date.toEpochDay());
+
+        List<TimeSlot> slots = new ArrayList<>(TIME_SLOTS);
+        Collections.shuffle(slots, random);
+        int count = MIN_SLOTS_PER_DAY + random.nextInt(MAX_SLOTS_PER_DAY - MIN_SLOTS_PER_DAY + 1);
+        List<TimeSlot> picked = new ArrayList<>(slots.subList(0, count));
+        picked.sort(Comparator.comparing(TimeSlot::start));
+
+        boolean weekend = isWeekend(date);
+        List<ShowtimeRow> rows = new ArrayList<>(count);
+        for (TimeSlot slot : picked) {
+            String movieId = movieIds.get(random.nextInt(movieIds.size()));
+            int runtime = runtimes.getOrDefault(movieId, DEFAULT_RUNTIME);
+
+            LocalDateTime start = date.atTime(slot.start());
+            LocalDateTime end = start.plusMinutes(runtime);
+            rows.add(new ShowtimeRow(
+                    movieId,
+                    screen.id(),
+                    toDbTime(start),
+                    toDbTime(end),
+                    slot.type().price(weekend),
+                    screen.totalSeats(),
+                    screen.region(),
+                    screen.city()));
+        }
+        return rows;
+    }
+
+    // 금~일 및 공휴일은 주말 요금
+    private boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY
+                || holidays.contains(date);
+    }
+
+    private LocalDateTime toDbTime(LocalDateTime kst) {
+        return kst.minusHours(DB_OFFSET_HOURS);
+    }
+
+    /**
+     * 생성 대상 영화의 러닝타임을 ES 에서 한 번에 조회 (없으면 120분)
+     */
+    private Map<String, Integer> loadRuntimes() {
+        Map<String, Integer> runtimes = new HashMap<>();
+        List<String> elasticIds = movieIds.stream()
+                .map(id -> id.replace("tmdb_", ""))
+                .collect(Collectors.toList());
+        try {
+            MgetResponse<Movie> response = elasticsearchClient.mget(
+                    m -> m.index("movies").ids(elasticIds),
+                    Movie.class
+            );
+            response.docs().forEach(doc -> {
+                if (doc.isResult() && doc.result().found() && doc.result().source() != null) {
+                    Integer runtime = doc.result().source().getRuntime();
+                    if (runtime != null && runtime > 0) {
+                        runtimes.put("tmdb_" + doc.result().id(), runtime);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.warn("러닝타임 조회 실패, 기본값({}분)으로 생성합니다: {}", DEFAULT_RUNTIME, e.getMessage());
+        }
+        return runtimes;
+    }
+
+    private enum SlotType {
+        EARLY(10000, 11000),   // 조조
+        REGULAR(14000, 15000), // 일반
+        LATE(10000, 11000);    // 심야
+
+        private final int weekdayPrice;
+        private final int weekendPrice;
+
+        SlotType(int weekdayPrice, int weekendPrice) {
+            this.weekdayPrice = weekdayPrice;
+            this.weekendPrice = weekendPrice;
+        }
+
+        int price(boolean weekend) {
+            return weekend ? weekendPrice : weekdayPrice;
+        }
+    }
+
+    private record TimeSlot(SlotType type, LocalTime start) {
+    }
+
+    private record TheaterResult(int deleted, int inserted, int kept) {
+    }
+}
@@ -0,0 +1,308 @@
+package com.boot.service;
+
+import com.boot.entity.Showtime;
+import com.boot.repository.BookingRepository;
+import com.boot.repository.ShowtimeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인기 시간표용 잔여 좌석 핫 카운터 (Redis)
+ * - 예매/취소 시 showtime.available_seats 행을 매번 잠그지 않고 Redis 원자 연산으로 차감/복구
+ * - 변경된 시간표는 dirty 셋에 기록해 두고, 스케줄러가 좌석 재고(확정 예매 합계)와 비교해 MySQL에 반영
+ */
+@Slf4j
+@Component
+public class ShowtimeSeatCounter {
+
+    private static final String SEATS_KEY_PREFIX = "showtime:seats:";
+    private static final String DIRTY_KEY = "showtime:seats:dirty";
+    private static final Duration COUNTER_TTL = Duration.ofDays(3);
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private static final long NO_COUNTER = -2L;
+    private static final long NOT_ENOUGH = -1L;
+
+    // 잔여 좌석이 충분할 때만 차감 (-1: 부족, -2: 카운터 없음)
+    private static final RedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('GET', KEYS[1]) " +
+            "if not v then return -2 end " +
+            "if tonumber(v) < tonumber(ARGV[1]) then return -1 end " +
+            "return redis.call('DECRBY', KEYS[1], ARGV[1])",
+            Long.class);
+
+    // 카운터가 있을 때만 복구 (-2: 카운터 없음)
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end " +
+            "return redis.call('INCRBY', KEYS[1], ARGV[1])",
+            Long.class);
+
+    // 검증 시점 값과 동일할 때만 보정 (그 사이 예매가 들어왔으면 건드리지 않음)
+    private static final RedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+            "local ttl = redis.call('PTTL', KEYS[1]) " +
+            "redis.call('SET', KEYS[1], ARGV[2]) " +
+            "if ttl > 0 then redis.call('PEXPIRE', KEYS[1], ttl) end " +
+            "return 1",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+
+    public enum Reservation {
+        RESERVED,       // 카운터에서 차감됨
+        SOLD_OUT,       // 잔여 좌석 부족
+        UNAVAILABLE     // Redis 사용 불가 → 호출 측에서 시간표 행을 잠그고 DB 방식으로 처리
+    }
+
+    // 재고보다 적은 카운터 값 (진행 중인 예매일 수 있으므로 두 번 연속 같을 때만 보정)
+    private final Map<Long, Long> suspectedDrift = new ConcurrentHashMap<>();
+
+    // DB 방식으로 차감했지만 카운터 삭제에 실패한 시간표 (Redis 복구 후 옛 값으로 초과 예매하지 않도록 다음 차감 전에 삭제)
+    private final Set<Long> staleCounters = ConcurrentHashMap.newKeySet();
+
+    public ShowtimeSeatCounter(StringRedisTemplate redisTemplate,
+                               ShowtimeRepository showtimeRepository,
+                               BookingRepository bookingRepository,
+                               @Value("${booking.hot-counter.enabled:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.showtimeRepository = showtimeRepository;
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 카운터에서 좌석 차감. 트랜잭션이 롤백되면 자동으로 복구된다.
+     *
+     * @return RESERVED: 카운터에서 차감됨, SOLD_OUT: 잔여 좌석 부족, UNAVAILABLE: Redis 사용 불가
+     */
+    public Reservation reserve(Showtime showtime, int count) {
+        Long showtimeId = showtime.getId();
+        String key = key(showtimeId);
+        Long result;
+        try {
+            if (staleCounters.contains(showtimeId)) {
+                redisTemplate.delete(key);
+                staleCounters.remove(showtimeId);
+            }
+            result = redisTemplate.execute(RESERVE_SCRIPT, List.of(key), String.valueOf(count));
+            if (result != null && result == NO_COUNTER) {
+                // 첫 예매 → 좌석 재고 기준으로 카운터 생성 후 재시도
+                redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(inventorySeats(showtime)), COUNTER_TTL);
+                result = redisTemplate.execute(RESERVE_SCRIPT, List.of(key), String.valueOf(count));
+            }
+        } catch (DataAccessException e) {
+            log.warn("좌석 카운터 사용 불가, DB 방식으로 처리합니다. showtimeId={}, error={}", showtimeId, e.getMessage());
+            return Reservation.UNAVAILABLE;
+        }
+
+        if (result == null || result == NO_COUNTER) {
+            return Reservation.UNAVAILABLE;
+        }
+        if (result == NOT_ENOUGH) {
+            return Reservation.SOLD_OUT;
+        }
+
+        markDirty(showtimeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(showtimeId, count);
+                    }
+                }
+            });
+        }
+        return Reservation.RESERVED;
+    }
+
+    /**
+     * 카운터를 거치지 않고 DB에서 차감한 시간표의 카운터 삭제 (다음 예매 때 좌석 재고 기준으로 다시 생성)
+     */
+    public void invalidate(Long showtimeId) {
+        try {
+            redisTemplate.delete(key(showtimeId));
+            staleCounters.remove(showtimeId);
+        } catch (DataAccessException e) {
+            staleCounters.add(showtimeId);
+            log.warn("좌석 카운터 삭제 실패, 다음 차감 전에 다시 삭제합니다. showtimeId={}, error={}", showtimeId, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 시간표의 좌석을 카운터가 관리 중인지 (취소 시 DB 행을 건드릴지 판단)
+     */
+    public boolean isTracking(Long showtimeId) {
+        if (!enabled) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(key(showtimeId)));
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 카운터에 좌석 복구 (예매 취소 커밋 이후 또는 롤백 보상)
+     */
+    public void release(Long showtimeId, int count) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key(showtimeId)), String.valueOf(count));
+            markDirty(showtimeId);
+        } catch (DataAccessException e) {
+            // 복구 실패분은 재고 검증 스케줄러가 보정
+            log.warn("좌석 카운터 복구 실패. showtimeId={}, count={}, error={}", showtimeId, count, e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 카운터 값 (없으면 null → DB 값 사용)
+     */
+    public Integer currentSeats(Long showtimeId) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(key(showtimeId));
+            return value != null ? Integer.valueOf(value) : null;
+        } catch (DataAccessException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 여러 시간표의 현재 카운터 값 (MGET 1회, 카운터가 없는 시간표는 결과에 없음 → DB 값 사용)
+     */
+    public Map<Long, Integer> currentSeats(List<Long> showtimeIds) {
+        Map<Long, Integer> seats = new HashMap<>();
+        if (!enabled || showtimeIds.isEmpty()) {
+            return seats;
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(showtimeIds.stream().map(this::key).toList());
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    seats.put(showtimeIds.get(i), Integer.valueOf(values.get(i)));
+                }
+            }
+        } catch (DataAccessException | NumberFormatException e) {
+            log.warn("좌석 카운터 일괄 조회 실패, DB 값을 사용합니다. error={}", e.getMessage());
+            return new HashMap<>();
+        }
+        return seats;
+    }
+
+    /**
+     * 변경된 시간표를 좌석 재고와 대조해서 MySQL에 반영 (write-behind)
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        List<String> dirtyIds;
+        try {
+            dirtyIds = redisTemplate.opsForSet().pop(DIRTY_KEY, RECONCILE_BATCH_SIZE);
+        } catch (DataAccessException e) {
+            log.warn("좌석 카운터 dirty 목록 조회 실패: {}", e.getMessage());
+            return;
+        }
+        if (dirtyIds == null || dirtyIds.isEmpty()) {
+            return;
+        }
+
+        for (String id : dirtyIds) {
+            try {
+                reconcileShowtime(Long.valueOf(id));
+            } catch (Exception e) {
+                log.error("좌석 카운터 반영 실패. showtimeId={}, error={}", id, e.getMessage(), e);
+                markDirty(Long.valueOf(id));
+            }
+        }
+    }
+
+    private void reconcileShowtime(Long showtimeId) {
+        String key = key(showtimeId);
+        // 카운터를 먼저 읽고 재고를 나중에 읽어야, 그 사이의 예매가 잘못된 보정으로 이어지지 않음
+        String counterRaw = redisTemplate.opsForValue().get(key);
+
+        Integer totalSeats = showtimeRepository.findTotalSeatsByShowtimeId(showtimeId);
+        if (totalSeats == null) {
+            redisTemplate.delete(key);
+            suspectedDrift.remove(showtimeId);
+            return;
+        }
+        long booked = bookingRepository.sumConfirmedSeatCountByShowtimeId(showtimeId);
+        long inventory = Math.max(0, totalSeats - booked);
+
+        // MySQL에는 항상 좌석 재고 기준 값을 기록
+        showtimeRepository.updateAvailableSeats(showtimeId, (int) inventory, LocalDateTime.now());
+
+        if (counterRaw == null) {
+            suspectedDrift.remove(showtimeId);
+            return;
+        }
+        long counter = Long.parseLong(counterRaw);
+        if (counter == inventory) {
+            suspectedDrift.remove(showtimeId);
+            return;
+        }
+
+        Long previous = suspectedDrift.put(showtimeId, counter);
+        boolean oversold = counter > inventory; // 재고보다 많으면 초과 예매 위험 → 즉시 보정
+        if (oversold || (previous != null && previous == counter)) {
+            Long updated = redisTemplate.execute(COMPARE_AND_SET_SCRIPT, List.of(key), counterRaw, String.valueOf(inventory));
+            if (updated != null && updated == 1L) {
+                log.warn("좌석 카운터 보정. showtimeId={}, counter={}, inventory={}", showtimeId, counter, inventory);
+                suspectedDrift.remove(showtimeId);
+                return;
+            }
+        }
+        // 진행 중인 예매일 수 있으니 다음 주기에 다시 확인
+        markDirty(showtimeId);
+    }
+
+    /**
+     * 좌석 재고 (상영관 총 좌석 - 확정 예매 합계)
+     */
+    public long inventorySeats(Showtime showtime) {
+        long booked = bookingRepository.sumConfirmedSeatCountByShowtimeId(showtime.getId());
+        return Math.max(0, showtime.getScreen().getTotalSeats() - booked);
+    }
+
+    private void markDirty(Long showtimeId) {
+        try {
+            redisTemplate.opsForSet().add(DIRTY_KEY, String.valueOf(showtimeId));
+        } catch (DataAccessException e) {
+            log.warn("좌석 카운터 dirty 기록 실패. showtimeId={}, error={}", showtimeId, e.getMessage());
+        }
+    }
+
+    private String key(Long showtimeId) {
+        return SEATS_KEY_PREFIX + showtimeId;
+    }
+}
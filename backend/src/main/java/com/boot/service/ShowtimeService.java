@@ -14,6 +14,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +24,8 @@ public class ShowtimeService {
 
     private final ShowtimeRepository showtimeRepository;
     private final ElasticsearchClient elasticsearchClient;
+    private final ShowtimeTimetableCache timetableCache;
+    private final ShowtimeSeatCounter seatCounter;
 
     /**
      * 영화별 시간표 조회 (Elasticsearch 영화 정보 결합)
@@ -47,18 +50,7 @@ public class ShowtimeService {
      * 특정 영화관의 날짜별 시간표 조회
      */
     public List<ShowtimeResponseDto> getShowtimesByTheaterAndDate(Long theaterId, LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
-
-        List<Showtime> showtimes = showtimeRepository.findByTheaterIdAndDateRange(theaterId, startOfDay, endOfDay);
-
-        return showtimes.stream()
-                .map(showtime -> {
-                    ShowtimeResponseDto dto = ShowtimeResponseDto.fromEntity(showtime);
-                    enrichWithMovieData(dto);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return timetableCache.get(theaterId, date, () -> loadTimetable(theaterId, date));
     }
 
     /**
@@ -67,17 +59,10 @@ public class ShowtimeService {
     public List<ShowtimeResponseDto> getShowtimesByMovieTheaterAndDate(String movieId, Long theaterId, LocalDate date) {
         // movieId에 "tmdb_" 접두사가 없으면 자동으로 붙임
         String dbMovieId = movieId.startsWith("tmdb_") ? movieId : "tmdb_" + movieId;
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
-        List<Showtime> showtimes = showtimeRepository.findByMovieIdAndTheaterIdAndDateRange(dbMovieId, theaterId, startOfDay, endOfDay);
-
-        return showtimes.stream()
-            .map(showtime -> {
-                ShowtimeResponseDto dto = ShowtimeResponseDto.fromEntity(showtime);
-                enrichWithMovieData(dto);
-                return dto;
-                })
+        // 영화관 시간표 캐시에서 해당 영화만 골라냄
+        return getShowtimesByTheaterAndDate(theaterId, date).stream()
+                .filter(dto -> dbMovieId.equals(dto.getMovieId()))
                 .collect(Collectors.toList());
     }
 
@@ -128,9 +113,40 @@ public class ShowtimeService {
 
         ShowtimeResponseDto dto = ShowtimeResponseDto.fromEntity(showtime);
         enrichWithMovieData(dto);
+
+        // 핫 카운터가 관리 중이면 아직 MySQL에 반영되지 않은 최신 잔여 좌석을 사용
+        Integer counterSeats = seatCounter.currentSeats(showtimeId);
+        if (counterSeats != null) {
+            dto.setAvailableSeats(counterSeats);
+        }
         return dto;
     }
 
+    /**
+     * 영화관 + 날짜 시간표를 DB/ES에서 새로 구성 (캐시 미스 시에만 호출)
+     * - 핫 카운터가 관리 중인 시간표는 MySQL 반영(최대 수 초 지연) 전의 카운터 값으로 덮어씀
+     *   (오래된 값이 캐시되면 이후 예매는 증감분만 반영하므로 TTL 동안 틀린 값이 남음)
+     */
+    private List<ShowtimeResponseDto> loadTimetable(Long theaterId, LocalDate date) {
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
+
+        List<Showtime> showtimes = showtimeRepository.findByTheaterIdAndDateRange(theaterId, startOfDay, endOfDay);
+        Map<Long, Integer> counterSeats = seatCounter.currentSeats(showtimes.stream().map(Showtime::getId).toList());
+
+        return showtimes.stream()
+                .map(showtime -> {
+                    ShowtimeResponseDto dto = ShowtimeResponseDto.fromEntity(showtime);
+                    enrichWithMovieData(dto);
+                    Integer seats = counterSeats.get(showtime.getId());
+                    if (seats != null) {
+                        dto.setAvailableSeats(seats);
+                    }
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
     /**
      * Elasticsearch에서 영화 정보 조회 후 DTO에 추가
      */
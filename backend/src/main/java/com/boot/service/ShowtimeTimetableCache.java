@@ -0,0 +1,195 @@
+package com.boot.service;
+
+import com.boot.dto.ShowtimeResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 영화관 + 날짜 단위 시간표 캐시
+ * - ES 정보까지 채워진 ShowtimeResponseDto 목록을 그대로 보관
+ * - 예매/취소 시에는 availableSeats 만 증분 패치하고, 나머지(정적 정보)는 다시 만들지 않음
+ * - 호출 측에는 DTO 복사본을 반환 (캐시된 스냅샷이 밖에서 바뀌지 않도록)
+ * - MAX_ENTRIES 를 넘으면 만료된 것부터, 그래도 넘으면 가장 오래 조회되지 않은 시간표부터 제거
+ */
+@Slf4j
+@Component
+public class ShowtimeTimetableCache {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final int MAX_ENTRIES = 5000;
+    // 한도를 넘었을 때 이 개수까지 줄임 (매 로딩마다 정리하지 않도록 여유를 둠)
+    private static final int TRIM_TARGET = MAX_ENTRIES * 9 / 10;
+
+    private final Map<TimetableKey, Timetable> timetables = new ConcurrentHashMap<>();
+
+    /**
+     * 캐시된 시간표 반환, 없거나 만료되었으면 loader 로 새로 만들어 저장
+     */
+    public List<ShowtimeResponseDto> get(Long theaterId, LocalDate date, Supplier<List<ShowtimeResponseDto>> loader) {
+        TimetableKey key = new TimetableKey(theaterId, date);
+        Timetable current = timetables.get(key);
+        if (current != null && current.isReady() && !current.isExpired()) {
+            current.touch();
+            return copy(current.showtimes);
+        }
+
+        // 로딩 마커를 먼저 걸어두고, 로딩 중 좌석 패치가 들어오면 결과를 캐시하지 않음
+        Timetable marker = Timetable.loading();
+        boolean owner = current == null
+                ? timetables.putIfAbsent(key, marker) == null
+                : current.isReady() && timetables.replace(key, current, marker);
+
+        List<ShowtimeResponseDto> loaded;
+        try {
+            loaded = List.copyOf(loader.get());
+        } catch (RuntimeException e) {
+            if (owner) {
+                timetables.computeIfPresent(key, (k, cur) -> cur.isReady() ? cur : null);
+            }
+            throw e;
+        }
+        if (!owner) {
+            return copy(loaded);
+        }
+
+        Timetable fresh = Timetable.ready(loaded);
+        timetables.compute(key, (k, cur) -> {
+            if (cur == marker) {
+                return fresh;
+            }
+            // 로딩 도중 좌석이 바뀐 경우(stale 마커) → 다음 요청에서 다시 로딩
+            return cur != null && !cur.isReady() ? null : cur;
+        });
+
+        if (timetables.size() > MAX_ENTRIES) {
+            trim();
+        }
+        return copy(loaded);
+    }
+
+    /**
+     * 예매/취소로 잔여 좌석이 바뀌었을 때 해당 시간표의 availableSeats 만 패치
+     */
+    public void adjustAvailableSeats(Long theaterId, LocalDate date, Long showtimeId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        timetables.computeIfPresent(new TimetableKey(theaterId, date),
+                (k, timetable) -> timetable.withSeatDelta(showtimeId, delta));
+    }
+
+    /**
+     * 시간표 자체가 새로 생성된 경우 (영화관 단위 무효화)
+     */
+    public void evictTheater(Long theaterId) {
+        timetables.keySet().removeIf(key -> key.theaterId().equals(theaterId));
+    }
+
+    public void evictAll() {
+        timetables.clear();
+    }
+
+    // 만료된 시간표 정리 (1분마다)
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        int before = timetables.size();
+        timetables.entrySet().removeIf(e -> e.getValue().isReady() && e.getValue().isExpired());
+        int removed = before - timetables.size();
+        if (removed > 0) {
+            log.debug("만료된 시간표 캐시 {}건 정리", removed);
+        }
+    }
+
+    // 만료된 것 먼저 정리하고, 그래도 많으면 오래 조회되지 않은 순으로 제거
+    private void trim() {
+        evictExpired();
+        int excess = timetables.size() - TRIM_TARGET;
+        if (excess <= 0) {
+            return;
+        }
+        timetables.entrySet().stream()
+                .filter(e -> e.getValue().isReady())
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccessMillis))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(timetables::remove);
+        log.debug("시간표 캐시 한도 초과로 {}건 정리", excess);
+    }
+
+    private static List<ShowtimeResponseDto> copy(List<ShowtimeResponseDto> showtimes) {
+        List<ShowtimeResponseDto> copies = new ArrayList<>(showtimes.size());
+        for (ShowtimeResponseDto dto : showtimes) {
+            copies.add(dto.toBuilder().build());
+        }
+        return copies;
+    }
+
+    private record TimetableKey(Long theaterId, LocalDate date) {
+    }
+
+    /**
+     * 불변 시간표 스냅샷 (패치 시 새 객체로 교체, 마지막 조회 시각만 갱신)
+     * showtimes == null 이면 로딩 중 마커
+     */
+    private static final class Timetable {
+        private final List<ShowtimeResponseDto> showtimes;
+        private final Instant loadedAt;
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+
+        private Timetable(List<ShowtimeResponseDto> showtimes, Instant loadedAt) {
+            this.showtimes = showtimes;
+            this.loadedAt = loadedAt;
+        }
+
+        void touch() {
+            lastAccessMillis = System.currentTimeMillis();
+        }
+
+        static Timetable loading() {
+            return new Timetable(null, Instant.now());
+        }
+
+        static Timetable ready(List<ShowtimeResponseDto> showtimes) {
+            return new Timetable(showtimes, Instant.now());
+        }
+
+        boolean isReady() {
+            return showtimes != null;
+        }
+
+        boolean isExpired() {
+            return loadedAt.plus(TTL).isBefore(Instant.now());
+        }
+
+        Timetable withSeatDelta(Long showtimeId, int delta) {
+            if (!isReady()) {
+                // 로딩 중 → 새 마커로 교체해서 로딩 결과가 캐시되지 않도록 함
+                return loading();
+            }
+            List<ShowtimeResponseDto> patched = new ArrayList<>(showtimes.size());
+            for (ShowtimeResponseDto dto : showtimes) {
+                if (showtimeId.equals(dto.getShowtimeId())) {
+                    int seats = dto.getAvailableSeats() != null ? dto.getAvailableSeats() : 0;
+                    patched.add(dto.toBuilder().availableSeats(seats + delta).build());
+                } else {
+                    patched.add(dto);
+                }
+            }
+            Timetable next = new Timetable(List.copyOf(patched), loadedAt);
+            next.lastAccessMillis = lastAccessMillis;
+            return next;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.boot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 토스페이먼츠 API 클라이언트
+ * - JDK HttpClient 기반 커넥션 풀 재사용 + 연결/응답 타임아웃
+ * - 승인/취소 요청에 Idempotency-Key 를 붙여서 재시도해도 토스에서 한 번만 처리됨
+ * - DB 트랜잭션 안에서 호출하지 않는다 (PaymentService 참고)
+ */
+@Slf4j
+@Component
+public class TossPaymentsClient {
+
+    private static final String BASE_URL = "https://api.tosspayments.com/v1/payments";
+
+    // 이미 같은 결과가 반영된 상태를 의미하는 토스 에러 코드 → 성공으로 처리
+    private static final Set<String> ALREADY_APPLIED_CODES = Set.of(
+            "ALREADY_PROCESSED_PAYMENT",
+            "ALREADY_CANCELED_PAYMENT"
+    );
+
+    // 4xx 중 재시도하면 결과가 달라질 수 있는 상태 코드
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(
+            HttpStatus.CONFLICT.value(),
+            HttpStatus.TOO_MANY_REQUESTS.value()
+    );
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String authorization;
+
+    public TossPaymentsClient(ObjectMapper objectMapper,
+                              @Value("${toss.payments.secret.key:test_sk_zXLkKEypNArWmo50nX3lmeaxYG5R}") String tossSecretKey,
+                              @Value("${toss.payments.connect-timeout:3s}") Duration connectTimeout,
+                              @Value("${toss.payments.read-timeout:10s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.objectMapper = objectMapper;
+        String auth = tossSecretKey + ":";
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 결제 승인
+     *
+     * @param idempotencyKey 같은 요청의 재시도에 같은 값을 사용 (PaymentOutboxService.TossCall 참고)
+     */
+    public Map<String, Object> confirm(String paymentKey, String orderId, Integer amount, String idempotencyKey) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("paymentKey", paymentKey);
+        body.put("orderId", orderId);
+        body.put("amount", amount);
+        return post(BASE_URL + "/confirm", body, idempotencyKey);
+    }
+
+    /**
+     * 결제 취소
+     */
+    public Map<String, Object> cancel(String paymentKey, String cancelReason, String idempotencyKey) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("cancelReason", cancelReason);
+        return post(BASE_URL + "/" + paymentKey + "/cancel", body, idempotencyKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> post(String url, Map<String, Object> body, String idempotencyKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", authorization);
+        headers.set("Idempotency-Key", idempotencyKey);
+
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(body, headers), Map.class);
+            return response.getBody() != null ? response.getBody() : Map.of();
+        } catch (HttpStatusCodeException e) {
+            String code = errorCode(e.getResponseBodyAsString());
+            if (ALREADY_APPLIED_CODES.contains(code)) {
+                log.info("토스 요청이 이미 반영되어 있습니다. key={}, code={}", idempotencyKey, code);
+                return Map.of("code", code);
+            }
+            // 4xx: 토스가 거절한 요청 (재시도해도 같은 결과), 5xx: 결과 미확인
+            // 409(같은 키 요청 처리 중)/429(요청 한도 초과)는 일시적인 상태 → 재시도
+            boolean rejected = e.getStatusCode().is4xxClientError() && !RETRYABLE_STATUSES.contains(e.getStatusCode().value());
+            throw new TossPaymentException(rejected, code, e.getResponseBodyAsString());
+        } catch (ResourceAccessException e) {
+            // 연결 실패/타임아웃: 토스에서 처리되었는지 알 수 없음
+            throw new TossPaymentException(false, "NETWORK_ERROR", e.getMessage());
+        }
+    }
+
+    private String errorCode(String responseBody) {
+        try {
+            JsonNode node = objectMapper.readTree(responseBody);
+            return node.path("code").asText("UNKNOWN");
+        } catch (Exception e) {
+            return "UNKNOWN";
+        }
+    }
+
+    /**
+     * 토스 호출 실패
+     * rejected == true 면 토스가 거절한 요청(재시도 불필요), false 면 결과 미확인(재시도 필요)
+     */
+    public static class TossPaymentException extends RuntimeException {
+        private final boolean rejected;
+        private final String code;
+
+        public TossPaymentException(boolean rejected, String code, String message) {
+            super(code + ": " + message);
+            this.rejected = rejected;
+            this.code = code;
+        }
+
+        public boolean isRejected() {
+            return rejected;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.boot.service;
+
+import com.boot.dto.MovieDoc;
+import com.boot.event.DomainEventSubscriber;
+import com.boot.event.MovieEngagementEvent;
+import com.boot.repository.MovieEngagementBulkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인앱 활동 기반 실시간 인기 영화 (찜 / Watchlist 추가 / 평점 / 예매 / 퀵매치 LIKE)
+ * - 참여 이벤트를 커밋 후 이벤트 버스에서 묶음으로 받아 영화별 지수 감쇠 점수(DecayingScoreTable)에 더함, 요청 시 집계 쿼리 없음
+ * - 주기적으로 상위 N개를 뽑아 영화 정보까지 채운 순위를 통째로 교체하고, 조회는 그 순위를 그대로 반환
+ * - 서버마다 자기가 처리한 이벤트만 집계 (서버 시작 시 최근 기록으로 한 번 채움, 찜은 생성 시각이 없어 제외)
+ */
+@Slf4j
+@Service
+public class TrendingMovieService implements DomainEventSubscriber<MovieEngagementEvent> {
+
+    public static final int MAX_LIMIT = 50;
+    // exp 배율이 e^20 을 넘기 전에 기준 시각 이동
+    private static final double MAX_EXPONENT = 20;
+    // 이 점수 미만인 영화는 rebase 때 버림 (가중치 1 짜리 이벤트가 반감기 약 10번 지난 정도)
+    private static final double MIN_SCORE = 0.001;
+
+    private final MovieEngagementBulkRepository engagementBulkRepository;
+    private final MovieSearchService movieSearchService;
+    private final Duration warmUp;
+    private final int size;
+    private final long startedAt;
+    private final DecayingScoreTable table;
+
+    private volatile boolean warmedUp;
+    private volatile Ranking ranking = new Ranking(List.of(), List.of(), List.of());
+
+    public TrendingMovieService(MovieEngagementBulkRepository engagementBulkRepository,
+                                MovieSearchService movieSearchService,
+                                @Value("${trending.movies.half-life:6h}") Duration halfLife,
+                                @Value("${trending.movies.warm-up:24h}") Duration warmUp,
+                                @Value("${trending.movies.size:100}") int size) {
+        this.engagementBulkRepository = engagementBulkRepository;
+        this.movieSearchService = movieSearchService;
+        this.warmUp = warmUp;
+        this.size = Math.max(MAX_LIMIT, size);
+        this.startedAt = System.currentTimeMillis();
+        this.table = new DecayingScoreTable(halfLife.toMillis(), startedAt);
+    }
+
+    /**
+     * 현재 인기 영화 (점수 높은 순, 미성년자는 청소년관람불가 제외, 집계 전이면 빈 목록)
+     */
+    public List<MovieDoc> getTrending(int limit, boolean adult) {
+        Ranking current = ranking;
+        List<MovieDoc> movies = adult ? current.all() : current.minor();
+        return movies.subList(0, Math.min(limit, movies.size()));
+    }
+
+    @Override
+    public Class<MovieEngagementEvent> eventType() {
+        return MovieEngagementEvent.class;
+    }
+
+    @Override
+    public void onEvents(List<MovieEngagementEvent> events) {
+        long now = System.currentTimeMillis();
+        for (MovieEngagementEvent event : events) {
+            if (event.movieId() != null) {
+                table.add(normalize(event.movieId()), weight(event.type()), now);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trending.movies.publish-interval-ms:60000}",
+            initialDelayString = "${trending.movies.initial-delay-ms:30000}")
+    public void publish() {
+        try {
+            if (!warmedUp) {
+                // 실패해도 다시 읽지 않음 (중간까지 더해진 기록이 두 번 들어가지 않도록)
+                warmedUp = true;
+                warmUp();
+            }
+            long now = System.currentTimeMillis();
+            if (table.needsRebase(now, MAX_EXPONENT)) {
+                int kept = table.rebase(now, MIN_SCORE);
+                log.info("인기 영화 점수 기준 시각 이동: 남은 영화 {}편", kept);
+            }
+            List<String> ids = table.top(size, now).stream()
+                    .map(DecayingScoreTable.Entry::key)
+                    .toList();
+            if (ids.equals(ranking.movieIds())) {
+                return;
+            }
+            // 순위가 바뀐 경우에만 영화 정보 조회 (한 번 조회해서 미성년자용은 메모리에서 거름)
+            List<MovieDoc> all = movieSearchService.getMovieDocsByIds(ids, true);
+            if (!ids.isEmpty() && all.isEmpty()) {
+                // ES 조회 실패는 빈 목록으로 돌아옴 → 순위를 바꾸면 다음 갱신 때 같은 순위라 다시 조회하지 않음
+                log.warn("인기 영화 정보 조회 결과가 없어 기존 순위를 유지합니다. 대상 {}편", ids.size());
+                return;
+            }
+            List<MovieDoc> minor = all.stream()
+                    .filter(movie -> !MovieSearchService.isAdultOnly(movie.getCertification()))
+                    .toList();
+            ranking = new Ranking(ids, all, minor);
+        } catch (RuntimeException e) {
+            log.warn("인기 영화 순위 갱신 실패, 기존 순위를 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    // 서버 시작 전 기록만 읽음 (시작 후 기록은 이벤트로 이미 반영)
+    private void warmUp() {
+        LocalDateTime to = LocalDateTime.ofInstant(Instant.ofEpochMilli(startedAt), ZoneId.systemDefault());
+        AtomicInteger count = new AtomicInteger();
+        engagementBulkRepository.forEachBetween(to.minus(warmUp), to, (movieId, type, atMillis) -> {
+            if (movieId == null) {
+                return;
+            }
+            table.add(normalize(movieId), weight(MovieEngagementEvent.Type.valueOf(type)), atMillis);
+            count.incrementAndGet();
+        });
+        log.info("인기 영화 초기 집계 완료: 최근 {} 기록 {}건, 영화 {}편", warmUp, count.get(), table.size());
+    }
+
+    // 예매는 상영 시간표의 movie_id 라 "tmdb_" 접두사가 붙어 있을 수 있음
+    private static String normalize(String movieId) {
+        return movieId.replace("tmdb_", "");
+    }
+
+    // 비용이 큰 행동일수록 높게
+    private static double weight(MovieEngagementEvent.Type type) {
+        return switch (type) {
+            case BOOKING -> 5;
+            case FAVORITE -> 3;
+            case WATCHLIST, RATING -> 2;
+            case QUICK_MATCH_LIKE -> 1;
+        };
+    }
+
+    private record Ranking(List<String> movieIds, List<MovieDoc> all, List<MovieDoc> minor) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.boot.service;
+
+import com.boot.dto.TrendingSearchDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 실시간 인기 검색어
+ * - 검색어를 시간 구간(기본 5분)별 Count-Min Sketch + 상위 후보로 집계 (메모리 고정)
+ * - 주기적으로 이 서버의 증가분을 Redis 에 더하고(HINCRBY/ZINCRBY), 전체 서버의 합계를 다시 읽어 순위 계산
+ * - 순위는 최근 구간일수록 가중치를 크게 (반감기) 해서 메모리에 두고 바로 응답
+ * - Redis 를 쓸 수 없으면 이 서버 집계만으로 순위 계산
+ */
+@Slf4j
+@Service
+public class TrendingSearchService {
+
+    private static final String KEY_PREFIX = "trending:search:";
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 2048;
+    private static final int CANDIDATES = 100;
+    private static final int MAX_QUERY_LENGTH = 50;
+    public static final int MAX_LIMIT = 50;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long windowMillis;
+    private final int windowCount;
+    private final double halfLifeWindows;
+
+    // 아직 Redis 에 보내지 않은 증가분, 이 서버의 구간별 누적 (구간 id → 스케치, this 로 동기화)
+    private Map<Long, CountMinTopK> pending = new HashMap<>();
+    private final Map<Long, CountMinTopK> localWindows = new HashMap<>();
+
+    private volatile List<TrendingSearchDto> ranking = List.of();
+
+    public TrendingSearchService(StringRedisTemplate redisTemplate,
+                                 @Value("${trending.search.window:5m}") Duration window,
+                                 @Value("${trending.search.window-count:12}") int windowCount,
+                                 @Value("${trending.search.half-life:15m}") Duration halfLife) {
+        this.redisTemplate = redisTemplate;
+        this.windowMillis = window.toMillis();
+        this.windowCount = windowCount;
+        this.halfLifeWindows = (double) halfLife.toMillis() / windowMillis;
+    }
+
+    /**
+     * 검색어 집계 (메모리만 사용)
+     */
+    public void record(String query) {
+        String normalized = normalize(query);
+        if (normalized == null) {
+            return;
+        }
+        long windowId = currentWindowId();
+        synchronized (this) {
+            pending.computeIfAbsent(windowId, id -> newSketch()).add(normalized, 1);
+            localWindows.computeIfAbsent(windowId, id -> newSketch()).add(normalized, 1);
+        }
+    }
+
+    /**
+     * 인기 검색어 (마지막으로 계산한 순위)
+     */
+    public List<TrendingSearchDto> getTrending(int limit) {
+        List<TrendingSearchDto> current = ranking;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    // 증가분 Redis 반영 + 전체 순위 다시 계산 (기본 30초마다)
+    @Scheduled(fixedDelayString = "${trending.search.sync-interval-ms:30000}")
+    public void sync() {
+        long now = currentWindowId();
+        Map<Long, CountMinTopK> delta;
+        synchronized (this) {
+            delta = pending;
+            pending = new HashMap<>();
+            localWindows.keySet().removeIf(id -> id <= now - windowCount);
+        }
+
+        try {
+            push(delta);
+        } catch (Exception e) {
+            log.warn("인기 검색어 증가분 전송 실패, 다음 주기에 다시 보냅니다: {}", e.getMessage());
+            synchronized (this) {
+                // 보내지 못한 증가분만 다음 주기에 다시 전송 (이미 반영된 증가분을 두 번 더하지 않음)
+                delta.forEach((id, sketch) -> {
+                    if (id > now - windowCount) {
+                        pending.computeIfAbsent(id, key -> newSketch()).merge(sketch);
+                    }
+                });
+            }
+        }
+
+        try {
+            ranking = rank(loadGlobal(now), now);
+        } catch (Exception e) {
+            // 직전 전체 순위를 유지 (아직 없으면 이 서버 집계로 계산)
+            log.warn("인기 검색어 전체 합계 조회 실패, 이전 순위를 유지합니다: {}", e.getMessage());
+            if (ranking.isEmpty()) {
+                synchronized (this) {
+                    ranking = rank(localWindows, now);
+                }
+            }
+        }
+    }
+
+    // 구간별 증가분을 Redis 합계에 더함 (pipeline 1회)
+    private void push(Map<Long, CountMinTopK> delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        long ttlSeconds = Duration.ofMillis(windowMillis * (windowCount + 1)).toSeconds();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            delta.forEach((windowId, sketch) -> {
+                String cellsKey = cellsKey(windowId);
+                String candidatesKey = candidatesKey(windowId);
+                sketch.forEachNonZeroCell((row, col, count) -> redis.hIncrBy(cellsKey, row + ":" + col, count));
+                for (Map.Entry<String, Long> candidate : sketch.topCandidates()) {
+                    redis.zIncrBy(candidatesKey, candidate.getValue(), candidate.getKey());
+                }
+                redis.zRemRange(candidatesKey, 0, -(CANDIDATES * 2 + 1));
+                redis.expire(cellsKey, ttlSeconds);
+                redis.expire(candidatesKey, ttlSeconds);
+            });
+            return null;
+        });
+    }
+
+    // 전체 서버 합계 (최근 windowCount 개 구간, pipeline 1회)
+    @SuppressWarnings("unchecked")
+    private Map<Long, CountMinTopK> loadGlobal(long now) {
+        List<Long> windowIds = new ArrayList<>();
+        for (long id = now - windowCount + 1; id <= now; id++) {
+            windowIds.add(id);
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Long windowId : windowIds) {
+                redis.hGetAll(cellsKey(windowId));
+                redis.zRevRange(candidatesKey(windowId), 0, CANDIDATES - 1);
+            }
+            return null;
+        });
+
+        Map<Long, CountMinTopK> windows = new HashMap<>();
+        for (int i = 0; i < windowIds.size(); i++) {
+            Map<String, String> cells = (Map<String, String>) results.get(i * 2);
+            Set<String> candidates = (Set<String>) results.get(i * 2 + 1);
+            if (cells == null || cells.isEmpty() || candidates == null || candidates.isEmpty()) {
+                continue;
+            }
+            CountMinTopK sketch = newSketch();
+            cells.forEach((field, value) -> {
+                int separator = field.indexOf(':');
+                sketch.addCell(Integer.parseInt(field.substring(0, separator)),
+                        Integer.parseInt(field.substring(separator + 1)), Long.parseLong(value));
+            });
+            candidates.forEach(sketch::offerCandidate);
+            windows.put(windowIds.get(i), sketch);
+        }
+        return windows;
+    }
+
+    // 후보별 점수 = 구간별 추정 빈도 x 0.5^(경과 구간 / 반감기)
+    private List<TrendingSearchDto> rank(Map<Long, CountMinTopK> windows, long now) {
+        Set<String> candidates = new HashSet<>();
+        windows.values().forEach(sketch -> sketch.topCandidates().forEach(e -> candidates.add(e.getKey())));
+
+        List<Map.Entry<String, Double>> scored = new ArrayList<>(candidates.size());
+        for (String query : candidates) {
+            double score = 0;
+            for (Map.Entry<Long, CountMinTopK> window : windows.entrySet()) {
+                long age = now - window.getKey();
+                score += window.getValue().estimate(query) * Math.pow(0.5, age / halfLifeWindows);
+            }
+            scored.add(Map.entry(query, score));
+        }
+        scored.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+
+        List<TrendingSearchDto> result = new ArrayList<>(MAX_LIMIT);
+        for (int i = 0; i < Math.min(MAX_LIMIT, scored.size()); i++) {
+            result.add(TrendingSearchDto.builder()
+                    .rank(i + 1)
+                    .query(scored.get(i).getKey())
+                    .score(Math.round(scored.get(i).getValue() * 100) / 100.0)
+                    .build());
+        }
+        return List.copyOf(result);
+    }
+
+    // 공백 정리 + 소문자, 너무 긴 검색어는 잘라서 집계
+    private static String normalize(String query) {
+        if (query == null) {
+            return null;
+        }
+        String normalized = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+
+    private long currentWindowId() {
+        return System.currentTimeMillis() / windowMillis;
+    }
+
+    private static CountMinTopK newSketch() {
+        return new CountMinTopK(DEPTH, WIDTH, CANDIDATES);
+    }
+
+    private static String cellsKey(long windowId) {
+        return KEY_PREFIX + windowId + ":cms";
+    }
+
+    private static String candidatesKey(long windowId) {
+        return KEY_PREFIX + windowId + ":top";
+    }
+}
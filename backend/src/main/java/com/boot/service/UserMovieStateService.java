@@ -0,0 +1,155 @@
+package com.boot.service;
+
+import com.boot.dto.MovieStateDto;
+import com.boot.event.UserActivityEvent;
+import com.boot.repository.FavoriteRepository;
+import com.boot.repository.RatingRepository;
+import com.boot.repository.WatchlistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 영화 목록 화면용 사용자별 영화 상태 (찜 / Watchlist / 평점)
+ * - 사용자별 Redis HASH 하나에 전체 상태를 캐시 (f:{movieId}, w:{movieId}, r:{movieId})
+ * - 조회는 HMGET 1회, 캐시가 없으면 테이블별 projection 쿼리 1회씩으로 채움
+ * - 찜/Watchlist/평점이 바뀌면 커밋 후 캐시 삭제 (UserActivityEvent)
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class UserMovieStateService {
+
+    private static final String KEY_PREFIX = "user:movie-state:";
+    private static final String LOADED_FIELD = "_loaded";
+    public static final int MAX_MOVIE_IDS = 100;
+
+    private final StringRedisTemplate redisTemplate;
+    private final FavoriteRepository favoriteRepository;
+    private final WatchlistRepository watchlistRepository;
+    private final RatingRepository ratingRepository;
+    private final CurrentUserService currentUserService;
+    private final Duration ttl;
+
+    public UserMovieStateService(StringRedisTemplate redisTemplate,
+                                 FavoriteRepository favoriteRepository,
+                                 WatchlistRepository watchlistRepository,
+                                 RatingRepository ratingRepository,
+                                 CurrentUserService currentUserService,
+                                 @Value("${user.movie-state.ttl:10m}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.favoriteRepository = favoriteRepository;
+        this.watchlistRepository = watchlistRepository;
+        this.ratingRepository = ratingRepository;
+        this.currentUserService = currentUserService;
+        this.ttl = ttl;
+    }
+
+    /**
+     * 현재 사용자의 영화별 상태 (요청 순서 유지)
+     */
+    public List<MovieStateDto> getMovieStates(List<String> movieIds) {
+        Long userId = currentUserService.requireUserId();
+        String key = key(userId);
+
+        List<String> fields = new ArrayList<>(movieIds.size() * 3 + 1);
+        fields.add(LOADED_FIELD);
+        for (String movieId : movieIds) {
+            fields.add("f:" + movieId);
+            fields.add("w:" + movieId);
+            fields.add("r:" + movieId);
+        }
+
+        List<String> values = null;
+        try {
+            values = redisTemplate.<String, String>opsForHash().multiGet(key, fields);
+        } catch (Exception e) {
+            log.warn("영화 상태 캐시 조회 실패, DB 에서 조회합니다. userId={}, error={}", userId, e.getMessage());
+        }
+        if (values == null || values.get(0) == null) {
+            Map<String, String> states = load(userId);
+            cache(key, states);
+            values = new ArrayList<>(fields.size());
+            for (String field : fields) {
+                values.add(states.get(field));
+            }
+        }
+
+        List<MovieStateDto> result = new ArrayList<>(movieIds.size());
+        for (int i = 0; i < movieIds.size(); i++) {
+            String watched = values.get(i * 3 + 2);
+            String rating = values.get(i * 3 + 3);
+            result.add(MovieStateDto.builder()
+                    .movieId(movieIds.get(i))
+                    .favorite(values.get(i * 3 + 1) != null)
+                    .inWatchlist(watched != null)
+                    .watched("1".equals(watched))
+                    .rating(rating != null ? Double.valueOf(rating) : null)
+                    .build());
+        }
+        return result;
+    }
+
+    // 찜/Watchlist/평점이 바뀌면 커밋 후 캐시 삭제 (커밋 전에 지우면 이전 값이 다시 캐시될 수 있음)
+    // 이벤트 버스를 거치지 않고 바로 삭제 (토글 직후 상태 조회에 이전 값이 보이지 않도록)
+    // 클래스 기본 트랜잭션에 참여하면 이미 커밋된 트랜잭션 자원에 붙으므로 트랜잭션 없이 실행 (Redis 삭제만 함)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserActivity(UserActivityEvent event) {
+        if (!event.changesMovieState()) {
+            return;
+        }
+        delete(event.userId());
+    }
+
+    // 테이블별 1회씩 조회해서 HASH 필드로 변환
+    private Map<String, String> load(Long userId) {
+        Map<String, String> states = new HashMap<>();
+        states.put(LOADED_FIELD, "1");
+        favoriteRepository.findMovieIdsByUserId(userId)
+                .forEach(movieId -> states.put("f:" + movieId, "1"));
+        watchlistRepository.findStatesByUserId(userId)
+                .forEach(w -> states.put("w:" + w.getMovieId(), Boolean.TRUE.equals(w.getWatched()) ? "1" : "0"));
+        ratingRepository.findRatingsByUserId(userId)
+                .forEach(r -> states.put("r:" + r.getMovieId(), String.valueOf(r.getRating())));
+        return states;
+    }
+
+    private void cache(String key, Map<String, String> states) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                redis.del(key);
+                redis.hMSet(key, states);
+                redis.expire(key, ttl.toSeconds());
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("영화 상태 캐시 저장 실패. key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private void delete(Long userId) {
+        try {
+            redisTemplate.delete(key(userId));
+        } catch (Exception e) {
+            log.warn("영화 상태 캐시 삭제 실패. userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -3,51 +3,134 @@ package com.boot.service;
 import com.boot.dto.ReviewResponseDto;
 import com.boot.dto.UserProfileDto;
 import com.boot.dto.WatchlistMovieDto; // WatchlistMovieDto 임포트
-import com.boot.entity.User;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.boot.repository.FavoriteRepository;
+import com.boot.repository.RatingRepository;
+import com.boot.repository.ReviewRepository;
+import com.boot.repository.WatchlistRepository;
+import com.boot.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * 사용자 프로필 조회
+ * - 사용자는 요청 principal 에서 한 번만 확인
+ * - 찜/평점/리뷰/Watchlist 를 각각 읽기 전용 트랜잭션으로 동시에 조회 (projection 쿼리, 엔티티 로딩 없음)
+ * - 응답 시간은 네 쿼리의 합이 아니라 가장 느린 쿼리 수준
+ */
 @Service
-@RequiredArgsConstructor
 public class UserProfileService {
 
-    private final UserService userService;
-    private final FavoriteService favoriteService;
-    private final RatingService ratingService;
-    private final ReviewService reviewService;
-    private final WatchlistService watchlistService;
+    private final CurrentUserService currentUserService;
+    private final FavoriteRepository favoriteRepository;
+    private final RatingRepository ratingRepository;
+    private final ReviewRepository reviewRepository;
+    private final WatchlistRepository watchlistRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    // 동시 조회용 스레드 풀 (대기열이 차면 요청 스레드에서 직접 실행)
+    private final ThreadPoolExecutor executor;
 
-    @Transactional(readOnly = true)
-    public UserProfileDto getUserProfile() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new IllegalStateException("로그인된 사용자 정보를 찾을 수 없습니다.");
-        }
-        String userEmail = authentication.getName();
-        User currentUser = userService.findByEmail(userEmail)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userEmail));
-
-        UserProfileDto profileDto = UserProfileDto.fromUser(currentUser);
+    public UserProfileService(CurrentUserService currentUserService,
+                              FavoriteRepository favoriteRepository,
+                              RatingRepository ratingRepository,
+                              ReviewRepository reviewRepository,
+                              WatchlistRepository watchlistRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${user.profile.parallelism:8}") int parallelism) {
+        this.currentUserService = currentUserService;
+        this.favoriteRepository = favoriteRepository;
+        this.ratingRepository = ratingRepository;
+        this.reviewRepository = reviewRepository;
+        this.watchlistRepository = watchlistRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
 
-        // favoriteService.getFavoriteMovieIds()가 이제 List<String>을 반환하므로 map(Object::toString) 제거
-        profileDto.setFavoriteMovieIds(favoriteService.getFavoriteMovieIds(currentUser.getEmail()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * 25),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "profile-loader-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
 
-        profileDto.setRatedMovies(ratingService.getUserRatings(currentUser.getEmail()));
+    public UserProfileDto getUserProfile() {
+        AuthenticatedUser user = currentUserService.require();
+        Long userId = user.getUserId();
 
-        profileDto.setReviews(reviewService.findByUser(currentUser).stream()
-                .map(ReviewResponseDto::fromEntity)
+        CompletableFuture<List<String>> favorites = load(() -> favoriteRepository.findMovieIdsByUserId(userId));
+        CompletableFuture<Map<String, Integer>> ratings = load(() -> ratingRepository.findRatingsByUserId(userId).stream()
+                .collect(Collectors.toMap(
+                        RatingRepository.RatingView::getMovieId,
+                        rating -> rating.getRating().intValue(), // Double -> Integer
+                        (a, b) -> b,
+                        LinkedHashMap::new)));
+        CompletableFuture<List<ReviewResponseDto>> reviews = load(() -> reviewRepository.findViewsByUserId(userId).stream()
+                .map(review -> ReviewResponseDto.builder()
+                        .id(review.getId())
+                        .movieId(review.getMovieId())
+                        .userId(userId)
+                        .userName(user.getName())
+                        .rating(review.getRating())
+                        .comment(review.getComment())
+                        .createdAt(review.getCreatedAt())
+                        .updatedAt(review.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList()));
+        CompletableFuture<List<WatchlistMovieDto>> watchlist = load(() -> watchlistRepository.findStatesByUserId(userId).stream()
+                .map(w -> WatchlistMovieDto.builder()
+                        .movieId(w.getMovieId())
+                        .watched(Boolean.TRUE.equals(w.getWatched()))
+                        .build())
                 .collect(Collectors.toList()));
 
-        // Watchlist 영화 ID 목록 대신 WatchlistMovieDto 목록 사용
-        profileDto.setWatchlistMovies(watchlistService.getWatchlistMovies());
+        try {
+            return UserProfileDto.builder()
+                    .id(userId)
+                    .email(user.getEmail())
+                    .name(user.getName())
+                    .role(user.getAuthorities().stream()
+                            .findFirst()
+                            .map(GrantedAuthority::getAuthority)
+                            .orElse("ROLE_USER"))
+                    .favoriteMovieIds(favorites.join())
+                    .ratedMovies(ratings.join())
+                    .reviews(reviews.join())
+                    .watchlistMovies(watchlist.join())
+                    .build();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
 
-        return profileDto;
+    // 각 조회는 자기 스레드에서 별도의 읽기 전용 트랜잭션으로 실행
+    private <T> CompletableFuture<T> load(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> query.get()), executor);
     }
 }
@@ -32,6 +32,7 @@ public class UserService {
     private final EmailService emailService;
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final CurrentUserService currentUserService;
 
     // 이메일로 사용자 조회 (ReviewService에서 사용)
     @Transactional(readOnly = true)
@@ -121,6 +122,7 @@ public class UserService {
         tokenRepository.deleteByUser(user);
 
         userRepository.delete(user);
+        currentUserService.evict(email);
     }
 
     // 관리자용: 모든 사용자 조회
@@ -141,5 +143,6 @@ public class UserService {
         tokenRepository.deleteByUser(user);
 
         userRepository.delete(user);
+        currentUserService.evict(user.getEmail());
     }
 }
@@ -4,9 +4,10 @@ import com.boot.dto.WatchlistMovieDto; // WatchlistMovieDto 임포트
 import com.boot.entity.User;
 import com.boot.entity.Watchlist;
 import com.boot.repository.WatchlistRepository;
+import com.boot.event.MovieEngagementEvent;
+import com.boot.event.UserActivityEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,23 +21,19 @@ import java.util.stream.Collectors;
 public class WatchlistService {
 
     private final WatchlistRepository watchlistRepository;
-    private final UserService userService;
+    private final CurrentUserService currentUserService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 현재 로그인한 사용자 정보 가져오기
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
-            throw new IllegalStateException("로그인된 사용자 정보를 찾을 수 없습니다.");
-        }
-        String userEmail = authentication.getName();
-        return userService.findByEmail(userEmail)
-                .orElseThrow(() -> new NoSuchElementException("사용자를 찾을 수 없습니다: " + userEmail));
+        return currentUserService.requireUser();
     }
 
     // Watchlist에 영화 추가/제거 토글
     @Transactional
     public boolean toggleWatchlist(String movieId) {
         User currentUser = getCurrentUser();
+        eventPublisher.publishEvent(new UserActivityEvent(currentUser.getId(), movieId, UserActivityEvent.Type.WATCHLIST));
         Optional<Watchlist> existingWatchlist = watchlistRepository.findByUserAndMovieId(currentUser, movieId);
 
         if (existingWatchlist.isPresent()) {
@@ -51,6 +48,7 @@ public class WatchlistService {
                     .watched(false) // 초기값 false 명시
                     .build();
             watchlistRepository.save(watchlist);
+            eventPublisher.publishEvent(new MovieEngagementEvent(movieId, MovieEngagementEvent.Type.WATCHLIST));
             return true; // 추가됨
         }
     }
@@ -75,6 +73,7 @@ public class WatchlistService {
     @Transactional
     public boolean toggleWatchedStatus(String movieId) {
         User currentUser = getCurrentUser();
+        eventPublisher.publishEvent(new UserActivityEvent(currentUser.getId(), movieId, UserActivityEvent.Type.WATCHLIST));
         Watchlist watchlist = watchlistRepository.findByUserAndMovieId(currentUser, movieId)
                 .orElseThrow(() -> new NoSuchElementException("Watchlist에서 영화를 찾을 수 없습니다: " + movieId));
         
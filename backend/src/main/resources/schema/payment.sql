@@ -22,3 +22,21 @@ CREATE TABLE IF NOT EXISTS payments (
     INDEX idx_status (status),
     INDEX idx_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='결제 정보';
+
+-- 토스페이먼츠 호출 요청 기록 (outbox)
+CREATE TABLE IF NOT EXISTS payment_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '요청 ID',
+    payment_key VARCHAR(200) NOT NULL COMMENT '토스페이먼츠 결제 키',
+    operation VARCHAR(20) NOT NULL COMMENT '작업 (CONFIRM, CANCEL)',
+    status VARCHAR(20) NOT NULL COMMENT '처리 상태 (PENDING, DONE, FAILED)',
+    cancel_reason VARCHAR(500) COMMENT '취소 사유',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '호출 횟수',
+    next_attempt_at DATETIME NOT NULL COMMENT '다음 재시도 가능 일시',
+    last_error VARCHAR(500) COMMENT '마지막 오류',
+    version BIGINT COMMENT '낙관적 락 버전',
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성 일시',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 일시',
+
+    INDEX idx_payment_outbox_status_next (status, next_attempt_at),
+    INDEX idx_payment_outbox_payment_key (payment_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='결제 요청 outbox';
@@ -0,0 +1,12 @@
+-- 연간 리캡 스냅샷 (배치로 미리 계산, 활동이 생기면 조회 시 다시 계산)
+CREATE TABLE IF NOT EXISTS recap_snapshot (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '스냅샷 ID',
+    user_id BIGINT NOT NULL COMMENT '사용자 ID',
+    recap_year INT NOT NULL COMMENT '리캡 연도',
+    version INT COMMENT '계산 로직 버전',
+    payload LONGTEXT COMMENT '리캡 결과 (RecapResponseDto JSON)',
+    generated_at DATETIME(6) COMMENT '계산 시작 일시',
+    last_activity_at DATETIME(6) COMMENT '마지막 찜/Watchlist/평점/리뷰 변경 일시',
+
+    UNIQUE KEY uk_recap_snapshot_user_year (user_id, recap_year)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='연간 리캡 스냅샷';
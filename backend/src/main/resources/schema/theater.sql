@@ -76,4 +76,4 @@ JOIN screen sc ON s.screen_id = sc.id
 JOIN theater t ON sc.theater_id = t.id
 SET s.region = t.region,
     s.city = t.city
-WHERE s.region IS NULL OR s.city IS NULL;
\ No newline at end of file
+WHERE s.region IS NULL OR s.city IS NULL;
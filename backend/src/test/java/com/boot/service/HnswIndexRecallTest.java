@@ -0,0 +1,143 @@
+package com.boot.service;
+
+import com.boot.service.HnswIndex.Match;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HnswIndex 검색 결과를 전수 비교(brute force)와 맞춰 보는 재현율 테스트 (스프링 컨텍스트 없이 실행)
+ */
+class HnswIndexRecallTest {
+
+    // 영화 벡터처럼 장르/감독 등으로 뭉친 분포: 50개 중심 주변에 10,000개
+    private static final int VECTORS = 10_000;
+    private static final int DIMENSIONS = 64;
+    private static final int CLUSTERS = 50;
+    private static final int QUERIES = 300;
+    private static final int K = 10;
+    private static final int EF = 100;
+
+    @Test
+    void recallAgainstBruteForce() {
+        Random random = new Random(11);
+        float[][] centers = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centers[c] = randomUnitVector(random, null, 0f);
+        }
+        float[][] data = new float[VECTORS][];
+        HnswIndex index = new HnswIndex(DIMENSIONS, VECTORS, 16, 200, 42);
+        for (int i = 0; i < VECTORS; i++) {
+            data[i] = randomUnitVector(random, centers[random.nextInt(CLUSTERS)], 1.0f);
+            assertEquals(i, index.add(data[i]));
+        }
+
+        // 1) 인덱스에 없는 임의 질의
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = randomUnitVector(random, centers[random.nextInt(CLUSTERS)], 1.0f);
+            Set<Integer> expected = bruteForce(data, query, K, -1);
+            List<Match> actual = index.search(query, K, EF);
+
+            assertEquals(K, actual.size());
+            for (int i = 1; i < actual.size(); i++) {
+                assertTrue(actual.get(i).score() <= actual.get(i - 1).score());
+            }
+            for (Match match : actual) {
+                if (expected.contains(match.node())) {
+                    hits++;
+                }
+            }
+        }
+        double queryRecall = (double) hits / (QUERIES * K);
+
+        // 2) 저장된 노드 기준 유사 노드 (추천 API 와 같은 방식, 자기 자신 제외)
+        hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            int node = random.nextInt(VECTORS);
+            Set<Integer> expected = bruteForce(data, data[node], K, node);
+            List<Match> actual = index.searchSimilar(node, K, EF);
+            assertEquals(K, actual.size());
+            for (Match match : actual) {
+                assertTrue(match.node() != node);
+                if (expected.contains(match.node())) {
+                    hits++;
+                }
+            }
+        }
+        double nodeRecall = (double) hits / (QUERIES * K);
+
+        assertTrue(queryRecall >= 0.95, "query recall: " + queryRecall);
+        assertTrue(nodeRecall >= 0.95, "node recall: " + nodeRecall);
+    }
+
+    @Test
+    void smallIndexReturnsEverything() {
+        HnswIndex index = new HnswIndex(3, 4, 4, 10, 1);
+        index.add(new float[]{1f, 0f, 0f});
+        index.add(new float[]{0f, 1f, 0f});
+        index.add(new float[]{0.8f, 0.6f, 0f});
+
+        List<Match> matches = index.search(new float[]{1f, 0f, 0f}, 5, 10);
+        assertEquals(3, matches.size());
+        assertEquals(0, matches.get(0).node());
+        assertEquals(2, matches.get(1).node());
+        assertEquals(1, matches.get(2).node());
+
+        List<Match> similar = index.searchSimilar(2, 5, 10);
+        assertEquals(2, similar.size());
+        assertEquals(0, similar.get(0).node());
+    }
+
+    private static Set<Integer> bruteForce(float[][] data, float[] query, int k, int exclude) {
+        int[] best = new int[k];
+        float[] bestScores = new float[k];
+        int count = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (i == exclude) {
+                continue;
+            }
+            float score = 0f;
+            for (int d = 0; d < query.length; d++) {
+                score += data[i][d] * query[d];
+            }
+            if (count < k || score > bestScores[count - 1]) {
+                int p = count < k ? count++ : k - 1;
+                while (p > 0 && bestScores[p - 1] < score) {
+                    best[p] = best[p - 1];
+                    bestScores[p] = bestScores[p - 1];
+                    p--;
+                }
+                best[p] = i;
+                bestScores[p] = score;
+            }
+        }
+        Set<Integer> result = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            result.add(best[i]);
+        }
+        return result;
+    }
+
+    // center 주변(noise 크기)의 단위 벡터, center 가 없으면 완전 무작위
+    private static float[] randomUnitVector(Random random, float[] center, float noise) {
+        float[] vector = new float[DIMENSIONS];
+        double norm = 0;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            float value = (float) random.nextGaussian() / (float) Math.sqrt(DIMENSIONS);
+            vector[d] = center != null ? center[d] + value * noise : value;
+            norm += vector[d] * vector[d];
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] *= scale;
+        }
+        return vector;
+    }
+}
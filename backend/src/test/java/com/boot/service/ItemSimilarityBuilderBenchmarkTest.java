@@ -0,0 +1,141 @@
+package com.boot.service;
+
+import com.boot.service.ItemSimilarityIndex.Neighbor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ItemSimilarityBuilder 합성 데이터 벤치마크 + 정확도 확인 (스프링 컨텍스트 없이 실행)
+ * - 100만 건 빌드는 benchmark 태그라 기본 test 에서는 빠짐 (./gradlew benchmark 로 실행)
+ */
+class ItemSimilarityBuilderBenchmarkTest {
+
+    // 50,000명 x 20건 = 100만 상호작용, 영화 10,000편을 20개 취향 그룹으로 나눔
+    private static final int USERS = 50_000;
+    private static final int ITEMS = 10_000;
+    private static final int CLUSTERS = 20;
+    private static final int PER_USER = 20;
+    private static final double IN_CLUSTER_RATIO = 0.8;
+
+    // 일반 CI 장비에서도 넉넉하게 통과하는 상한 (회귀로 수십 배 느려지는 경우만 잡음)
+    private static final long MAX_BUILD_MILLIS = 60_000;
+
+    @Test
+    @Tag("benchmark")
+    void buildsNeighboursForOneMillionInteractions() {
+        Random random = new Random(42);
+        int itemsPerCluster = ITEMS / CLUSTERS;
+        ItemSimilarityBuilder builder = new ItemSimilarityBuilder(20, 1000, 0f);
+        for (int user = 0; user < USERS; user++) {
+            int cluster = user % CLUSTERS;
+            for (int k = 0; k < PER_USER; k++) {
+                // 그룹 안에서는 앞쪽 영화일수록 인기 (제곱 분포), 나머지는 전체에서 무작위
+                int item = random.nextDouble() < IN_CLUSTER_RATIO
+                        ? cluster * itemsPerCluster + (int) (itemsPerCluster * Math.pow(random.nextDouble(), 2))
+                        : random.nextInt(ITEMS);
+                builder.add(user, "m" + item, 0.5f + random.nextFloat() * 0.5f);
+            }
+        }
+        assertEquals(USERS * PER_USER, builder.size());
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        long startedAt = System.nanoTime();
+        ItemSimilarityIndex index;
+        try {
+            index = builder.build(pool);
+        } finally {
+            pool.shutdown();
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertTrue(elapsedMillis < MAX_BUILD_MILLIS, "빌드 시간: " + elapsedMillis + "ms");
+        assertEquals(USERS, index.userCount());
+        assertEquals(ITEMS, index.itemCount());
+
+        // 이웃은 유사도 내림차순이고 대부분 같은 그룹 영화여야 함
+        int sameCluster = 0;
+        int total = 0;
+        for (int item = 0; item < ITEMS; item += 37) {
+            float previous = Float.MAX_VALUE;
+            for (Neighbor neighbor : index.neighbors("m" + item, 10)) {
+                assertTrue(neighbor.score() <= previous);
+                assertTrue(neighbor.score() > 0f && neighbor.score() <= 1f);
+                previous = neighbor.score();
+                int neighborItem = Integer.parseInt(neighbor.itemId().substring(1));
+                if (neighborItem / itemsPerCluster == item / itemsPerCluster) {
+                    sameCluster++;
+                }
+                total++;
+            }
+        }
+        assertTrue(total > 0);
+        assertTrue(sameCluster >= total * 0.9, "같은 그룹 비율: " + sameCluster + "/" + total);
+    }
+
+    @Test
+    void matchesBruteForceCosine() {
+        int users = 300;
+        int items = 80;
+        int topK = 5;
+        int maxItemsPerUser = 30;
+        Random random = new Random(7);
+        float[][] matrix = new float[users][items];
+        ItemSimilarityBuilder builder = new ItemSimilarityBuilder(topK, maxItemsPerUser, 0f);
+        for (int user = 0; user < users; user++) {
+            // 마지막 사용자는 상호작용이 너무 많아 제외되어야 함
+            int count = user == users - 1 ? items : 1 + random.nextInt(12);
+            for (int k = 0; k < count; k++) {
+                int item = user == users - 1 ? k : random.nextInt(items);
+                float weight = 0.1f + random.nextFloat();
+                builder.add(user, "m" + item, weight);
+                matrix[user][item] = Math.max(matrix[user][item], weight); // 중복은 큰 값
+            }
+        }
+        matrix[users - 1] = new float[items];
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ItemSimilarityIndex index;
+        try {
+            index = builder.build(pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, index.skippedUserCount());
+
+        for (int i = 0; i < items; i++) {
+            List<float[]> expected = new ArrayList<>();
+            for (int j = 0; j < items; j++) {
+                if (j == i) {
+                    continue;
+                }
+                double dot = 0;
+                double normI = 0;
+                double normJ = 0;
+                for (int user = 0; user < users; user++) {
+                    dot += matrix[user][i] * matrix[user][j];
+                    normI += matrix[user][i] * matrix[user][i];
+                    normJ += matrix[user][j] * matrix[user][j];
+                }
+                if (dot > 0) {
+                    expected.add(new float[]{j, (float) (dot / (Math.sqrt(normI) * Math.sqrt(normJ)))});
+                }
+            }
+            expected.sort(Comparator.comparingDouble((float[] e) -> -e[1]).thenComparingDouble(e -> e[0]));
+
+            List<Neighbor> actual = index.neighbors("m" + i, topK);
+            assertEquals(Math.min(topK, expected.size()), actual.size());
+            for (int k = 0; k < actual.size(); k++) {
+                assertEquals(expected.get(k)[1], actual.get(k).score(), 1e-4);
+            }
+        }
+    }
+}
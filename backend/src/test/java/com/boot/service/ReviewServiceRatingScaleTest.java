@@ -0,0 +1,75 @@
+package com.boot.service;
+
+import com.boot.entity.Rating;
+import com.boot.entity.Review;
+import com.boot.entity.User;
+import com.boot.repository.RatingRepository;
+import com.boot.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리뷰 평점(1~10)이 rating 테이블/평점 집계에 0.5~5.0 으로 들어가는지 확인 (스프링 컨텍스트 없이 실행)
+ */
+class ReviewServiceRatingScaleTest {
+
+    private static final String MOVIE_ID = "tmdb_1";
+
+    private ReviewRepository reviewRepository;
+    private RatingRepository ratingRepository;
+    private MovieRatingStatsService movieRatingStatsService;
+    private ReviewService reviewService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository = mock(ReviewRepository.class);
+        ratingRepository = mock(RatingRepository.class);
+        movieRatingStatsService = mock(MovieRatingStatsService.class);
+        CurrentUserService currentUserService = mock(CurrentUserService.class);
+        reviewService = new ReviewService(reviewRepository, ratingRepository, mock(UserService.class),
+                currentUserService, mock(ApplicationEventPublisher.class), movieRatingStatsService);
+
+        user = mock(User.class);
+        when(user.getId()).thenReturn(7L);
+        when(currentUserService.requireUser()).thenReturn(user);
+        when(reviewRepository.findByMovieIdAndUser(MOVIE_ID, user)).thenReturn(Optional.empty());
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void newReviewRatingIsStoredOnStarScale() {
+        when(ratingRepository.findByUserAndMovieId(user, MOVIE_ID)).thenReturn(Optional.empty());
+
+        reviewService.createReview(MOVIE_ID, 9, "좋았어요");
+
+        ArgumentCaptor<Rating> saved = ArgumentCaptor.forClass(Rating.class);
+        verify(ratingRepository).save(saved.capture());
+        assertEquals(4.5, saved.getValue().getRating());
+        verify(movieRatingStatsService).recordChange(MOVIE_ID, 1, null, 4.5);
+    }
+
+    @Test
+    void updatedReviewRatingMovesBetweenStarBuckets() {
+        Rating existing = new Rating(user, MOVIE_ID, 4.5);
+        when(ratingRepository.findByUserAndMovieId(user, MOVIE_ID)).thenReturn(Optional.of(existing));
+        Review review = Review.builder().id(3L).movieId(MOVIE_ID).user(user).rating(9).comment("좋았어요").build();
+        when(reviewRepository.findById(3L)).thenReturn(Optional.of(review));
+
+        reviewService.updateReview(3L, 6, "다시 보니 보통");
+
+        assertEquals(3.0, existing.getRating());
+        verify(movieRatingStatsService).recordChange(eq(MOVIE_ID), eq(0), eq(4.5), eq(3.0));
+    }
+}
@@ -1,3 +1,5 @@
+# ※ 운영 데이터는 백엔드 ShowtimeGenerationService (POST /api/admin/showtimes/generate?days=30)로 생성합니다.
+#   이 스크립트는 booking/showtime 을 초기화하고 더미 예매까지 넣는 로컬 테스트 용도입니다.
 import mysql.connector
 import random
 from datetime import datetime, timedelta